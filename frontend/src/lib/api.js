@@ -51,6 +51,16 @@ export function getKeycloakRegistrationUrl(options = {}) {
   return `${config.keycloakBase}/realms/${config.keycloakRealm}/protocol/openid-connect/registrations?${params.toString()}`;
 }
 
+// List endpoints return one keyset page; pass `next` back as `cursor` to load the following page.
+async function fetchPage(url, params = {}, cursor = null) {
+  const pageParams = cursor ? { ...params, cursor } : params;
+  const { data } = await http.get(url, { params: pageParams });
+  return {
+    items: data?.items ?? [],
+    next: data?.next ?? null
+  };
+}
+
 export async function fetchHealth() {
   const { data } = await http.get("/actuator/health");
   return data;
@@ -75,9 +85,8 @@ export async function fetchPublicHotels() {
   return data;
 }
 
-export async function fetchGuests() {
-  const { data } = await http.get("/api/v1/guests");
-  return data;
+export async function fetchGuests(cursor = null) {
+  return fetchPage("/api/v1/guests", {}, cursor);
 }
 
 export async function fetchHotels() {
@@ -104,9 +113,8 @@ export async function createGuest(payload) {
   return data;
 }
 
-export async function fetchRooms() {
-  const { data } = await http.get("/api/v1/rooms");
-  return data;
+export async function fetchRooms(cursor = null) {
+  return fetchPage("/api/v1/rooms", {}, cursor);
 }
 
 export async function createRoom(payload) {
@@ -123,13 +131,12 @@ export async function deleteRoom(id) {
   await http.delete(`/api/v1/rooms/${id}`);
 }
 
-export async function fetchBookings(status) {
+export async function fetchBookings(status, cursor = null) {
   const params = {};
   if (status) {
     params.status = status;
   }
-  const { data } = await http.get("/api/v1/bookings", { params });
-  return data;
+  return fetchPage("/api/v1/bookings", params, cursor);
 }
 
 export async function fetchMyBookings(status) {
@@ -0,0 +1,164 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a cached booking in the pre-versioning JSON string format and in each versioned
+ * codec. Besides ns/op, every run reports the average payload size as the {@code bytesPerEntry} counter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheCodecBenchmark {
+
+    private static final int SAMPLES = 1_000;
+
+    @Param({"legacy-json", "json", "smile"})
+    public String format;
+
+    private Codec codec;
+    private List<BookingResponse> bookings;
+    private List<byte[]> payloads;
+    private double bytesPerEntry;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = codec(objectMapper, format);
+        bookings = sampleBookings();
+        payloads = new ArrayList<>(SAMPLES);
+        long totalBytes = 0;
+        for (BookingResponse booking : bookings) {
+            byte[] payload = codec.encode(booking);
+            payloads.add(payload);
+            totalBytes += payload.length;
+        }
+        bytesPerEntry = (double) totalBytes / SAMPLES;
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws IOException {
+        size.bytesPerEntry = bytesPerEntry;
+        return codec.encode(bookings.get(nextIndex()));
+    }
+
+    @Benchmark
+    public BookingResponse decode(PayloadSize size) throws IOException {
+        size.bytesPerEntry = bytesPerEntry;
+        return codec.decode(payloads.get(nextIndex()));
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == SAMPLES ? 0 : index + 1;
+        return index;
+    }
+
+    /**
+     * Reported next to the timing as a secondary result; it is the same in every iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+
+        public double bytesPerEntry;
+    }
+
+    private static Codec codec(ObjectMapper objectMapper, String format) {
+        if (format.equals("legacy-json")) {
+            return new Codec() {
+                @Override
+                public byte[] encode(BookingResponse value) throws IOException {
+                    return objectMapper.writeValueAsString(value).getBytes(StandardCharsets.UTF_8);
+                }
+
+                @Override
+                public BookingResponse decode(byte[] payload) throws IOException {
+                    return objectMapper.readValue(new String(payload, StandardCharsets.UTF_8), BookingResponse.class);
+                }
+            };
+        }
+        CacheCodecs codecs = new CacheCodecs(objectMapper, format);
+        return new Codec() {
+            @Override
+            public byte[] encode(BookingResponse value) throws IOException {
+                return codecs.write(value);
+            }
+
+            @Override
+            public BookingResponse decode(byte[] payload) throws IOException {
+                return codecs.read(payload, BookingResponse.class);
+            }
+        };
+    }
+
+    private static List<BookingResponse> sampleBookings() {
+        List<BookingResponse> bookings = new ArrayList<>(SAMPLES);
+        LocalDate today = LocalDate.now();
+        Instant now = Instant.now();
+        for (int i = 0; i < SAMPLES; i++) {
+            boolean prepaid = i % 3 == 0;
+            bookings.add(new BookingResponse(
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    "Guest Number " + i,
+                    UUID.randomUUID(),
+                    String.valueOf(100 + i % 400),
+                    today.plusDays(i % 60),
+                    today.plusDays(i % 60 + 1 + i % 7),
+                    BookingStatus.values()[i % BookingStatus.values().length],
+                    new BigDecimal("120.00").add(BigDecimal.valueOf(i % 50)),
+                    prepaid ? new BigDecimal("36.00") : new BigDecimal("0.00"),
+                    prepaid ? BookingPaymentStatus.PAID : BookingPaymentStatus.UNPAID,
+                    prepaid ? "CARD" : null,
+                    prepaid ? "PAY-" + i : null,
+                    prepaid,
+                    now.minusSeconds(i * 37L),
+                    now.minusSeconds(i * 11L)
+            ));
+        }
+        return bookings;
+    }
+
+    private interface Codec {
+
+        byte[] encode(BookingResponse value) throws IOException;
+
+        BookingResponse decode(byte[] payload) throws IOException;
+    }
+}
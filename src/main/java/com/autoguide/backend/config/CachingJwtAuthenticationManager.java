@@ -0,0 +1,120 @@
+package com.autoguide.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers verified bearer tokens, keyed by their SHA-256, until the token expires, so repeated requests
+ * with the same token skip signature verification, claim validation and authority mapping.
+ * Failed authentications are never cached.
+ */
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+    private final Cache<String, JwtAuthenticationToken> verified;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer decodeTimer;
+    private final Counter decodeTimeSaved;
+
+    public CachingJwtAuthenticationManager(
+            ReactiveAuthenticationManager delegate,
+            MeterRegistry meterRegistry,
+            long maxSize,
+            Duration maxTtl
+    ) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(maxTtl))
+                .build();
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.decodeTimer = Timer.builder("security.jwt.decode")
+                .description("Full bearer token verification on a cache miss")
+                .register(meterRegistry);
+        this.decodeTimeSaved = Counter.builder("security.jwt.decode.saved")
+                .description("Estimated verification time skipped by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = hash(bearer.getToken());
+        JwtAuthenticationToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            decodeTimeSaved.increment(decodeTimer.mean(TimeUnit.SECONDS));
+            return Mono.just(cached);
+        }
+        misses.increment();
+
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return delegate.authenticate(authentication)
+                    .doOnNext(result -> {
+                        decodeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        if (result instanceof JwtAuthenticationToken token && token.getToken().getExpiresAt() != null) {
+                            verified.put(key, token);
+                        }
+                    });
+        });
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("security.jwt.cache.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record UntilTokenExpiry(Duration maxTtl) implements Expiry<String, JwtAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtAuthenticationToken value, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), value.getToken().getExpiresAt());
+            Duration ttl = untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+            return Math.max(ttl.toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtAuthenticationToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtAuthenticationToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.autoguide.backend.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Signing keys of the identity provider, fetched at startup and refreshed in the background.
+ * Requests only wait for a fetch when a token names a key that is not known yet, and such fetches
+ * are shared and rate limited.
+ */
+@Component
+public class JwkSetCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwkSetCache.class);
+    private static final Duration MIN_REFETCH_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final boolean securityEnabled;
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final WebClient webClient;
+    private final Clock clock;
+    private final AtomicReference<Mono<JWKSet>> inFlight = new AtomicReference<>();
+    private volatile JWKSet keys = new JWKSet();
+    private volatile Instant attemptedAt = Instant.EPOCH;
+    private volatile Disposable refreshes;
+
+    @Autowired
+    public JwkSetCache(
+            @Value("${app.security.enabled:true}") boolean securityEnabled,
+            @Value("${app.security.jwk-set-uri:http://localhost:8081/realms/autoguide/protocol/openid-connect/certs}") String jwkSetUri,
+            @Value("${app.security.jwk-refresh-interval:5m}") Duration refreshInterval,
+            WebClient.Builder webClientBuilder
+    ) {
+        this(securityEnabled, jwkSetUri, refreshInterval, webClientBuilder, Clock.systemUTC());
+    }
+
+    JwkSetCache(
+            boolean securityEnabled,
+            String jwkSetUri,
+            Duration refreshInterval,
+            WebClient.Builder webClientBuilder,
+            Clock clock
+    ) {
+        this.securityEnabled = securityEnabled;
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.webClient = webClientBuilder.build();
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        if (!securityEnabled) {
+            return;
+        }
+        refreshes = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh().onErrorResume(error -> {
+                    log.warn("Refreshing JWK set from {} failed, keeping {} cached keys", jwkSetUri, keys.size(), error);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefreshing() {
+        Disposable subscription = refreshes;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Keys that may have signed the token; used as the JWK source of the reactive decoder.
+     */
+    public Flux<JWK> select(SignedJWT jwt) {
+        JWKMatcher matcher = JWKMatcher.forJWSHeader(jwt.getHeader());
+        if (matcher == null) {
+            return Flux.empty();
+        }
+        JWKSelector selector = new JWKSelector(matcher);
+        List<JWK> matched = selector.select(keys);
+        if (!matched.isEmpty() || clock.instant().isBefore(attemptedAt.plus(MIN_REFETCH_INTERVAL))) {
+            return Flux.fromIterable(matched);
+        }
+        return refresh().flatMapIterable(selector::select);
+    }
+
+    private Mono<JWKSet> refresh() {
+        while (true) {
+            Mono<JWKSet> current = inFlight.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<JWKSet> fetch = fetch()
+                    .doFinally(signal -> inFlight.set(null))
+                    .cache();
+            if (inFlight.compareAndSet(null, fetch)) {
+                return fetch;
+            }
+        }
+    }
+
+    private Mono<JWKSet> fetch() {
+        return webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(FETCH_TIMEOUT)
+                .handle((body, sink) -> {
+                    try {
+                        sink.next(JWKSet.parse(body));
+                    } catch (ParseException e) {
+                        sink.error(new IllegalStateException("Malformed JWK set from " + jwkSetUri, e));
+                    }
+                })
+                .cast(JWKSet.class)
+                .doOnSubscribe(subscription -> attemptedAt = clock.instant())
+                .doOnNext(fetched -> keys = fetched);
+    }
+}
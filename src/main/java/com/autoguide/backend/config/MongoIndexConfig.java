@@ -0,0 +1,66 @@
+package com.autoguide.backend.config;
+
+import com.autoguide.backend.model.BookingRecommendationDocument;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on Mongo documents at startup; automatic index creation is off by default.
+ * Startup does not wait for Mongo, so failed attempts are retried with backoff until every index exists.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexConfig.class);
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(BookingRecommendationDocument.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private volatile Disposable creation;
+
+    public MongoIndexConfig(ReactiveMongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        creation = ensureIndexes()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Creating Mongo indexes failed, retrying", signal.failure())))
+                .subscribe(
+                        name -> log.info("Ensured Mongo index {}", name),
+                        error -> log.warn("Creating Mongo indexes stopped", error)
+                );
+    }
+
+    @PreDestroy
+    public void stopCreatingIndexes() {
+        Disposable subscription = creation;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Flux<String> ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        return Flux.fromIterable(INDEXED_DOCUMENTS)
+                .concatMap(type -> Flux.fromIterable(resolver.resolveIndexFor(type))
+                        .concatMap(index -> mongoTemplate.indexOps(type).ensureIndex(index)));
+    }
+}
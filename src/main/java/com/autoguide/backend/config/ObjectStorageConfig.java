@@ -0,0 +1,108 @@
+package com.autoguide.backend.config;
+
+import com.autoguide.backend.storage.LocalObjectStorage;
+import com.autoguide.backend.storage.ObjectStorage;
+import com.autoguide.backend.storage.S3ObjectStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Selects the upload backend with {@code app.storage.type}: {@code local} (default, a single replica with a
+ * shared volume) or {@code s3} (any S3-compatible service, which lets the API scale horizontally).
+ */
+@Configuration
+public class ObjectStorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+    ObjectStorage localObjectStorage(
+            @Value("${app.uploads.base-path:${user.dir}/uploads}") String basePath,
+            @Value("${app.uploads.public-base-path:/uploads}") String publicBasePath
+    ) {
+        return new LocalObjectStorage(basePath, publicBasePath);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    static class S3StorageConfig {
+
+        private final String endpoint;
+        private final Region region;
+        private final boolean pathStyleAccess;
+        private final AwsCredentialsProvider credentials;
+
+        S3StorageConfig(
+                @Value("${app.storage.s3.endpoint:}") String endpoint,
+                @Value("${app.storage.s3.region:us-east-1}") String region,
+                @Value("${app.storage.s3.path-style-access:false}") boolean pathStyleAccess,
+                @Value("${app.storage.s3.access-key:}") String accessKey,
+                @Value("${app.storage.s3.secret-key:}") String secretKey
+        ) {
+            this.endpoint = endpoint;
+            this.region = Region.of(region);
+            this.pathStyleAccess = pathStyleAccess;
+            this.credentials = accessKey.isBlank()
+                    ? DefaultCredentialsProvider.create()
+                    : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+
+        @Bean(destroyMethod = "close")
+        S3AsyncClient s3AsyncClient() {
+            var builder = S3AsyncClient.builder()
+                    .region(region)
+                    .credentialsProvider(credentials)
+                    .forcePathStyle(pathStyleAccess);
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        S3Presigner s3Presigner() {
+            var builder = S3Presigner.builder()
+                    .region(region)
+                    .credentialsProvider(credentials)
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build());
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean
+        ObjectStorage s3ObjectStorage(
+                S3AsyncClient s3AsyncClient,
+                S3Presigner s3Presigner,
+                @Value("${app.storage.s3.bucket}") String bucket,
+                @Value("${app.storage.s3.public-base-url:}") String publicBaseUrl,
+                @Value("${app.uploads.public-base-path:/uploads}") String applicationBasePath,
+                @Value("${app.storage.s3.signed-url-ttl:15m}") Duration signedUrlTtl,
+                @Value("${app.storage.s3.part-size:8MB}") DataSize partSize
+        ) {
+            return new S3ObjectStorage(
+                    s3AsyncClient,
+                    s3Presigner,
+                    bucket,
+                    publicBaseUrl,
+                    applicationBasePath,
+                    signedUrlTtl,
+                    (int) partSize.toBytes()
+            );
+        }
+    }
+}
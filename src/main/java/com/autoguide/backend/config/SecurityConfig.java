@@ -1,5 +1,6 @@
 package com.autoguide.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,9 +17,11 @@ import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -29,16 +32,19 @@ import java.util.stream.Collectors;
 public class SecurityConfig {
 
     private final boolean securityEnabled;
-    private final String jwkSetUri;
     private final Set<String> acceptedIssuers;
+    private final long tokenCacheMaxSize;
+    private final Duration tokenCacheMaxTtl;
 
     public SecurityConfig(
             @Value("${app.security.enabled:true}") boolean securityEnabled,
-            @Value("${app.security.jwk-set-uri:http://localhost:8081/realms/autoguide/protocol/openid-connect/certs}") String jwkSetUri,
-            @Value("${app.security.accepted-issuers:http://localhost:8081/realms/autoguide,http://keycloak:8080/realms/autoguide,http://autoguide-keycloak:8080/realms/autoguide,http://localhost:8080/realms/autoguide}") String acceptedIssuersRaw
+            @Value("${app.security.accepted-issuers:http://localhost:8081/realms/autoguide,http://keycloak:8080/realms/autoguide,http://autoguide-keycloak:8080/realms/autoguide,http://localhost:8080/realms/autoguide}") String acceptedIssuersRaw,
+            @Value("${app.security.token-cache.max-size:10000}") long tokenCacheMaxSize,
+            @Value("${app.security.token-cache.max-ttl:15m}") Duration tokenCacheMaxTtl
     ) {
         this.securityEnabled = securityEnabled;
-        this.jwkSetUri = jwkSetUri;
+        this.tokenCacheMaxSize = tokenCacheMaxSize;
+        this.tokenCacheMaxTtl = tokenCacheMaxTtl;
         this.acceptedIssuers = Arrays.stream(acceptedIssuersRaw.split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -49,7 +55,8 @@ public class SecurityConfig {
     SecurityWebFilterChain securityWebFilterChain(
             ServerHttpSecurity http,
             Converter<Jwt, Collection<GrantedAuthority>> grantedAuthoritiesConverter,
-            ReactiveJwtDecoder jwtDecoder
+            ReactiveJwtDecoder jwtDecoder,
+            MeterRegistry meterRegistry
     ) {
         if (!securityEnabled) {
             return http
@@ -64,6 +71,8 @@ public class SecurityConfig {
                         grantedAuthoritiesConverter.convert(jwt),
                         resolvePrincipalName(jwt)
                 ));
+        JwtReactiveAuthenticationManager jwtAuthenticationManager = new JwtReactiveAuthenticationManager(jwtDecoder);
+        jwtAuthenticationManager.setJwtAuthenticationConverter(jwtAuthenticationConverter);
 
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
@@ -83,14 +92,18 @@ public class SecurityConfig {
                         .pathMatchers("/api/v1/**").authenticated()
                         .anyExchange().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
-                        .jwtDecoder(jwtDecoder)
-                        .jwtAuthenticationConverter(jwtAuthenticationConverter)))
+                        .authenticationManager(new CachingJwtAuthenticationManager(
+                                jwtAuthenticationManager,
+                                meterRegistry,
+                                tokenCacheMaxSize,
+                                tokenCacheMaxTtl
+                        ))))
                 .build();
     }
 
     @Bean
-    ReactiveJwtDecoder reactiveJwtDecoder() {
-        NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder.withJwkSetUri(jwkSetUri).build();
+    ReactiveJwtDecoder reactiveJwtDecoder(JwkSetCache jwkSetCache) {
+        NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSetCache::select).build();
 
         OAuth2TokenValidator<Jwt> defaultValidator = JwtValidators.createDefault();
         OAuth2TokenValidator<Jwt> issuerValidator = jwt -> {
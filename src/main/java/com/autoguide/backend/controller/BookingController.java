@@ -1,12 +1,20 @@
 package com.autoguide.backend.controller;
 
+import com.autoguide.backend.dto.BookingBatchResponse;
+import com.autoguide.backend.dto.BookingLookupRequest;
 import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.dto.CreateBookingBatchRequest;
 import com.autoguide.backend.dto.CreateBookingRequest;
+import com.autoguide.backend.dto.PageResponse;
 import com.autoguide.backend.dto.UpdateBookingStatusRequest;
 import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.service.BookingExportService;
 import com.autoguide.backend.service.BookingService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -20,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -27,9 +36,11 @@ import java.util.UUID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingExportService bookingExportService) {
         this.bookingService = bookingService;
+        this.bookingExportService = bookingExportService;
     }
 
     @PostMapping
@@ -39,6 +50,19 @@ public class BookingController {
         return bookingService.create(request);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN','OPERATOR')")
+    public Mono<BookingBatchResponse> createBatch(@Valid @RequestBody CreateBookingBatchRequest request) {
+        return bookingService.createBatch(request);
+    }
+
+    @PostMapping("/lookup")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN','OPERATOR')")
+    public Flux<BookingResponse> lookup(@Valid @RequestBody BookingLookupRequest request) {
+        return bookingService.lookup(request);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN','OPERATOR')")
     public Mono<BookingResponse> getById(@PathVariable UUID id) {
@@ -47,8 +71,33 @@ public class BookingController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN','OPERATOR')")
-    public Flux<BookingResponse> getAll(@RequestParam(required = false) BookingStatus status) {
-        return bookingService.getAll(status);
+    public Mono<PageResponse<BookingResponse>> getAll(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return bookingService.getAll(status, cursor, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN')")
+    public Mono<Void> export(
+            @RequestParam(required = false) UUID hotelId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID afterId,
+            ServerHttpResponse response
+    ) {
+        response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+        return response.writeAndFlushWith(bookingExportService.exportNdjson(
+                hotelId,
+                status,
+                from,
+                to,
+                afterId,
+                response.bufferFactory()
+        ));
     }
 
     @GetMapping("/my")
@@ -2,6 +2,7 @@ package com.autoguide.backend.controller;
 
 import com.autoguide.backend.dto.CreateGuestRequest;
 import com.autoguide.backend.dto.GuestResponse;
+import com.autoguide.backend.dto.PageResponse;
 import com.autoguide.backend.service.GuestService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -11,9 +12,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
@@ -37,8 +38,11 @@ public class GuestController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN','OPERATOR')")
-    public Flux<GuestResponse> getAll() {
-        return guestService.getAll();
+    public Mono<PageResponse<GuestResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return guestService.getAll(cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,35 @@
+package com.autoguide.backend.controller;
+
+import com.autoguide.backend.dto.PublicAvailableRoomResponse;
+import com.autoguide.backend.service.AvailabilityService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/public/availability")
+public class PublicAvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    public PublicAvailabilityController(AvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    @GetMapping
+    public Flux<PublicAvailableRoomResponse> search(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) UUID hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) String roomType
+    ) {
+        return availabilityService.search(city, hotelId, checkInDate, checkOutDate, roomType);
+    }
+}
@@ -3,7 +3,14 @@ package com.autoguide.backend.controller;
 import com.autoguide.backend.dto.HotelResponse;
 import com.autoguide.backend.dto.PublicHomeResponse;
 import com.autoguide.backend.dto.PublicRoomHighlightResponse;
+import com.autoguide.backend.service.HomePageSnapshot;
 import com.autoguide.backend.service.PublicContentService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -11,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -18,14 +26,39 @@ import java.util.UUID;
 public class PublicContentController {
 
     private final PublicContentService publicContentService;
+    private final HomePageSnapshot homePageSnapshot;
 
-    public PublicContentController(PublicContentService publicContentService) {
+    public PublicContentController(PublicContentService publicContentService, HomePageSnapshot homePageSnapshot) {
         this.publicContentService = publicContentService;
+        this.homePageSnapshot = homePageSnapshot;
     }
 
+    /**
+     * Serves the precomputed {@link PublicHomeResponse} bytes, gzipped when the client accepts it.
+     */
     @GetMapping("/home")
-    public Mono<PublicHomeResponse> getHome() {
-        return publicContentService.getHomeContent();
+    public Mono<ResponseEntity<byte[]>> getHome(ServerHttpRequest request) {
+        HttpHeaders requestHeaders = request.getHeaders();
+        boolean gzip = requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .anyMatch(value -> value.toLowerCase(Locale.ROOT).contains("gzip"));
+
+        return homePageSnapshot.current().map(snapshot -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(gzip ? snapshot.gzipEtag() : snapshot.etag())
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (requestHeaders.getIfNoneMatch().stream().anyMatch(snapshot::matches)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .headers(response.build().getHeaders())
+                        .build();
+            }
+            if (gzip) {
+                return response.contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .body(snapshot.gzip());
+            }
+            return response.contentType(MediaType.APPLICATION_JSON).body(snapshot.json());
+        });
     }
 
     @GetMapping("/rooms/highlights")
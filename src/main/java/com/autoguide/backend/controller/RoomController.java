@@ -2,6 +2,7 @@ package com.autoguide.backend.controller;
 
 import com.autoguide.backend.dto.CreateRoomMultipartRequest;
 import com.autoguide.backend.dto.CreateRoomRequest;
+import com.autoguide.backend.dto.PageResponse;
 import com.autoguide.backend.dto.RoomResponse;
 import com.autoguide.backend.dto.UpdateRoomRequest;
 import com.autoguide.backend.service.RoomService;
@@ -19,9 +20,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
@@ -68,8 +69,11 @@ public class RoomController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN','OPERATOR')")
-    public Flux<RoomResponse> getAll() {
-        return roomService.getAll();
+    public Mono<PageResponse<RoomResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return roomService.getAll(cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,78 @@
+package com.autoguide.backend.controller;
+
+import com.autoguide.backend.dto.CompleteRoomUploadRequest;
+import com.autoguide.backend.dto.CreateUploadSessionRequest;
+import com.autoguide.backend.dto.RoomResponse;
+import com.autoguide.backend.dto.UploadSessionResponse;
+import com.autoguide.backend.service.RoomImageUploadSessions;
+import jakarta.validation.Valid;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Resumable room image uploads: create a session, PUT chunks at the current offset, then complete it with the
+ * room details. After a dropped connection, GET the session to learn where to resume.
+ */
+@RestController
+@RequestMapping("/api/v1/rooms/uploads")
+public class RoomImageUploadController {
+
+    private final RoomImageUploadSessions roomImageUploadSessions;
+
+    public RoomImageUploadController(RoomImageUploadSessions roomImageUploadSessions) {
+        this.roomImageUploadSessions = roomImageUploadSessions;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<UploadSessionResponse> create(@Valid @RequestBody CreateUploadSessionRequest request) {
+        return roomImageUploadSessions.create(request);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<UploadSessionResponse> get(@PathVariable UUID id) {
+        return roomImageUploadSessions.get(id);
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<UploadSessionResponse> appendChunk(
+            @PathVariable UUID id,
+            @RequestParam long offset,
+            @RequestBody Flux<DataBuffer> chunk
+    ) {
+        return roomImageUploadSessions.append(id, offset, chunk);
+    }
+
+    @PostMapping("/{id}/complete")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<RoomResponse> complete(@PathVariable UUID id, @Valid @RequestBody CompleteRoomUploadRequest request) {
+        return roomImageUploadSessions.complete(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<Void> cancel(@PathVariable UUID id) {
+        return roomImageUploadSessions.cancel(id);
+    }
+}
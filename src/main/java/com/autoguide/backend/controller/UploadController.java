@@ -0,0 +1,52 @@
+package com.autoguide.backend.controller;
+
+import com.autoguide.backend.service.RoomImageStorageService;
+import com.autoguide.backend.service.UploadedFileServer;
+import com.autoguide.backend.storage.ObjectStorage;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@RestController
+public class UploadController {
+
+    private final UploadedFileServer uploadedFileServer;
+    private final ObjectStorage objectStorage;
+    private final RoomImageStorageService roomImageStorageService;
+
+    public UploadController(
+            UploadedFileServer uploadedFileServer,
+            ObjectStorage objectStorage,
+            RoomImageStorageService roomImageStorageService
+    ) {
+        this.uploadedFileServer = uploadedFileServer;
+        this.objectStorage = objectStorage;
+        this.roomImageStorageService = roomImageStorageService;
+    }
+
+    /**
+     * Streams locally stored room images, or redirects to the object store when it holds them.
+     * Any other path is a 404, so nothing else in the store can be reached through a signed URL.
+     */
+    @GetMapping("/uploads/{*path}")
+    public Mono<Void> getUpload(@PathVariable String path, ServerWebExchange exchange) {
+        String key = roomImageStorageService.roomImageKey(path.startsWith("/") ? path.substring(1) : path);
+        if (key == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return objectStorage.signedUrl(key)
+                .flatMap(location -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.FOUND);
+                    exchange.getResponse().getHeaders().setLocation(location);
+                    exchange.getResponse().getHeaders().setCacheControl(CacheControl.noStore());
+                    return exchange.getResponse().setComplete().thenReturn(true);
+                })
+                .switchIfEmpty(Mono.defer(() -> uploadedFileServer.serve(exchange, key).thenReturn(true)))
+                .then();
+    }
+}
@@ -0,0 +1,9 @@
+package com.autoguide.backend.dto;
+
+public record BookingBatchItemResult(
+        int index,
+        boolean created,
+        BookingResponse booking,
+        String error
+) {
+}
@@ -0,0 +1,10 @@
+package com.autoguide.backend.dto;
+
+import java.util.List;
+
+public record BookingBatchResponse(
+        int createdCount,
+        int rejectedCount,
+        List<BookingBatchItemResult> items
+) {
+}
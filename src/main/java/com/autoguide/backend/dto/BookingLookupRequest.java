@@ -0,0 +1,13 @@
+package com.autoguide.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BookingLookupRequest(
+        @NotEmpty @Size(max = 200) List<@NotNull UUID> ids
+) {
+}
@@ -0,0 +1,12 @@
+package com.autoguide.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateBookingBatchRequest(
+        @NotEmpty @Size(max = 500) List<@Valid CreateBookingRequest> bookings
+) {
+}
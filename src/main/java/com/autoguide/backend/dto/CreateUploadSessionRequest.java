@@ -0,0 +1,15 @@
+package com.autoguide.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+public record CreateUploadSessionRequest(
+        @NotBlank @Size(max = 255) String fileName,
+        @NotBlank @Size(max = 100) String contentType,
+        @Positive long size,
+        UUID hotelId
+) {
+}
@@ -0,0 +1,9 @@
+package com.autoguide.backend.dto;
+
+import java.util.List;
+
+public record PageResponse<T>(
+        List<T> items,
+        String next
+) {
+}
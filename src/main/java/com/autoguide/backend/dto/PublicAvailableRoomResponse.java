@@ -0,0 +1,19 @@
+package com.autoguide.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record PublicAvailableRoomResponse(
+        UUID roomId,
+        UUID hotelId,
+        String hotelName,
+        String city,
+        String roomNumber,
+        String roomType,
+        BigDecimal nightlyRate,
+        String imageUrl,
+        String shortDescription,
+        long nights,
+        BigDecimal totalAmount
+) {
+}
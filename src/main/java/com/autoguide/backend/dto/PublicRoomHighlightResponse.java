@@ -10,6 +10,7 @@ public record PublicRoomHighlightResponse(
         String roomType,
         BigDecimal nightlyRate,
         String imageUrl,
+        String imageSrcset,
         String shortDescription
 ) {
 }
@@ -11,6 +11,7 @@ public record RoomResponse(
         String roomType,
         BigDecimal nightlyRate,
         String imageUrl,
+        String imageSrcset,
         String shortDescription,
         Instant createdAt
 ) {
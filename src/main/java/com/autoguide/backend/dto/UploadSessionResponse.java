@@ -0,0 +1,13 @@
+package com.autoguide.backend.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UploadSessionResponse(
+        UUID id,
+        UUID hotelId,
+        long offset,
+        long size,
+        Instant expiresAt
+) {
+}
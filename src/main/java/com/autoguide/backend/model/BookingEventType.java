@@ -0,0 +1,6 @@
+package com.autoguide.backend.model;
+
+public enum BookingEventType {
+    BOOKING_CREATED,
+    BOOKING_STATUS_CHANGED
+}
@@ -0,0 +1,15 @@
+package com.autoguide.backend.model;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+public record BookingOutboxEvent(
+        long id,
+        UUID bookingId,
+        BookingEventType type,
+        Instant createdAt,
+        int attempts,
+        Set<String> deliveredTo
+) {
+}
@@ -1,12 +1,14 @@
 package com.autoguide.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Document(collection = "booking_recommendations")
+@CompoundIndex(name = "booking_generated_at_idx", def = "{'bookingId': 1, 'generatedAt': -1}")
 public class BookingRecommendationDocument {
 
     @Id
@@ -0,0 +1,97 @@
+package com.autoguide.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodic copy of the in-memory booking aggregates and the last booking and status change folded into them.
+ */
+@Document(collection = "booking_statistics_snapshots")
+public class BookingStatisticsSnapshotDocument {
+
+    @Id
+    private String id;
+    private Instant watermarkCreatedAt;
+    private UUID watermarkBookingId;
+    private Instant changeWatermarkAt;
+    private long changeWatermarkId;
+    private Instant takenAt;
+    private List<Segment> segments;
+
+    public BookingStatisticsSnapshotDocument() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getWatermarkCreatedAt() {
+        return watermarkCreatedAt;
+    }
+
+    public void setWatermarkCreatedAt(Instant watermarkCreatedAt) {
+        this.watermarkCreatedAt = watermarkCreatedAt;
+    }
+
+    public UUID getWatermarkBookingId() {
+        return watermarkBookingId;
+    }
+
+    public void setWatermarkBookingId(UUID watermarkBookingId) {
+        this.watermarkBookingId = watermarkBookingId;
+    }
+
+    public Instant getChangeWatermarkAt() {
+        return changeWatermarkAt;
+    }
+
+    public void setChangeWatermarkAt(Instant changeWatermarkAt) {
+        this.changeWatermarkAt = changeWatermarkAt;
+    }
+
+    public long getChangeWatermarkId() {
+        return changeWatermarkId;
+    }
+
+    public void setChangeWatermarkId(long changeWatermarkId) {
+        this.changeWatermarkId = changeWatermarkId;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public void setTakenAt(Instant takenAt) {
+        this.takenAt = takenAt;
+    }
+
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    public void setSegments(List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * One aggregate; a null hotel id is the global segment.
+     */
+    public record Segment(
+            UUID hotelId,
+            String roomType,
+            String season,
+            long count,
+            long[] nights,
+            long[] leadBuckets,
+            long prepaid
+    ) {
+    }
+}
@@ -1,9 +1,27 @@
 package com.autoguide.backend.model;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 public enum BookingStatus {
     CREATED,
     CONFIRMED,
     CHECKED_IN,
     CHECKED_OUT,
-    CANCELLED
+    CANCELLED;
+
+    private static final Set<BookingStatus> ROOM_HOLDING = EnumSet.of(CREATED, CONFIRMED, CHECKED_IN);
+
+    public boolean holdsRoom() {
+        return ROOM_HOLDING.contains(this);
+    }
+
+    public static Set<BookingStatus> roomHoldingStatuses() {
+        return EnumSet.copyOf(ROOM_HOLDING);
+    }
+
+    public static List<String> roomHoldingStatusNames() {
+        return ROOM_HOLDING.stream().map(Enum::name).toList();
+    }
 }
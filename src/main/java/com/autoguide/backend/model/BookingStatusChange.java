@@ -0,0 +1,7 @@
+package com.autoguide.backend.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookingStatusChange(long id, UUID bookingId, BookingStatus oldStatus, BookingStatus newStatus, Instant changedAt) {
+}
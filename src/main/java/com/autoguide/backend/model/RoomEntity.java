@@ -18,6 +18,7 @@ public class RoomEntity {
     private BigDecimal nightlyRate;
     private String imageUrl;
     private String shortDescription;
+    private String imageSrcset;
     private Instant createdAt;
 
     public RoomEntity() {
@@ -115,6 +116,14 @@ public class RoomEntity {
         this.shortDescription = shortDescription;
     }
 
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
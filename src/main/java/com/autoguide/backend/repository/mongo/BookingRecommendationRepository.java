@@ -4,9 +4,12 @@ import com.autoguide.backend.model.BookingRecommendationDocument;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface BookingRecommendationRepository extends ReactiveMongoRepository<BookingRecommendationDocument, String> {
 
     Flux<BookingRecommendationDocument> findByBookingIdOrderByGeneratedAtDesc(UUID bookingId);
+
+    Flux<RecommendationBookingRef> findByBookingIdIn(Collection<UUID> bookingIds);
 }
@@ -0,0 +1,7 @@
+package com.autoguide.backend.repository.mongo;
+
+import com.autoguide.backend.model.BookingStatisticsSnapshotDocument;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface BookingStatisticsSnapshotRepository extends ReactiveMongoRepository<BookingStatisticsSnapshotDocument, String> {
+}
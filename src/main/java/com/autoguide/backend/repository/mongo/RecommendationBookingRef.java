@@ -0,0 +1,9 @@
+package com.autoguide.backend.repository.mongo;
+
+import java.util.UUID;
+
+/**
+ * Projection that reads only the booking id of a recommendation.
+ */
+public record RecommendationBookingRef(UUID bookingId) {
+}
@@ -0,0 +1,11 @@
+package com.autoguide.backend.repository.r2dbc;
+
+import com.autoguide.backend.model.BookingEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface BookingBulkOperations {
+
+    Mono<Void> insertAll(List<BookingEntity> bookings);
+}
@@ -0,0 +1,95 @@
+package com.autoguide.backend.repository.r2dbc;
+
+import com.autoguide.backend.model.BookingEntity;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+class BookingBulkOperationsImpl implements BookingBulkOperations {
+
+    private static final int ROWS_PER_STATEMENT = 100;
+    private static final String INSERT_PREFIX = """
+            INSERT INTO bookings (id, hotel_id, guest_id, room_id, check_in_date, check_out_date, status,
+                                  total_amount, prepayment_amount, payment_status, payment_method,
+                                  payment_reference, prepaid, created_at, updated_at)
+            VALUES\s""";
+
+    private final DatabaseClient databaseClient;
+
+    BookingBulkOperationsImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<BookingEntity> bookings) {
+        if (bookings.isEmpty()) {
+            return Mono.empty();
+        }
+
+        int statements = (bookings.size() + ROWS_PER_STATEMENT - 1) / ROWS_PER_STATEMENT;
+        return Flux.range(0, statements)
+                .concatMap(chunk -> insertChunk(bookings.subList(
+                        chunk * ROWS_PER_STATEMENT,
+                        Math.min((chunk + 1) * ROWS_PER_STATEMENT, bookings.size())
+                )))
+                .then();
+    }
+
+    private Mono<Long> insertChunk(List<BookingEntity> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i)
+                    .append(", :hotelId").append(i)
+                    .append(", :guestId").append(i)
+                    .append(", :roomId").append(i)
+                    .append(", :checkIn").append(i)
+                    .append(", :checkOut").append(i)
+                    .append(", :status").append(i)
+                    .append(", :total").append(i)
+                    .append(", :prepayment").append(i)
+                    .append(", :paymentStatus").append(i)
+                    .append(", :paymentMethod").append(i)
+                    .append(", :paymentReference").append(i)
+                    .append(", :prepaid").append(i)
+                    .append(", :createdAt").append(i)
+                    .append(", :updatedAt").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+            BookingEntity booking = chunk.get(i);
+            spec = spec.bind("id" + i, booking.getId())
+                    .bind("hotelId" + i, booking.getHotelId())
+                    .bind("guestId" + i, booking.getGuestId())
+                    .bind("roomId" + i, booking.getRoomId())
+                    .bind("checkIn" + i, booking.getCheckInDate())
+                    .bind("checkOut" + i, booking.getCheckOutDate())
+                    .bind("status" + i, booking.getStatus().name())
+                    .bind("total" + i, booking.getTotalAmount())
+                    .bind("prepayment" + i, booking.getPrepaymentAmount())
+                    .bind("paymentStatus" + i, booking.getPaymentStatus().name());
+            spec = bindNullable(spec, "paymentMethod" + i, booking.getPaymentMethod(), String.class);
+            spec = bindNullable(spec, "paymentReference" + i, booking.getPaymentReference(), String.class);
+            spec = spec.bind("prepaid" + i, booking.isPrepaid())
+                    .bind("createdAt" + i, booking.getCreatedAt())
+                    .bind("updatedAt" + i, booking.getUpdatedAt());
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec spec,
+            String name,
+            Object value,
+            Class<?> type
+    ) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+}
@@ -0,0 +1,136 @@
+package com.autoguide.backend.repository.r2dbc;
+
+import com.autoguide.backend.model.BookingEventType;
+import com.autoguide.backend.model.BookingOutboxEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Booking domain events written in the same transaction as the booking and drained by the relay.
+ */
+@Repository
+public class BookingOutboxRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public BookingOutboxRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> append(BookingEventType type, Collection<UUID> bookingIds, Instant createdAt) {
+        if (bookingIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("""
+                        INSERT INTO booking_outbox (booking_id, event_type, created_at, available_at)
+                        SELECT id, :eventType, :createdAt, :createdAt FROM unnest(:bookingIds) AS id
+                        """)
+                .bind("eventType", type.name())
+                .bind("createdAt", createdAt)
+                .bind("bookingIds", bookingIds.toArray(UUID[]::new))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Leases due events by moving their {@code available_at} to {@code leasedUntil} in one statement, so the
+     * claim commits at once and no lock outlives it. Rows claimed concurrently by other relays are skipped; a
+     * lease that expires before the events are settled makes them due again.
+     */
+    public Flux<BookingOutboxEvent> claimDue(Instant now, Instant leasedUntil, int limit) {
+        return databaseClient.sql("""
+                        UPDATE booking_outbox AS o
+                        SET available_at = :leasedUntil
+                        FROM (
+                            SELECT id
+                            FROM booking_outbox
+                            WHERE status = 'PENDING' AND available_at <= :now
+                            ORDER BY available_at, id
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        ) AS due
+                        WHERE o.id = due.id
+                        RETURNING o.id, o.booking_id, o.event_type, o.created_at, o.attempts, o.delivered_to
+                        """)
+                .bind("now", now)
+                .bind("leasedUntil", leasedUntil)
+                .bind("limit", limit)
+                .map(row -> new BookingOutboxEvent(
+                        row.get("id", Long.class),
+                        row.get("booking_id", UUID.class),
+                        BookingEventType.valueOf(row.get("event_type", String.class)),
+                        row.get("created_at", Instant.class),
+                        row.get("attempts", Integer.class),
+                        Set.of(row.get("delivered_to", String[].class))
+                ))
+                .all();
+    }
+
+    /**
+     * Removes delivered events, unless their lease ran out and another relay claimed them meanwhile.
+     */
+    public Mono<Void> delete(Collection<Long> ids, Instant leasedUntil) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("DELETE FROM booking_outbox WHERE id = ANY(:ids) AND available_at = :leasedUntil")
+                .bind("ids", ids.toArray(Long[]::new))
+                .bind("leasedUntil", leasedUntil)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    public Mono<Void> reschedule(Collection<Long> ids, Instant leasedUntil, Instant availableAt, Collection<String> deliveredTo) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("""
+                        UPDATE booking_outbox
+                        SET attempts = attempts + 1, available_at = :availableAt, delivered_to = :deliveredTo
+                        WHERE id = ANY(:ids) AND available_at = :leasedUntil
+                        """)
+                .bind("availableAt", availableAt)
+                .bind("deliveredTo", deliveredTo.toArray(String[]::new))
+                .bind("ids", ids.toArray(Long[]::new))
+                .bind("leasedUntil", leasedUntil)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Parks events that ran out of attempts; they are no longer claimed but stay for inspection and replay.
+     */
+    public Mono<Void> deadLetter(Collection<Long> ids, Instant leasedUntil, Collection<String> deliveredTo) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("""
+                        UPDATE booking_outbox
+                        SET attempts = attempts + 1, status = 'DEAD', delivered_to = :deliveredTo
+                        WHERE id = ANY(:ids) AND available_at = :leasedUntil
+                        """)
+                .bind("deliveredTo", deliveredTo.toArray(String[]::new))
+                .bind("ids", ids.toArray(Long[]::new))
+                .bind("leasedUntil", leasedUntil)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    public Mono<Long> countDue(Instant now) {
+        return databaseClient.sql("SELECT count(*) AS due FROM booking_outbox WHERE status = 'PENDING' AND available_at <= :now")
+                .bind("now", now)
+                .map(row -> row.get("due", Long.class))
+                .one();
+    }
+}
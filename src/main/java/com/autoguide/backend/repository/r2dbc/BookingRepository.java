@@ -2,14 +2,17 @@ package com.autoguide.backend.repository.r2dbc;
 
 import com.autoguide.backend.model.BookingEntity;
 import com.autoguide.backend.model.BookingStatus;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.UUID;
 
-public interface BookingRepository extends ReactiveCrudRepository<BookingEntity, UUID> {
+public interface BookingRepository extends ReactiveCrudRepository<BookingEntity, UUID>, BookingBulkOperations {
 
     Flux<BookingEntity> findAllByStatus(BookingStatus status);
 
@@ -19,11 +22,85 @@ public interface BookingRepository extends ReactiveCrudRepository<BookingEntity,
 
     Flux<BookingEntity> findAllByGuestIdIn(Collection<UUID> guestIds);
 
+    Flux<BookingEntity> findAllByIdIn(Collection<UUID> ids);
+
+    Flux<BookingEntity> findAllByHotelIdAndIdIn(UUID hotelId, Collection<UUID> ids);
+
     Flux<BookingEntity> findAllByGuestIdInAndStatus(Collection<UUID> guestIds, BookingStatus status);
 
+    Flux<BookingEntity> findAllByStatusInAndCheckOutDateAfter(Collection<BookingStatus> statuses, LocalDate date);
+
     Mono<BookingEntity> findByIdAndHotelId(UUID id, UUID hotelId);
 
     Mono<Long> countByHotelId(UUID hotelId);
 
     Mono<Boolean> existsByRoomId(UUID roomId);
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE room_id IN (:roomIds)
+              AND status IN (:statuses)
+              AND check_in_date < :checkOutDate
+              AND check_out_date > :checkInDate
+            """)
+    Flux<BookingEntity> findOverlappingStays(
+            Collection<UUID> roomIds,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            Collection<String> statuses
+    );
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<BookingEntity> findPage(Instant createdAt, UUID id, int limit);
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE (created_at, id) > (:createdAt, :id)
+              AND created_at < :before
+            ORDER BY created_at, id
+            LIMIT :limit
+            """)
+    Flux<BookingEntity> findCreatedAfter(Instant createdAt, UUID id, Instant before, int limit);
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE (updated_at, id) > (:updatedAt, :id)
+              AND updated_at < :before
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """)
+    Flux<BookingEntity> findUpdatedAfter(Instant updatedAt, UUID id, Instant before, int limit);
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE hotel_id = :hotelId
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<BookingEntity> findPageByHotelId(UUID hotelId, Instant createdAt, UUID id, int limit);
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE status = :status
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<BookingEntity> findPageByStatus(String status, Instant createdAt, UUID id, int limit);
+
+    @Query("""
+            SELECT * FROM bookings
+            WHERE hotel_id = :hotelId
+              AND status = :status
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<BookingEntity> findPageByHotelIdAndStatus(UUID hotelId, String status, Instant createdAt, UUID id, int limit);
 }
@@ -0,0 +1,61 @@
+package com.autoguide.backend.repository.r2dbc;
+
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.model.BookingStatusChange;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Booking status transitions written in the same transaction as the booking, read by the statistics fold.
+ */
+@Repository
+public class BookingStatusChangeRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public BookingStatusChangeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> append(UUID bookingId, BookingStatus oldStatus, BookingStatus newStatus, Instant changedAt) {
+        return databaseClient.sql("""
+                        INSERT INTO booking_status_changes (booking_id, old_status, new_status, changed_at)
+                        VALUES (:bookingId, :oldStatus, :newStatus, :changedAt)
+                        """)
+                .bind("bookingId", bookingId)
+                .bind("oldStatus", oldStatus.name())
+                .bind("newStatus", newStatus.name())
+                .bind("changedAt", changedAt)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    public Flux<BookingStatusChange> findChangedAfter(Instant changedAt, long id, Instant before, int limit) {
+        return databaseClient.sql("""
+                        SELECT id, booking_id, old_status, new_status, changed_at
+                        FROM booking_status_changes
+                        WHERE (changed_at, id) > (:changedAt, :id)
+                          AND changed_at < :before
+                        ORDER BY changed_at, id
+                        LIMIT :limit
+                        """)
+                .bind("changedAt", changedAt)
+                .bind("id", id)
+                .bind("before", before)
+                .bind("limit", limit)
+                .map(row -> new BookingStatusChange(
+                        row.get("id", Long.class),
+                        row.get("booking_id", UUID.class),
+                        BookingStatus.valueOf(row.get("old_status", String.class)),
+                        BookingStatus.valueOf(row.get("new_status", String.class)),
+                        row.get("changed_at", Instant.class)
+                ))
+                .all();
+    }
+}
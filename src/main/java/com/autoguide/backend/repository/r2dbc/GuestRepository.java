@@ -1,10 +1,13 @@
 package com.autoguide.backend.repository.r2dbc;
 
 import com.autoguide.backend.model.GuestEntity;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 
 public interface GuestRepository extends ReactiveCrudRepository<GuestEntity, UUID> {
@@ -13,9 +16,30 @@ public interface GuestRepository extends ReactiveCrudRepository<GuestEntity, UUI
 
     Flux<GuestEntity> findAllByEmail(String email);
 
+    Flux<GuestEntity> findAllByIdIn(Collection<UUID> ids);
+
+    Flux<GuestEntity> findAllByHotelIdAndIdIn(UUID hotelId, Collection<UUID> ids);
+
     Mono<GuestEntity> findByIdAndHotelId(UUID id, UUID hotelId);
 
     Mono<GuestEntity> findByHotelIdAndEmail(UUID hotelId, String email);
 
     Mono<Long> countByHotelId(UUID hotelId);
+
+    @Query("""
+            SELECT * FROM guests
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<GuestEntity> findPage(Instant createdAt, UUID id, int limit);
+
+    @Query("""
+            SELECT * FROM guests
+            WHERE hotel_id = :hotelId
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<GuestEntity> findPageByHotelId(UUID hotelId, Instant createdAt, UUID id, int limit);
 }
@@ -0,0 +1,25 @@
+package com.autoguide.backend.repository.r2dbc;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counter bumped by triggers on every write to {@code landing_amenities} or {@code landing_offers}.
+ */
+@Repository
+public class LandingContentVersionRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public LandingContentVersionRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Long> currentVersion() {
+        return databaseClient.sql("SELECT version FROM landing_content_version WHERE id = 1")
+                .map(row -> row.get("version", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+}
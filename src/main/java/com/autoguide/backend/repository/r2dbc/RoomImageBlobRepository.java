@@ -0,0 +1,98 @@
+package com.autoguide.backend.repository.r2dbc;
+
+import io.r2dbc.spi.Connection;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Content-addressed room image files. {@code ref_count} is maintained by a trigger on {@code rooms.image_url}.
+ */
+@Repository
+public class RoomImageBlobRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public RoomImageBlobRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Registers the blob, or marks an existing one as just used so the collector leaves it alone.
+     */
+    public Mono<Void> touch(String fileName, long sizeBytes) {
+        return databaseClient.sql("""
+                        INSERT INTO room_image_blobs (file_name, size_bytes, ref_count, created_at, last_used_at)
+                        VALUES (:fileName, :sizeBytes, 0, now(), now())
+                        ON CONFLICT (file_name) DO UPDATE SET last_used_at = now()
+                        """)
+                .bind("fileName", fileName)
+                .bind("sizeBytes", sizeBytes)
+                .then();
+    }
+
+    /**
+     * Takes a transaction-scoped lock on the file name. Uploads hold it from registering the blob until the file is
+     * in place and the collector holds it while it checks and deletes the file, so the two never interleave.
+     */
+    public Mono<Void> lock(String fileName) {
+        return databaseClient.sql("SELECT pg_advisory_xact_lock(hashtext(:fileName))")
+                .bind("fileName", fileName)
+                .then();
+    }
+
+    /**
+     * Runs {@code work} unless another instance is already running work under the same name, and completes empty
+     * in that case. The session-level lock lives on a connection held for the duration and is released when the
+     * work ends, fails or is cancelled, so long-running work does not need to keep a transaction open.
+     */
+    public Mono<Void> runExclusively(String name, Mono<Void> work) {
+        return databaseClient.inConnection(connection -> Mono.usingWhen(
+                queryLock(connection, "SELECT pg_try_advisory_lock(hashtext($1))", name),
+                locked -> locked ? work : Mono.<Void>empty(),
+                locked -> locked
+                        ? queryLock(connection, "SELECT pg_advisory_unlock(hashtext($1))", name).then()
+                        : Mono.empty()
+        ));
+    }
+
+    private static Mono<Boolean> queryLock(Connection connection, String sql, String name) {
+        return Flux.from(connection.createStatement(sql).bind(0, name).execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get(0, Boolean.class)))
+                .next()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> exists(String fileName) {
+        return databaseClient.sql("SELECT 1 FROM room_image_blobs WHERE file_name = :fileName")
+                .bind("fileName", fileName)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Deletes up to {@code limit} unreferenced blobs not used since {@code cutoff} and returns their file names.
+     */
+    public Flux<String> deleteUnreferenced(Instant cutoff, int limit) {
+        return databaseClient.sql("""
+                        DELETE FROM room_image_blobs
+                        WHERE file_name IN (
+                            SELECT file_name FROM room_image_blobs
+                            WHERE ref_count = 0 AND last_used_at < :cutoff
+                            ORDER BY last_used_at
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                          AND ref_count = 0
+                        RETURNING file_name
+                        """)
+                .bind("cutoff", cutoff)
+                .bind("limit", limit)
+                .map(row -> row.get("file_name", String.class))
+                .all();
+    }
+}
@@ -1,17 +1,81 @@
 package com.autoguide.backend.repository.r2dbc;
 
 import com.autoguide.backend.model.RoomEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 
 public interface RoomRepository extends ReactiveCrudRepository<RoomEntity, UUID> {
 
     Flux<RoomEntity> findAllByHotelId(UUID hotelId);
 
+    Flux<RoomEntity> findAllByIdIn(Collection<UUID> ids);
+
+    Flux<RoomEntity> findAllByHotelIdAndIdIn(UUID hotelId, Collection<UUID> ids);
+
     Mono<RoomEntity> findByIdAndHotelId(UUID id, UUID hotelId);
 
     Mono<Long> countByHotelId(UUID hotelId);
+
+    Flux<RoomEntity> findAllByImageSrcsetIsNullAndImageUrlStartingWith(String imageUrlPrefix);
+
+    Mono<RoomEntity> findFirstByImageUrlAndImageSrcsetIsNotNull(String imageUrl);
+
+    @Modifying
+    @Query("UPDATE rooms SET image_srcset = :imageSrcset WHERE id = :id AND image_url = :imageUrl")
+    Mono<Long> updateImageSrcset(UUID id, String imageUrl, String imageSrcset);
+
+    /**
+     * Updates only the columns a room edit can change, so a concurrent {@link #updateImageSrcset} is never
+     * overwritten with the stale value of a previously loaded entity.
+     */
+    @Query("""
+            UPDATE rooms
+            SET room_number = :roomNumber,
+                room_type = :roomType,
+                nightly_rate = :nightlyRate,
+                short_description = :shortDescription
+            WHERE id = :id
+            RETURNING *
+            """)
+    Mono<RoomEntity> updateDetails(UUID id, String roomNumber, String roomType, BigDecimal nightlyRate, String shortDescription);
+
+    @Query("""
+            SELECT * FROM rooms
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<RoomEntity> findLatest(int limit);
+
+    @Query("""
+            SELECT * FROM rooms
+            WHERE hotel_id = :hotelId
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<RoomEntity> findLatestByHotelId(UUID hotelId, int limit);
+
+    @Query("""
+            SELECT * FROM rooms
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<RoomEntity> findPage(Instant createdAt, UUID id, int limit);
+
+    @Query("""
+            SELECT * FROM rooms
+            WHERE hotel_id = :hotelId
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<RoomEntity> findPageByHotelId(UUID hotelId, Instant createdAt, UUID id, int limit);
 }
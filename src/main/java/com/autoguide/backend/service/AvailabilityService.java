@@ -0,0 +1,113 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.PublicAvailableRoomResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class AvailabilityService {
+
+    private static final Comparator<PublicAvailableRoomResponse> RESULT_ORDER = Comparator
+            .comparing(PublicAvailableRoomResponse::totalAmount)
+            .thenComparing(PublicAvailableRoomResponse::hotelName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PublicAvailableRoomResponse::roomNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final RoomInventoryIndex roomInventoryIndex;
+    private final RoomOccupancyIndex roomOccupancyIndex;
+    private final RoomPresentationResolver roomPresentationResolver;
+
+    public AvailabilityService(
+            RoomInventoryIndex roomInventoryIndex,
+            RoomOccupancyIndex roomOccupancyIndex,
+            RoomPresentationResolver roomPresentationResolver
+    ) {
+        this.roomInventoryIndex = roomInventoryIndex;
+        this.roomOccupancyIndex = roomOccupancyIndex;
+        this.roomPresentationResolver = roomPresentationResolver;
+    }
+
+    public Flux<PublicAvailableRoomResponse> search(
+            String city,
+            UUID hotelId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            String roomType
+    ) {
+        return validate(city, hotelId, checkInDate, checkOutDate)
+                .then(Mono.when(roomInventoryIndex.awaitReady(), roomOccupancyIndex.awaitReady()))
+                .thenMany(Flux.defer(() -> Flux.fromIterable(
+                        findFreeRooms(city, hotelId, checkInDate, checkOutDate, roomType)
+                )));
+    }
+
+    private List<PublicAvailableRoomResponse> findFreeRooms(
+            String city,
+            UUID hotelId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            String roomType
+    ) {
+        String roomTypeKey = RoomInventoryIndex.normalizeKey(roomType);
+        long nights = BookingPricing.nights(checkInDate, checkOutDate);
+        List<PublicAvailableRoomResponse> results = new ArrayList<>();
+
+        for (RoomInventoryIndex.IndexedHotel hotel : roomInventoryIndex.findHotels(hotelId, city)) {
+            for (RoomInventoryIndex.IndexedRoom room : roomInventoryIndex.roomsOf(hotel.id())) {
+                if (!roomTypeKey.isEmpty() && !roomTypeKey.equals(room.roomTypeKey())) {
+                    continue;
+                }
+                if (!roomOccupancyIndex.isFree(hotel.id(), room.id(), checkInDate, checkOutDate)) {
+                    continue;
+                }
+                results.add(new PublicAvailableRoomResponse(
+                        room.id(),
+                        hotel.id(),
+                        hotel.name(),
+                        hotel.city(),
+                        room.roomNumber(),
+                        room.roomType(),
+                        room.nightlyRate(),
+                        roomPresentationResolver.resolveImageUrl(room.imageUrl(), room.roomType()),
+                        roomPresentationResolver.resolveShortDescription(room.shortDescription(), room.roomType()),
+                        nights,
+                        BookingPricing.totalAmount(room.nightlyRate(), checkInDate, checkOutDate)
+                ));
+            }
+        }
+
+        results.sort(RESULT_ORDER);
+        return results;
+    }
+
+    private Mono<Void> validate(String city, UUID hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (hotelId == null && (city == null || city.isBlank())) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "city or hotelId is required"));
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "checkOutDate must be after checkInDate"
+            ));
+        }
+        LocalDate today = LocalDate.now();
+        if (checkInDate.isBefore(today)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkInDate cannot be in the past"));
+        }
+        if (checkOutDate.isAfter(today.plusDays(roomOccupancyIndex.horizonDays()))) {
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Availability can be searched up to " + roomOccupancyIndex.horizonDays() + " days ahead"
+            ));
+        }
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEventType;
+import com.autoguide.backend.model.BookingOutboxEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class BookingCacheEventHandler implements BookingEventHandler {
+
+    private final BookingResponseCache bookingResponseCache;
+
+    public BookingCacheEventHandler(BookingResponseCache bookingResponseCache) {
+        this.bookingResponseCache = bookingResponseCache;
+    }
+
+    @Override
+    public Set<BookingEventType> eventTypes() {
+        return Set.of(BookingEventType.BOOKING_STATUS_CHANGED);
+    }
+
+    @Override
+    public Mono<Void> handle(List<BookingOutboxEvent> events) {
+        return bookingResponseCache.invalidate(events.stream().map(BookingOutboxEvent::bookingId).distinct().toList());
+    }
+}
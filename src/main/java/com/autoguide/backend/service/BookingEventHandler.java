@@ -0,0 +1,25 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEventType;
+import com.autoguide.backend.model.BookingOutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Receives outbox events in batches. Delivery is at-least-once, so handlers must be idempotent.
+ */
+public interface BookingEventHandler {
+
+    Set<BookingEventType> eventTypes();
+
+    /**
+     * Stable name recorded against events this handler has already processed.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    Mono<Void> handle(List<BookingOutboxEvent> events);
+}
@@ -0,0 +1,173 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Streams bookings as newline-delimited JSON straight from one server-side cursor.
+ * Rows are ordered by id so a dropped export can resume with {@code afterId}.
+ */
+@Service
+public class BookingExportService {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final Duration CHUNK_MAX_WAIT = Duration.ofMillis(200);
+    private static final byte NEWLINE = '\n';
+
+    private final DatabaseClient databaseClient;
+    private final HotelAccessService hotelAccessService;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int chunkRows;
+
+    public BookingExportService(
+            DatabaseClient databaseClient,
+            HotelAccessService hotelAccessService,
+            ObjectMapper objectMapper,
+            @Value("${app.export.fetch-size:500}") int fetchSize,
+            @Value("${app.export.chunk-rows:256}") int chunkRows
+    ) {
+        this.databaseClient = databaseClient;
+        this.hotelAccessService = hotelAccessService;
+        this.objectMapper = objectMapper;
+        this.fetchSize = Math.max(fetchSize, 1);
+        this.chunkRows = Math.max(chunkRows, 1);
+    }
+
+    public Flux<Mono<DataBuffer>> exportNdjson(
+            UUID hotelId,
+            BookingStatus status,
+            LocalDate from,
+            LocalDate to,
+            UUID afterId,
+            DataBufferFactory bufferFactory
+    ) {
+        if (from != null && to != null && !to.isAfter(from)) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "to must be after from"));
+        }
+
+        return hotelAccessService.currentScope()
+                .flatMap(scope -> resolveHotelFilter(scope, hotelId))
+                .flatMapMany(hotelFilter -> streamRows(hotelFilter.orElse(null), status, from, to, afterId))
+                .bufferTimeout(chunkRows, CHUNK_MAX_WAIT, true)
+                .map(rows -> Mono.fromSupplier(() -> encodeChunk(rows, bufferFactory)));
+    }
+
+    private Mono<Optional<UUID>> resolveHotelFilter(HotelAccessService.AccessScope scope, UUID requestedHotelId) {
+        if (scope.superAdmin()) {
+            return Mono.just(Optional.ofNullable(requestedHotelId));
+        }
+        if (requestedHotelId == null) {
+            return Mono.just(Optional.of(scope.requiredHotelId()));
+        }
+        return hotelAccessService.assertCanAccessHotel(scope, requestedHotelId)
+                .thenReturn(Optional.of(requestedHotelId));
+    }
+
+    private Flux<BookingResponse> streamRows(
+            UUID hotelId,
+            BookingStatus status,
+            LocalDate from,
+            LocalDate to,
+            UUID afterId
+    ) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT b.id, b.hotel_id, b.guest_id, g.full_name AS guest_full_name, b.room_id, r.room_number,
+                       b.check_in_date, b.check_out_date, b.status, b.total_amount, b.prepayment_amount,
+                       b.payment_status, b.payment_method, b.payment_reference, b.prepaid, b.created_at, b.updated_at
+                FROM bookings b
+                JOIN guests g ON g.id = b.guest_id
+                JOIN rooms r ON r.id = b.room_id
+                WHERE b.id > :afterId
+                """);
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("afterId", afterId == null ? MIN_ID : afterId);
+
+        if (hotelId != null) {
+            sql.append(" AND b.hotel_id = :hotelId");
+            bindings.put("hotelId", hotelId);
+        }
+        if (status != null) {
+            sql.append(" AND b.status = :status");
+            bindings.put("status", status.name());
+        }
+        if (from != null) {
+            sql.append(" AND b.check_in_date >= :from");
+            bindings.put("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND b.check_in_date < :to");
+            bindings.put("to", to);
+        }
+        sql.append(" ORDER BY b.id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+
+        return spec.map(this::toResponse).all();
+    }
+
+    private BookingResponse toResponse(Readable row) {
+        return new BookingResponse(
+                row.get("id", UUID.class),
+                row.get("hotel_id", UUID.class),
+                row.get("guest_id", UUID.class),
+                row.get("guest_full_name", String.class),
+                row.get("room_id", UUID.class),
+                row.get("room_number", String.class),
+                row.get("check_in_date", LocalDate.class),
+                row.get("check_out_date", LocalDate.class),
+                BookingStatus.valueOf(row.get("status", String.class)),
+                row.get("total_amount", BigDecimal.class),
+                row.get("prepayment_amount", BigDecimal.class),
+                BookingPaymentStatus.valueOf(row.get("payment_status", String.class)),
+                row.get("payment_method", String.class),
+                row.get("payment_reference", String.class),
+                Boolean.TRUE.equals(row.get("prepaid", Boolean.class)),
+                row.get("created_at", Instant.class),
+                row.get("updated_at", Instant.class)
+        );
+    }
+
+    private DataBuffer encodeChunk(List<BookingResponse> rows, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(rows.size() * 512);
+        try {
+            for (BookingResponse row : rows) {
+                buffer.write(objectMapper.writeValueAsBytes(row));
+                buffer.write(NEWLINE);
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEventType;
+import com.autoguide.backend.model.BookingOutboxEvent;
+import com.autoguide.backend.repository.r2dbc.BookingOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code booking_outbox} in batches and dispatches events to {@link BookingEventHandler}s.
+ * Each batch is leased in one short statement using {@code FOR UPDATE SKIP LOCKED}, so any number of replicas
+ * can relay concurrently, and handlers run outside any transaction. Delivered events are deleted afterwards;
+ * failed ones are retried with exponential backoff for the handlers that have not processed them yet, and
+ * parked as dead letters once they run out of attempts.
+ */
+@Component
+public class BookingOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingOutboxRelay.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final BookingOutboxRepository bookingOutboxRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Map<BookingEventType, List<BookingEventHandler>> handlers = new EnumMap<>(BookingEventType.class);
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Sinks.Many<Boolean> wakeUps = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer lag;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private volatile Disposable subscription;
+
+    public BookingOutboxRelay(
+            BookingOutboxRepository bookingOutboxRepository,
+            TransactionalOperator transactionalOperator,
+            List<BookingEventHandler> eventHandlers,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${app.outbox.lease:2m}") Duration lease,
+            @Value("${app.outbox.max-attempts:20}") int maxAttempts
+    ) {
+        this.bookingOutboxRepository = bookingOutboxRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = Math.max(batchSize, 1);
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        for (BookingEventHandler handler : eventHandlers) {
+            handler.eventTypes().forEach(type -> handlers.computeIfAbsent(type, ignored -> new ArrayList<>()).add(handler));
+        }
+
+        Gauge.builder("booking.outbox.backlog", backlog, AtomicLong::get).register(meterRegistry);
+        this.lag = Timer.builder("booking.outbox.lag").register(meterRegistry);
+        this.failures = Counter.builder("booking.outbox.failures").register(meterRegistry);
+        this.deadLettered = Counter.builder("booking.outbox.dead-lettered").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.merge(Flux.interval(Duration.ZERO, pollInterval).map(tick -> true), wakeUps.asFlux())
+                .onBackpressureDrop()
+                .concatMap(ignored -> drain(), 1)
+                .subscribe(null, error -> log.error("Booking outbox relay stopped", error));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Appends events; meant to run inside the transaction that writes the bookings.
+     */
+    public Mono<Void> record(BookingEventType type, Collection<UUID> bookingIds) {
+        return bookingOutboxRepository.append(type, bookingIds, Instant.now());
+    }
+
+    /**
+     * Asks the relay to drain now instead of waiting for the next poll; call after commit.
+     */
+    public void wakeUp() {
+        wakeUps.tryEmitNext(true);
+    }
+
+    Mono<Void> drain() {
+        return relayBatch()
+                .expand(relayed -> relayed == batchSize ? relayBatch() : Mono.empty())
+                .then(bookingOutboxRepository.countDue(Instant.now()))
+                .doOnNext(backlog::set)
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Booking outbox relay pass failed", error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Integer> relayBatch() {
+        Instant now = Instant.now();
+        // Postgres keeps microseconds; settling matches on the exact lease.
+        Instant leasedUntil = now.plus(lease).truncatedTo(ChronoUnit.MICROS);
+        return bookingOutboxRepository.claimDue(now, leasedUntil, batchSize)
+                .collectList()
+                .flatMap(events -> {
+                    if (events.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    return dispatch(events)
+                            .flatMap(delivered -> transactionalOperator.transactional(settle(events, leasedUntil, delivered)))
+                            .thenReturn(events.size());
+                });
+    }
+
+    /**
+     * Runs every handler an event has not been delivered to yet; emits the handlers each event has now
+     * been delivered to.
+     */
+    private Mono<Map<Long, Set<String>>> dispatch(List<BookingOutboxEvent> events) {
+        Map<BookingEventType, List<BookingOutboxEvent>> byType = events.stream()
+                .collect(Collectors.groupingBy(BookingOutboxEvent::type, () -> new EnumMap<>(BookingEventType.class), Collectors.toList()));
+        Map<Long, Set<String>> delivered = new HashMap<>();
+        events.forEach(event -> delivered.put(event.id(), new HashSet<>(event.deliveredTo())));
+
+        return Flux.fromIterable(byType.entrySet())
+                .concatMap(entry -> Flux.fromIterable(handlers.getOrDefault(entry.getKey(), List.of()))
+                        .concatMap(handler -> deliver(handler, entry.getValue().stream()
+                                .filter(event -> !event.deliveredTo().contains(handler.name()))
+                                .toList())
+                                .doOnNext(ids -> ids.forEach(id -> delivered.get(id).add(handler.name())))))
+                .then(Mono.fromSupplier(() -> delivered));
+    }
+
+    /**
+     * Hands the events to the handler as one batch. If the batch fails, each event is retried on its own so a
+     * single poison event does not hold back the others; emits the ids the handler processed.
+     */
+    private Mono<List<Long>> deliver(BookingEventHandler handler, List<BookingOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return Mono.defer(() -> handler.handle(events))
+                .then(Mono.fromSupplier(() -> events.stream().map(BookingOutboxEvent::id).toList()))
+                .onErrorResume(error -> {
+                    log.warn("Outbox handler {} failed for {} {} events",
+                            handler.name(), events.size(), events.get(0).type(), error);
+                    if (events.size() == 1) {
+                        return Mono.just(List.of());
+                    }
+                    return Flux.fromIterable(events)
+                            .concatMap(event -> Mono.defer(() -> handler.handle(List.of(event)))
+                                    .thenReturn(event.id())
+                                    .onErrorResume(single -> {
+                                        log.warn("Outbox handler {} failed for event {}", handler.name(), event.id(), single);
+                                        return Mono.empty();
+                                    }))
+                            .collectList();
+                });
+    }
+
+    private Mono<Void> settle(List<BookingOutboxEvent> events, Instant leasedUntil, Map<Long, Set<String>> delivered) {
+        Instant now = Instant.now();
+        List<Long> done = new ArrayList<>(events.size());
+        Map<Retry, List<Long>> retries = new HashMap<>();
+        Map<Set<String>, List<Long>> dead = new HashMap<>();
+        for (BookingOutboxEvent event : events) {
+            Set<String> deliveredTo = delivered.get(event.id());
+            if (deliveredTo.containsAll(handlerNames(event.type()))) {
+                done.add(event.id());
+                lag.record(Duration.between(event.createdAt(), now));
+            } else if (event.attempts() + 1 >= maxAttempts) {
+                dead.computeIfAbsent(deliveredTo, ignored -> new ArrayList<>()).add(event.id());
+            } else {
+                retries.computeIfAbsent(new Retry(event.attempts(), deliveredTo), ignored -> new ArrayList<>()).add(event.id());
+            }
+        }
+        failures.increment(events.size() - done.size());
+        dead.values().forEach(ids -> {
+            deadLettered.increment(ids.size());
+            log.error("Dead-lettering booking outbox events {} after {} attempts", ids, maxAttempts);
+        });
+
+        return bookingOutboxRepository.delete(done, leasedUntil)
+                .thenMany(Flux.fromIterable(retries.entrySet()))
+                .concatMap(entry -> bookingOutboxRepository.reschedule(
+                        entry.getValue(), leasedUntil, now.plus(backoff(entry.getKey().attempts())), entry.getKey().deliveredTo()))
+                .thenMany(Flux.fromIterable(dead.entrySet()))
+                .concatMap(entry -> bookingOutboxRepository.deadLetter(entry.getValue(), leasedUntil, entry.getKey()))
+                .then();
+    }
+
+    private List<String> handlerNames(BookingEventType type) {
+        return handlers.getOrDefault(type, List.of()).stream().map(BookingEventHandler::name).toList();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = pollInterval.multipliedBy(1L << Math.min(attempts, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private record Retry(int attempts, Set<String> deliveredTo) {
+    }
+}
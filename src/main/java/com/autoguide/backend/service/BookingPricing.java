@@ -0,0 +1,24 @@
+package com.autoguide.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+final class BookingPricing {
+
+    private BookingPricing() {
+    }
+
+    static long nights(LocalDate checkInDate, LocalDate checkOutDate) {
+        return Math.max(1L, ChronoUnit.DAYS.between(checkInDate, checkOutDate));
+    }
+
+    static BigDecimal totalAmount(BigDecimal nightlyRate, LocalDate checkInDate, LocalDate checkOutDate) {
+        return normalizeMoney(nightlyRate.multiply(BigDecimal.valueOf(nights(checkInDate, checkOutDate))));
+    }
+
+    static BigDecimal normalizeMoney(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -4,34 +4,71 @@ import com.autoguide.backend.dto.BookingRecommendationResponse;
 import com.autoguide.backend.model.BookingEntity;
 import com.autoguide.backend.model.BookingRecommendationDocument;
 import com.autoguide.backend.repository.mongo.BookingRecommendationRepository;
+import com.autoguide.backend.repository.mongo.RecommendationBookingRef;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingRecommendationService {
 
     private final BookingRecommendationRepository bookingRecommendationRepository;
+    private final RecommendationEngine recommendationEngine;
 
-    public BookingRecommendationService(BookingRecommendationRepository bookingRecommendationRepository) {
+    public BookingRecommendationService(
+            BookingRecommendationRepository bookingRecommendationRepository,
+            RecommendationEngine recommendationEngine
+    ) {
         this.bookingRecommendationRepository = bookingRecommendationRepository;
+        this.recommendationEngine = recommendationEngine;
     }
 
-    public Mono<Void> generateInitialRecommendation(BookingEntity booking) {
-        String suggestion = "Offer breakfast bundle and airport pickup for stay from "
-                + booking.getCheckInDate() + " to " + booking.getCheckOutDate();
+    /**
+     * Skips bookings that already have an initial recommendation, so redelivered events do not duplicate it.
+     * The initial recommendation's id is derived from the booking id, so when two relays race past that check
+     * the second insert hits the primary key and is dropped.
+     */
+    public Mono<Void> generateInitialRecommendations(List<BookingEntity> bookings) {
+        if (bookings.isEmpty()) {
+            return Mono.empty();
+        }
+        List<UUID> bookingIds = bookings.stream().map(BookingEntity::getId).toList();
+        return bookingRecommendationRepository.findByBookingIdIn(bookingIds)
+                .map(RecommendationBookingRef::bookingId)
+                .collect(Collectors.toSet())
+                .flatMap(existing -> {
+                    List<BookingRecommendationDocument> documents = bookings.stream()
+                            .filter(booking -> !existing.contains(booking.getId()))
+                            .map(this::buildInitialRecommendation)
+                            .toList();
+                    return Flux.fromIterable(documents)
+                            .flatMap(document -> bookingRecommendationRepository.insert(document)
+                                    .onErrorResume(DuplicateKeyException.class, duplicate -> Mono.empty()))
+                            .then();
+                });
+    }
+
+    static String initialRecommendationId(UUID bookingId) {
+        return "initial:" + bookingId;
+    }
+
+    private BookingRecommendationDocument buildInitialRecommendation(BookingEntity booking) {
+        RecommendationEngine.Recommendation recommendation = recommendationEngine.recommend(booking);
 
         BookingRecommendationDocument document = new BookingRecommendationDocument();
+        document.setId(initialRecommendationId(booking.getId()));
         document.setBookingId(booking.getId());
-        document.setSuggestion(suggestion);
-        document.setModel("rule-based-ai-assistant");
-        document.setConfidence(0.88);
+        document.setSuggestion(recommendation.suggestion());
+        document.setModel(RecommendationEngine.MODEL);
+        document.setConfidence(recommendation.confidence());
         document.setGeneratedAt(Instant.now());
-
-        return bookingRecommendationRepository.save(document).then();
+        return document;
     }
 
     public Flux<BookingRecommendationResponse> getByBookingId(UUID bookingId) {
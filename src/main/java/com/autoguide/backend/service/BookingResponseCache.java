@@ -0,0 +1,240 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Booking responses cached in-process (L1) in front of Redis (L2).
+ * Invalidations are broadcast over Redis pub/sub so every replica drops its L1 copy.
+ */
+@Component
+public class BookingResponseCache {
+
+    static final String INVALIDATION_CHANNEL = "booking:cache:invalidate";
+
+    private static final Logger log = LoggerFactory.getLogger(BookingResponseCache.class);
+    private static final Duration REDIS_TTL = Duration.ofMinutes(5);
+    private static final String KEY_PREFIX = "booking:cache:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final CacheCodecs cacheCodecs;
+    private final Cache<UUID, BookingResponse> local;
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final MeterRegistry meterRegistry;
+    private volatile Disposable invalidationSubscription;
+
+    public BookingResponseCache(
+            ReactiveStringRedisTemplate redisTemplate,
+            ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate,
+            CacheCodecs cacheCodecs,
+            MeterRegistry meterRegistry,
+            @Value("${app.booking.cache.l1.max-size:10000}") long maxSize,
+            @Value("${app.booking.cache.l1.ttl:30s}") Duration ttl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.cacheCodecs = cacheCodecs;
+        this.meterRegistry = meterRegistry;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .removalListener((UUID key, BookingResponse value, RemovalCause cause) -> onLocalRemoval(cause))
+                .build();
+        this.l1Hits = requests(meterRegistry, "l1", "hit");
+        this.l1Misses = requests(meterRegistry, "l1", "miss");
+        this.l2Hits = requests(meterRegistry, "l2", "hit");
+        this.l2Misses = requests(meterRegistry, "l2", "miss");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToInvalidations() {
+        invalidationSubscription = redisTemplate.listenToChannel(INVALIDATION_CHANNEL)
+                .doOnNext(message -> evictLocal(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(null, error -> log.warn("Booking cache invalidation listener stopped", error));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        Disposable subscription = invalidationSubscription;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<BookingResponse> get(UUID bookingId, HotelAccessService.AccessScope scope) {
+        BookingResponse cached = local.getIfPresent(bookingId);
+        if (cached != null) {
+            l1Hits.increment();
+            return visibleTo(cached, scope) ? Mono.just(cached) : Mono.empty();
+        }
+        l1Misses.increment();
+
+        return binaryRedisTemplate.opsForValue()
+                .get(key(bookingId))
+                .flatMap(this::deserialize)
+                .doOnNext(response -> {
+                    l2Hits.increment();
+                    local.put(response.id(), response);
+                })
+                .switchIfEmpty(Mono.fromRunnable(l2Misses::increment))
+                .onErrorResume(error -> Mono.empty())
+                .filter(response -> visibleTo(response, scope));
+    }
+
+    public Mono<Map<UUID, BookingResponse>> getAll(List<UUID> bookingIds, HotelAccessService.AccessScope scope) {
+        Map<UUID, BookingResponse> found = new HashMap<>();
+        List<UUID> remoteIds = new ArrayList<>();
+        for (UUID bookingId : bookingIds) {
+            BookingResponse cached = local.getIfPresent(bookingId);
+            if (cached != null) {
+                l1Hits.increment();
+                if (visibleTo(cached, scope)) {
+                    found.put(bookingId, cached);
+                }
+            } else {
+                l1Misses.increment();
+                remoteIds.add(bookingId);
+            }
+        }
+        if (remoteIds.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        return binaryRedisTemplate.opsForValue()
+                .multiGet(remoteIds.stream().map(BookingResponseCache::key).toList())
+                .map(payloads -> {
+                    for (int i = 0; i < payloads.size(); i++) {
+                        BookingResponse response = payloads.get(i) == null ? null : read(payloads.get(i));
+                        if (response == null) {
+                            l2Misses.increment();
+                            continue;
+                        }
+                        l2Hits.increment();
+                        local.put(response.id(), response);
+                        if (visibleTo(response, scope)) {
+                            found.put(remoteIds.get(i), response);
+                        }
+                    }
+                    return found;
+                })
+                .onErrorReturn(found);
+    }
+
+    public Mono<BookingResponse> put(BookingResponse response) {
+        if (response.id() == null) {
+            return Mono.just(response);
+        }
+        local.put(response.id(), response);
+        try {
+            byte[] serialized = cacheCodecs.write(response);
+            return binaryRedisTemplate.opsForValue()
+                    .set(key(response.id()), serialized, REDIS_TTL)
+                    .thenReturn(response)
+                    .onErrorReturn(response);
+        } catch (IOException e) {
+            return Mono.just(response);
+        }
+    }
+
+    public Mono<Void> putAll(List<BookingResponse> responses) {
+        return Flux.fromIterable(responses)
+                .flatMap(this::put)
+                .then();
+    }
+
+    /**
+     * Drops the shared entries and tells every replica, including this one, to drop its local copy.
+     * Errors are propagated so the caller can retry.
+     */
+    public Mono<Void> invalidate(List<UUID> bookingIds) {
+        bookingIds.forEach(local::invalidate);
+        return Flux.fromIterable(bookingIds)
+                .flatMap(bookingId -> binaryRedisTemplate.opsForValue().delete(key(bookingId))
+                        .then(redisTemplate.convertAndSend(INVALIDATION_CHANNEL, bookingId.toString())))
+                .then();
+    }
+
+    public void evictLocal(UUID bookingId) {
+        local.invalidate(bookingId);
+    }
+
+    private void evictLocal(String bookingId) {
+        try {
+            evictLocal(UUID.fromString(bookingId));
+        } catch (IllegalArgumentException ignored) {
+            // foreign message on the channel
+        }
+    }
+
+    private void onLocalRemoval(RemovalCause cause) {
+        String reason = cause == RemovalCause.EXPLICIT ? "invalidated" : cause.name().toLowerCase(Locale.ROOT);
+        if (cause != RemovalCause.REPLACED) {
+            evictions(meterRegistry, "l1", reason).increment();
+        }
+    }
+
+    private boolean visibleTo(BookingResponse response, HotelAccessService.AccessScope scope) {
+        return scope.superAdmin() || scope.requiredHotelId().equals(response.hotelId());
+    }
+
+    private Mono<BookingResponse> deserialize(byte[] payload) {
+        return Mono.justOrEmpty(read(payload));
+    }
+
+    private BookingResponse read(byte[] payload) {
+        try {
+            return cacheCodecs.read(payload, BookingResponse.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String key(UUID bookingId) {
+        return KEY_PREFIX + bookingId;
+    }
+
+    private static Counter requests(MeterRegistry registry, String level, String result) {
+        return Counter.builder("booking.cache.requests")
+                .tag("level", level)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter evictions(MeterRegistry registry, String level, String cause) {
+        return Counter.builder("booking.cache.evictions")
+                .tag("level", level)
+                .tag("cause", cause)
+                .register(registry);
+    }
+}
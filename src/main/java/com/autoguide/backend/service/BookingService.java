@@ -1,27 +1,35 @@
 package com.autoguide.backend.service;
 
+import com.autoguide.backend.dto.BookingBatchItemResult;
+import com.autoguide.backend.dto.BookingBatchResponse;
+import com.autoguide.backend.dto.BookingLookupRequest;
 import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.dto.CreateBookingBatchRequest;
 import com.autoguide.backend.dto.CreateBookingRequest;
+import com.autoguide.backend.dto.PageResponse;
 import com.autoguide.backend.dto.PublicCreateBookingRequest;
 import com.autoguide.backend.dto.UpdateBookingStatusRequest;
 import com.autoguide.backend.exception.NotFoundException;
 import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingEventType;
 import com.autoguide.backend.model.BookingPaymentStatus;
 import com.autoguide.backend.model.BookingStatus;
 import com.autoguide.backend.model.GuestEntity;
 import com.autoguide.backend.model.RoomEntity;
 import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.BookingStatusChangeRepository;
 import com.autoguide.backend.repository.r2dbc.GuestRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
-import org.springframework.data.redis.core.ReactiveValueOperations;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.spi.R2dbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -31,42 +39,68 @@ import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class BookingService {
 
-    private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+    private static final String STAY_EXCLUSION_CONSTRAINT = "ex_bookings_room_stay";
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final String GUEST_EMAIL_CONSTRAINT = "uq_guests_hotel_email";
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    private static final int ENRICH_BATCH_SIZE = 200;
+    private static final int ENRICH_CONCURRENCY = 2;
+    private static final Duration CACHE_INVALIDATION_TIMEOUT = Duration.ofSeconds(2);
 
     private final BookingRepository bookingRepository;
     private final GuestService guestService;
     private final RoomService roomService;
-    private final BookingRecommendationService bookingRecommendationService;
-    private final ReactiveStringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final BookingOutboxRelay bookingOutboxRelay;
+    private final RecommendationPipeline recommendationPipeline;
+    private final BookingResponseCache bookingResponseCache;
     private final HotelAccessService hotelAccessService;
     private final GuestRepository guestRepository;
+    private final RoomOccupancyIndex roomOccupancyIndex;
+    private final RoomBookingSerializer roomBookingSerializer;
+    private final BookingStatusChangeRepository bookingStatusChangeRepository;
+    private final TransactionalOperator transactionalOperator;
 
     public BookingService(
             BookingRepository bookingRepository,
             GuestService guestService,
             RoomService roomService,
-            BookingRecommendationService bookingRecommendationService,
-            ReactiveStringRedisTemplate redisTemplate,
-            ObjectMapper objectMapper,
+            BookingOutboxRelay bookingOutboxRelay,
+            RecommendationPipeline recommendationPipeline,
+            BookingResponseCache bookingResponseCache,
             HotelAccessService hotelAccessService,
-            GuestRepository guestRepository
+            GuestRepository guestRepository,
+            RoomOccupancyIndex roomOccupancyIndex,
+            RoomBookingSerializer roomBookingSerializer,
+            BookingStatusChangeRepository bookingStatusChangeRepository,
+            TransactionalOperator transactionalOperator
     ) {
         this.bookingRepository = bookingRepository;
         this.guestService = guestService;
         this.roomService = roomService;
-        this.bookingRecommendationService = bookingRecommendationService;
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.bookingOutboxRelay = bookingOutboxRelay;
+        this.recommendationPipeline = recommendationPipeline;
+        this.bookingResponseCache = bookingResponseCache;
         this.hotelAccessService = hotelAccessService;
         this.guestRepository = guestRepository;
+        this.roomOccupancyIndex = roomOccupancyIndex;
+        this.roomBookingSerializer = roomBookingSerializer;
+        this.bookingStatusChangeRepository = bookingStatusChangeRepository;
+        this.transactionalOperator = transactionalOperator;
     }
 
     public Mono<BookingResponse> create(CreateBookingRequest request) {
@@ -94,13 +128,31 @@ public class BookingService {
                                     request.checkOutDate()
                             );
 
-                            return bookingRepository.save(entity)
-                                    .flatMap(saved -> bookingRecommendationService.generateInitialRecommendation(saved)
-                                            .then(enrichBooking(saved, guest, room)))
-                                    .flatMap(response -> cacheResponse(response, scope));
+                            return saveNewReserved(entity)
+                                    .flatMap(saved -> enrichBooking(saved, guest, room));
                         }));
     }
 
+    public Mono<BookingBatchResponse> createBatch(CreateBookingBatchRequest request) {
+        List<CreateBookingRequest> items = request.bookings();
+        return hotelAccessService.currentScope()
+                .flatMap(scope -> {
+                    Set<UUID> guestIds = new HashSet<>();
+                    Set<UUID> roomIds = new HashSet<>();
+                    for (CreateBookingRequest item : items) {
+                        guestIds.add(item.guestId());
+                        roomIds.add(item.roomId());
+                    }
+
+                    return Mono.zip(
+                                    guestService.getEntitiesByIds(guestIds, scope),
+                                    roomService.getEntitiesByIds(roomIds, scope)
+                            )
+                            .flatMap(tuple -> reserveBatch(items, tuple.getT1(), tuple.getT2()))
+                            .flatMap(slots -> persistBatch(slots, scope));
+                });
+    }
+
     public Mono<BookingResponse> createPublicPrepaid(PublicCreateBookingRequest request) {
         return validateDates(request.checkInDate(), request.checkOutDate())
                 .then(roomService.getEntityById(request.roomId(), HotelAccessService.AccessScope.unrestricted()))
@@ -108,41 +160,60 @@ public class BookingService {
                         .flatMap(guest -> {
                             BookingEntity entity = buildPrepaidPublicBookingEntity(guest, room, request);
 
-                            return bookingRepository.save(entity)
-                                    .flatMap(saved -> bookingRecommendationService.generateInitialRecommendation(saved)
-                                            .then(enrichBooking(saved, guest, room)))
-                                    .flatMap(response -> cacheResponse(response, HotelAccessService.AccessScope.unrestricted()));
+                            return saveNewReserved(entity)
+                                    .flatMap(saved -> enrichBooking(saved, guest, room));
                         }));
     }
 
     public Mono<BookingResponse> getById(UUID id) {
         return hotelAccessService.currentScope()
-                .flatMap(scope -> {
-                    String key = cacheKey(id, scope);
-                    ReactiveValueOperations<String, String> valueOps = redisTemplate.opsForValue();
+                .flatMap(scope -> bookingResponseCache.get(id, scope)
+                        .switchIfEmpty(Mono.defer(() -> loadFromDbAndCache(id, scope))));
+    }
 
-                    return valueOps.get(key)
-                            .flatMap(this::deserialize)
-                            .switchIfEmpty(Mono.defer(() -> loadFromDbAndCache(id, scope)));
-                });
+    public Flux<BookingResponse> lookup(BookingLookupRequest request) {
+        List<UUID> ids = request.ids().stream().distinct().toList();
+        return hotelAccessService.currentScope()
+                .flatMapMany(scope -> bookingResponseCache.getAll(ids, scope)
+                        .flatMap(cached -> loadMissing(ids, cached, scope))
+                        .flatMapIterable(found -> ids.stream()
+                                .map(found::get)
+                                .filter(Objects::nonNull)
+                                .toList()));
     }
 
-    public Flux<BookingResponse> getAll(BookingStatus status) {
+    public Mono<PageResponse<BookingResponse>> getAll(BookingStatus status, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
         return hotelAccessService.currentScope()
-                .flatMapMany(scope -> {
+                .flatMap(scope -> {
+                    KeysetCursor position = KeysetCursor.decode(cursor);
+                    Instant createdAt = position.createdAt();
+                    UUID lastId = position.id();
+                    int fetchSize = pageSize + 1;
+
                     Flux<BookingEntity> source;
                     if (scope.superAdmin()) {
                         source = status == null
-                                ? bookingRepository.findAll()
-                                : bookingRepository.findAllByStatus(status);
+                                ? bookingRepository.findPage(createdAt, lastId, fetchSize)
+                                : bookingRepository.findPageByStatus(status.name(), createdAt, lastId, fetchSize);
                     } else {
                         UUID hotelId = scope.requiredHotelId();
                         source = status == null
-                                ? bookingRepository.findAllByHotelId(hotelId)
-                                : bookingRepository.findAllByHotelIdAndStatus(hotelId, status);
+                                ? bookingRepository.findPageByHotelId(hotelId, createdAt, lastId, fetchSize)
+                                : bookingRepository.findPageByHotelIdAndStatus(
+                                        hotelId,
+                                        status.name(),
+                                        createdAt,
+                                        lastId,
+                                        fetchSize
+                                );
                     }
 
-                    return source.flatMap(booking -> enrichBooking(booking, scope));
+                    return KeysetCursor.page(
+                            enrichBookings(source, scope),
+                            pageSize,
+                            response -> new KeysetCursor(response.createdAt(), response.id())
+                    );
                 });
     }
 
@@ -160,27 +231,242 @@ public class BookingService {
                                     ? bookingRepository.findAllByGuestIdIn(guestIds)
                                     : bookingRepository.findAllByGuestIdInAndStatus(guestIds, status);
 
-                            return source.flatMap(booking ->
-                                    enrichBooking(booking, HotelAccessService.AccessScope.unrestricted()));
+                            return enrichBookings(source, HotelAccessService.AccessScope.unrestricted());
                         }));
     }
 
     public Mono<BookingResponse> updateStatus(UUID id, UpdateBookingStatusRequest request) {
         return hotelAccessService.currentScope()
                 .flatMap(scope -> scopedFindById(id, scope)
-                        .flatMap(existing -> {
-                            existing.setStatus(request.status());
-                            existing.setUpdatedAt(Instant.now());
-                            return bookingRepository.save(existing);
-                        })
-                        .flatMap(booking -> enrichBooking(booking, scope))
-                        .flatMap(response -> cacheResponse(response, scope)));
+                        .flatMap(existing -> applyStatus(existing, request.status()))
+                        .flatMap(booking -> invalidateCachedResponse(booking.getId()).thenReturn(booking))
+                        .doOnNext(booking -> bookingOutboxRelay.wakeUp())
+                        .flatMap(booking -> enrichBooking(booking, scope)));
+    }
+
+    /**
+     * Drops the cached response once the change is committed so no later read can bring the old value back.
+     * If Redis is unavailable the status change still succeeds; the outbox event retries the invalidation.
+     */
+    private Mono<Void> invalidateCachedResponse(UUID bookingId) {
+        return bookingResponseCache.invalidate(List.of(bookingId))
+                .timeout(CACHE_INVALIDATION_TIMEOUT)
+                .onErrorResume(error -> {
+                    log.warn("Invalidating cached booking {} failed, leaving it to the outbox", bookingId, error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<BookingEntity> saveNewReserved(BookingEntity entity) {
+        return saveReserved(entity, saveWithEvent(entity, BookingEventType.BOOKING_CREATED))
+                .doOnNext(saved -> {
+                    recommendationPipeline.submit(List.of(saved.getId()));
+                    bookingOutboxRelay.wakeUp();
+                });
+    }
+
+    private Mono<BookingEntity> saveWithEvent(BookingEntity entity, BookingEventType eventType) {
+        return saveWithEvent(entity, eventType, Mono.empty());
+    }
+
+    private Mono<BookingEntity> saveWithEvent(BookingEntity entity, BookingEventType eventType, Mono<Void> alongside) {
+        return Mono.defer(() -> transactionalOperator.transactional(bookingRepository.save(entity)
+                .flatMap(saved -> alongside
+                        .then(bookingOutboxRelay.record(eventType, List.of(saved.getId())))
+                        .thenReturn(saved))));
+    }
+
+    /**
+     * The stay exclusion constraint is the only authority on overlaps; same-room writes on this node are
+     * queued so they rarely reach it, and the occupancy index is updated once the row is committed.
+     */
+    private Mono<BookingEntity> saveReserved(BookingEntity entity, Mono<BookingEntity> save) {
+        return roomBookingSerializer.serialize(entity.getRoomId(), save)
+                .doOnNext(roomOccupancyIndex::record)
+                .onErrorMap(this::isStayConflict, error -> new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Room is not available for selected dates: " + entity.getRoomId()
+                ));
+    }
+
+    private boolean isStayConflict(Throwable error) {
+        return isConstraintViolation(error, EXCLUSION_VIOLATION_SQL_STATE, STAY_EXCLUSION_CONSTRAINT);
+    }
+
+    private boolean isGuestEmailConflict(Throwable error) {
+        return isConstraintViolation(error, UNIQUE_VIOLATION_SQL_STATE, GUEST_EMAIL_CONSTRAINT);
+    }
+
+    /**
+     * True only when the SQLSTATE and the violated constraint both match; the constraint name comes from
+     * the driver's error details, or from the message when the driver does not report it.
+     */
+    private static boolean isConstraintViolation(Throwable error, String sqlState, String constraint) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof R2dbcException r2dbcException && sqlState.equals(r2dbcException.getSqlState())) {
+                return violatedConstraint(r2dbcException)
+                        .map(constraint::equals)
+                        .orElseGet(() -> r2dbcException.getMessage() != null
+                                && r2dbcException.getMessage().contains(constraint));
+            }
+        }
+        return false;
+    }
+
+    private static Optional<String> violatedConstraint(R2dbcException error) {
+        return error instanceof PostgresqlException postgresqlException
+                ? postgresqlException.getErrorDetails().getConstraintName()
+                : Optional.empty();
+    }
+
+    /**
+     * Rejects items that overlap a stored stay or an earlier item of the same batch, using one query for
+     * every room in the batch. Stays committed concurrently are still caught by the exclusion constraint.
+     */
+    private Mono<List<BatchSlot>> reserveBatch(
+            List<CreateBookingRequest> items,
+            Map<UUID, GuestEntity> guests,
+            Map<UUID, RoomEntity> rooms
+    ) {
+        if (rooms.isEmpty()) {
+            return Mono.fromSupplier(() -> reserveBatchItems(items, guests, rooms, new HashMap<>()));
+        }
+        LocalDate from = items.stream().map(CreateBookingRequest::checkInDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = items.stream().map(CreateBookingRequest::checkOutDate).max(LocalDate::compareTo).orElseThrow();
+
+        return bookingRepository.findOverlappingStays(rooms.keySet(), from, to, BookingStatus.roomHoldingStatusNames())
+                .collect(HashMap<UUID, List<BookingEntity>>::new, (taken, booking) ->
+                        taken.computeIfAbsent(booking.getRoomId(), ignored -> new ArrayList<>()).add(booking))
+                .map(taken -> reserveBatchItems(items, guests, rooms, taken));
+    }
+
+    private List<BatchSlot> reserveBatchItems(
+            List<CreateBookingRequest> items,
+            Map<UUID, GuestEntity> guests,
+            Map<UUID, RoomEntity> rooms,
+            Map<UUID, List<BookingEntity>> taken
+    ) {
+        List<BatchSlot> slots = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            slots.add(reserveBatchItem(index, items.get(index), guests, rooms, taken));
+        }
+        return slots;
+    }
+
+    private BatchSlot reserveBatchItem(
+            int index,
+            CreateBookingRequest item,
+            Map<UUID, GuestEntity> guests,
+            Map<UUID, RoomEntity> rooms,
+            Map<UUID, List<BookingEntity>> taken
+    ) {
+        GuestEntity guest = guests.get(item.guestId());
+        RoomEntity room = rooms.get(item.roomId());
+
+        if (!item.checkOutDate().isAfter(item.checkInDate())) {
+            return BatchSlot.rejected(index, "checkOutDate must be after checkInDate");
+        }
+        if (guest == null) {
+            return BatchSlot.rejected(index, "Guest not found: " + item.guestId());
+        }
+        if (room == null) {
+            return BatchSlot.rejected(index, "Room not found: " + item.roomId());
+        }
+        if (!room.getHotelId().equals(guest.getHotelId())) {
+            return BatchSlot.rejected(index, "Guest and room must belong to the same hotel");
+        }
+
+        List<BookingEntity> roomStays = taken.computeIfAbsent(room.getId(), ignored -> new ArrayList<>());
+        boolean overlaps = roomStays.stream().anyMatch(stay -> stay.getCheckInDate().isBefore(item.checkOutDate())
+                && stay.getCheckOutDate().isAfter(item.checkInDate()));
+        if (overlaps) {
+            return BatchSlot.rejected(index, "Room is not available for selected dates: " + room.getId());
+        }
+
+        BookingEntity entity = buildInternalBookingEntity(guest, room, item.checkInDate(), item.checkOutDate());
+        entity.setId(UUID.randomUUID());
+        roomStays.add(entity);
+        return new BatchSlot(index, entity, guest, room, null);
+    }
+
+    private Mono<BookingBatchResponse> persistBatch(List<BatchSlot> slots, HotelAccessService.AccessScope scope) {
+        List<BookingEntity> accepted = slots.stream()
+                .map(BatchSlot::booking)
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<UUID> acceptedIds = accepted.stream().map(BookingEntity::getId).toList();
+
+        return transactionalOperator.transactional(bookingRepository.insertAll(accepted)
+                        .then(Mono.defer(() -> bookingOutboxRelay.record(BookingEventType.BOOKING_CREATED, acceptedIds))))
+                .onErrorMap(this::isStayConflict, error -> new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Batch conflicts with bookings created concurrently, no bookings were created"
+                ))
+                .then(Mono.fromSupplier(() -> {
+                    accepted.forEach(roomOccupancyIndex::record);
+                    recommendationPipeline.submit(acceptedIds);
+                    bookingOutboxRelay.wakeUp();
+                    List<BookingBatchItemResult> results = new ArrayList<>(slots.size());
+                    for (BatchSlot slot : slots) {
+                        if (slot.booking() == null) {
+                            results.add(new BookingBatchItemResult(slot.index(), false, null, slot.error()));
+                            continue;
+                        }
+                        BookingResponse response = toResponse(slot.booking(), slot.guest(), slot.room());
+                        results.add(new BookingBatchItemResult(slot.index(), true, response, null));
+                    }
+                    return new BookingBatchResponse(accepted.size(), slots.size() - accepted.size(), results);
+                }));
+    }
+
+    private Mono<BookingEntity> applyStatus(BookingEntity existing, BookingStatus status) {
+        BookingStatus previous = existing.getStatus();
+        boolean heldRoom = previous.holdsRoom();
+        existing.setStatus(status);
+        existing.setUpdatedAt(Instant.now());
+
+        Mono<Void> change = previous == status
+                ? Mono.empty()
+                : Mono.defer(() -> bookingStatusChangeRepository.append(existing.getId(), previous, status, existing.getUpdatedAt()));
+        Mono<BookingEntity> save = saveWithEvent(existing, BookingEventType.BOOKING_STATUS_CHANGED, change);
+        if (!heldRoom && status.holdsRoom()) {
+            return saveReserved(existing, save);
+        }
+        if (heldRoom && !status.holdsRoom()) {
+            return save.doOnNext(roomOccupancyIndex::release);
+        }
+        return save;
     }
 
     private Mono<BookingResponse> loadFromDbAndCache(UUID id, HotelAccessService.AccessScope scope) {
         return scopedFindById(id, scope)
                 .flatMap(booking -> enrichBooking(booking, scope))
-                .flatMap(response -> cacheResponse(response, scope));
+                .flatMap(this::cacheResponse);
+    }
+
+    private Mono<Map<UUID, BookingResponse>> loadMissing(
+            List<UUID> ids,
+            Map<UUID, BookingResponse> cached,
+            HotelAccessService.AccessScope scope
+    ) {
+        List<UUID> missing = ids.stream().filter(id -> !cached.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return Mono.just(cached);
+        }
+
+        Flux<BookingEntity> source = scope.superAdmin()
+                ? bookingRepository.findAllByIdIn(missing)
+                : bookingRepository.findAllByHotelIdAndIdIn(scope.requiredHotelId(), missing);
+
+        return enrichBookings(source, scope)
+                .collectList()
+                .flatMap(loaded -> bookingResponseCache.putAll(loaded)
+                        .then(Mono.fromSupplier(() -> {
+                            Map<UUID, BookingResponse> found = new HashMap<>(cached);
+                            loaded.forEach(response -> found.put(response.id(), response));
+                            return found;
+                        })));
     }
 
     private Mono<BookingEntity> scopedFindById(UUID id, HotelAccessService.AccessScope scope) {
@@ -199,8 +485,44 @@ public class BookingService {
                 .flatMap(tuple -> enrichBooking(booking, tuple.getT1(), tuple.getT2()));
     }
 
+    private Flux<BookingResponse> enrichBookings(Flux<BookingEntity> bookings, HotelAccessService.AccessScope scope) {
+        return bookings
+                .buffer(ENRICH_BATCH_SIZE)
+                .flatMapSequential(batch -> enrichBatch(batch, scope), ENRICH_CONCURRENCY);
+    }
+
+    private Flux<BookingResponse> enrichBatch(List<BookingEntity> batch, HotelAccessService.AccessScope scope) {
+        Set<UUID> guestIds = new HashSet<>();
+        Set<UUID> roomIds = new HashSet<>();
+        for (BookingEntity booking : batch) {
+            guestIds.add(booking.getGuestId());
+            roomIds.add(booking.getRoomId());
+        }
+
+        return Mono.zip(
+                        guestService.getEntitiesByIds(guestIds, scope),
+                        roomService.getEntitiesByIds(roomIds, scope)
+                )
+                .flatMapMany(tuple -> Flux.fromIterable(batch)
+                        .handle((booking, sink) -> {
+                            GuestEntity guest = tuple.getT1().get(booking.getGuestId());
+                            RoomEntity room = tuple.getT2().get(booking.getRoomId());
+                            if (guest == null) {
+                                sink.error(new NotFoundException("Guest not found: " + booking.getGuestId()));
+                            } else if (room == null) {
+                                sink.error(new NotFoundException("Room not found: " + booking.getRoomId()));
+                            } else {
+                                sink.next(toResponse(booking, guest, room));
+                            }
+                        }));
+    }
+
     private Mono<BookingResponse> enrichBooking(BookingEntity booking, GuestEntity guest, RoomEntity room) {
-        return Mono.just(new BookingResponse(
+        return Mono.just(toResponse(booking, guest, room));
+    }
+
+    private BookingResponse toResponse(BookingEntity booking, GuestEntity guest, RoomEntity room) {
+        return new BookingResponse(
                 booking.getId(),
                 booking.getHotelId(),
                 booking.getGuestId(),
@@ -218,28 +540,11 @@ public class BookingService {
                 booking.isPrepaid(),
                 booking.getCreatedAt(),
                 booking.getUpdatedAt()
-        ));
-    }
-
-    private Mono<BookingResponse> cacheResponse(BookingResponse response, HotelAccessService.AccessScope scope) {
-        try {
-            String serialized = objectMapper.writeValueAsString(response);
-            return redisTemplate.opsForValue()
-                    .set(cacheKey(response.id(), scope), serialized, CACHE_TTL)
-                    .thenReturn(response)
-                    .onErrorReturn(response);
-        } catch (JsonProcessingException e) {
-            return Mono.just(response);
-        }
+        );
     }
 
-    private Mono<BookingResponse> deserialize(String payload) {
-        try {
-            BookingResponse response = objectMapper.readValue(payload, BookingResponse.class);
-            return Mono.just(response);
-        } catch (Exception e) {
-            return Mono.empty();
-        }
+    private Mono<BookingResponse> cacheResponse(BookingResponse response) {
+        return bookingResponseCache.put(response);
     }
 
     private Mono<Void> validateDates(LocalDate checkInDate, LocalDate checkOutDate) {
@@ -321,17 +626,20 @@ public class BookingService {
                     entity.setFullName(request.fullName().trim());
                     entity.setEmail(normalizedEmail);
                     entity.setCreatedAt(Instant.now());
-                    return guestRepository.save(entity);
+                    // A concurrent request may have created the same guest; any other violation is a real error.
+                    return guestRepository.save(entity)
+                            .onErrorResume(this::isGuestEmailConflict, error ->
+                                    guestRepository.findByHotelIdAndEmail(hotelId, normalizedEmail)
+                                            .switchIfEmpty(Mono.error(error)));
                 }));
     }
 
     private BigDecimal computeTotalAmount(RoomEntity room, LocalDate checkInDate, LocalDate checkOutDate) {
-        long nights = Math.max(1L, ChronoUnit.DAYS.between(checkInDate, checkOutDate));
-        return normalizeMoney(room.getNightlyRate().multiply(BigDecimal.valueOf(nights)));
+        return BookingPricing.totalAmount(room.getNightlyRate(), checkInDate, checkOutDate);
     }
 
     private BigDecimal normalizeMoney(BigDecimal value) {
-        return value.setScale(2, RoundingMode.HALF_UP);
+        return BookingPricing.normalizeMoney(value);
     }
 
     private String normalizePaymentMethod(String paymentMethod) {
@@ -381,8 +689,10 @@ public class BookingService {
                 });
     }
 
-    private String cacheKey(UUID bookingId, HotelAccessService.AccessScope scope) {
-        String scopeKey = scope.superAdmin() ? "all" : "hotel:" + scope.requiredHotelId();
-        return "booking:cache:" + bookingId + ":" + scopeKey;
+    private record BatchSlot(int index, BookingEntity booking, GuestEntity guest, RoomEntity room, String error) {
+
+        static BatchSlot rejected(int index, String error) {
+            return new BatchSlot(index, null, null, null, error);
+        }
     }
 }
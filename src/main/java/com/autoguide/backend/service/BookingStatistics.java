@@ -0,0 +1,415 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.model.BookingStatisticsSnapshotDocument;
+import com.autoguide.backend.model.BookingStatusChange;
+import com.autoguide.backend.repository.mongo.BookingStatisticsSnapshotRepository;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.BookingStatusChangeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Booking aggregates (stay length, lead time, prepaid ratio) per hotel, room type and season, kept in memory.
+ * Bookings are counted as they are created, past a (created_at, id) watermark, and entries of the status change
+ * log past a (changed_at, id) watermark take cancelled bookings out and put reinstated ones back. Each change is
+ * applied exactly once, so only aggregates and watermarks are snapshotted to Mongo, and a restart only catches up
+ * on bookings created or changed since the last snapshot.
+ * Every instance polls on its own because the outbox hands each event to a single instance.
+ */
+@Component
+public class BookingStatistics {
+
+    static final int MAX_NIGHTS = 14;
+    static final String ANY_ROOM_TYPE = "*";
+    static final String UNKNOWN_ROOM_TYPE = "unknown";
+    static final long MIN_SEGMENT_SAMPLES = 30;
+
+    private static final Logger log = LoggerFactory.getLogger(BookingStatistics.class);
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+    private static final String SNAPSHOT_ID = "current";
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final int PAGE_SIZE = 1_000;
+    /** Rows younger than this may still belong to open transactions with an earlier created_at. */
+    private static final Duration SETTLE_DELAY = Duration.ofSeconds(5);
+    /** Upper bounds (exclusive) of the lead-time buckets in days; the last bucket is open-ended. */
+    private static final int[] LEAD_BOUNDS = {1, 3, 7, 14, 30, 60, 120};
+
+    private final BookingRepository bookingRepository;
+    private final BookingStatusChangeRepository statusChangeRepository;
+    private final BookingStatisticsSnapshotRepository snapshotRepository;
+    private final RoomInventoryIndex roomInventoryIndex;
+    private final Duration refreshInterval;
+    private final Duration snapshotInterval;
+    private final ConcurrentMap<SegmentKey, Segment> segments = new ConcurrentHashMap<>();
+    private final Mono<Void> ready;
+    private volatile Instant watermarkCreatedAt = Instant.EPOCH;
+    private volatile UUID watermarkBookingId = MIN_ID;
+    private volatile Instant changeWatermarkAt = Instant.EPOCH;
+    private volatile long changeWatermarkId;
+    private volatile Instant lastSnapshotAt = Instant.EPOCH;
+    private volatile Disposable refreshes;
+
+    public BookingStatistics(
+            BookingRepository bookingRepository,
+            BookingStatusChangeRepository statusChangeRepository,
+            BookingStatisticsSnapshotRepository snapshotRepository,
+            RoomInventoryIndex roomInventoryIndex,
+            @Value("${app.recommendations.statistics.refresh-interval:1m}") Duration refreshInterval,
+            @Value("${app.recommendations.statistics.snapshot-interval:15m}") Duration snapshotInterval
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.statusChangeRepository = statusChangeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.roomInventoryIndex = roomInventoryIndex;
+        this.refreshInterval = refreshInterval;
+        this.snapshotInterval = snapshotInterval;
+        this.ready = Mono.defer(this::restore)
+                .cache(ignored -> FOREVER, error -> Duration.ZERO, () -> FOREVER);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refreshes = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> ready.then(Mono.defer(this::refresh))
+                        .then(Mono.defer(this::snapshotIfDue))
+                        .onErrorResume(error -> {
+                            log.warn("Refreshing booking statistics failed", error);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable subscription = refreshes;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Aggregates for bookings like this one: the most specific segment with enough samples,
+     * falling back from room type and season to the hotel and then to all hotels.
+     */
+    public SegmentStats statsFor(BookingEntity booking) {
+        Season season = Season.of(booking.getCheckInDate());
+        SegmentStats fallback = SegmentStats.EMPTY;
+        for (SegmentKey key : keys(booking.getHotelId(), roomTypeOf(booking), season)) {
+            Segment segment = segments.get(key);
+            if (segment == null) {
+                continue;
+            }
+            SegmentStats stats = segment.stats();
+            if (stats.count() >= MIN_SEGMENT_SAMPLES) {
+                return stats;
+            }
+            if (stats.count() > fallback.count()) {
+                fallback = stats;
+            }
+        }
+        return fallback;
+    }
+
+    Mono<Void> awaitReady() {
+        return ready;
+    }
+
+    /**
+     * Counts a new booking. Bookings are created CREATED or CONFIRMED; a later cancellation arrives as a change.
+     */
+    void record(BookingEntity booking) {
+        apply(booking, 1);
+    }
+
+    private void apply(BookingEntity booking, int delta) {
+        int nights = nights(booking);
+        int leadBucket = leadBucket(leadDays(booking));
+        for (SegmentKey key : keys(booking.getHotelId(), roomTypeOf(booking), Season.of(booking.getCheckInDate()))) {
+            segments.computeIfAbsent(key, ignored -> new Segment()).add(nights, leadBucket, booking.isPrepaid(), delta);
+        }
+    }
+
+    private static int delta(BookingStatusChange change) {
+        return counts(change.newStatus()) - counts(change.oldStatus());
+    }
+
+    private static int counts(BookingStatus status) {
+        return status == BookingStatus.CANCELLED ? 0 : 1;
+    }
+
+    private Mono<Void> restore() {
+        return roomInventoryIndex.awaitReady()
+                .then(snapshotRepository.findById(SNAPSHOT_ID)
+                        // Snapshots without a change watermark predate the change log; rebuild instead.
+                        .filter(document -> document.getChangeWatermarkAt() != null)
+                        .doOnNext(this::load)
+                        .onErrorResume(error -> {
+                            log.warn("Loading booking statistics snapshot failed, rebuilding from bookings", error);
+                            return Mono.empty();
+                        }))
+                .then(Mono.defer(this::refresh));
+    }
+
+    /**
+     * Folds in bookings created before the settle cutoff, then status changes up to the same cutoff; every
+     * booking they touch was created earlier, so it has been counted already.
+     */
+    Mono<Void> refresh() {
+        Instant before = Instant.now().minus(SETTLE_DELAY);
+        return nextPage(before)
+                .expand(page -> page.size() < PAGE_SIZE ? Mono.empty() : nextPage(before))
+                .then(Mono.defer(() -> nextChangePage(before)
+                        .expand(page -> page.size() < PAGE_SIZE ? Mono.empty() : nextChangePage(before))
+                        .then()));
+    }
+
+    private Mono<List<BookingEntity>> nextPage(Instant before) {
+        return bookingRepository.findCreatedAfter(watermarkCreatedAt, watermarkBookingId, before, PAGE_SIZE)
+                .collectList()
+                .doOnNext(page -> {
+                    page.forEach(this::record);
+                    if (!page.isEmpty()) {
+                        BookingEntity last = page.get(page.size() - 1);
+                        watermarkCreatedAt = last.getCreatedAt();
+                        watermarkBookingId = last.getId();
+                    }
+                });
+    }
+
+    private Mono<List<BookingStatusChange>> nextChangePage(Instant before) {
+        return statusChangeRepository.findChangedAfter(changeWatermarkAt, changeWatermarkId, before, PAGE_SIZE)
+                .collectList()
+                .flatMap(page -> bookingsFor(page)
+                        .doOnNext(bookings -> {
+                            for (BookingStatusChange change : page) {
+                                BookingEntity booking = bookings.get(change.bookingId());
+                                int delta = delta(change);
+                                if (booking != null && delta != 0) {
+                                    apply(booking, delta);
+                                }
+                            }
+                            if (!page.isEmpty()) {
+                                BookingStatusChange last = page.get(page.size() - 1);
+                                changeWatermarkAt = last.changedAt();
+                                changeWatermarkId = last.id();
+                            }
+                        })
+                        .thenReturn(page));
+    }
+
+    /**
+     * Loads the bookings whose change moves them in or out of the aggregates; the rest need no lookup.
+     */
+    private Mono<Map<UUID, BookingEntity>> bookingsFor(List<BookingStatusChange> changes) {
+        Set<UUID> ids = changes.stream()
+                .filter(change -> delta(change) != 0)
+                .map(BookingStatusChange::bookingId)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return bookingRepository.findAllById(ids).collectMap(BookingEntity::getId);
+    }
+
+    Mono<Void> snapshotIfDue() {
+        Instant now = Instant.now();
+        if (now.isBefore(lastSnapshotAt.plus(snapshotInterval))) {
+            return Mono.empty();
+        }
+        BookingStatisticsSnapshotDocument document = new BookingStatisticsSnapshotDocument();
+        document.setId(SNAPSHOT_ID);
+        document.setWatermarkCreatedAt(watermarkCreatedAt);
+        document.setWatermarkBookingId(watermarkBookingId);
+        document.setChangeWatermarkAt(changeWatermarkAt);
+        document.setChangeWatermarkId(changeWatermarkId);
+        document.setTakenAt(now);
+        document.setSegments(segments.entrySet().stream()
+                .map(entry -> entry.getValue().toDocument(entry.getKey()))
+                .toList());
+        return snapshotRepository.save(document)
+                .doOnNext(saved -> lastSnapshotAt = now)
+                .then();
+    }
+
+    private void load(BookingStatisticsSnapshotDocument document) {
+        segments.clear();
+        for (BookingStatisticsSnapshotDocument.Segment stored : document.getSegments()) {
+            SegmentKey key = new SegmentKey(stored.hotelId(), stored.roomType(), Season.valueOf(stored.season()));
+            segments.put(key, Segment.fromDocument(stored));
+        }
+        watermarkCreatedAt = document.getWatermarkCreatedAt();
+        watermarkBookingId = document.getWatermarkBookingId();
+        changeWatermarkAt = document.getChangeWatermarkAt();
+        changeWatermarkId = document.getChangeWatermarkId();
+        lastSnapshotAt = document.getTakenAt();
+    }
+
+    private String roomTypeOf(BookingEntity booking) {
+        RoomInventoryIndex.IndexedRoom room = roomInventoryIndex.findRoom(booking.getHotelId(), booking.getRoomId());
+        return room == null || room.roomTypeKey().isEmpty() ? UNKNOWN_ROOM_TYPE : room.roomTypeKey();
+    }
+
+    private static List<SegmentKey> keys(UUID hotelId, String roomType, Season season) {
+        return List.of(
+                new SegmentKey(hotelId, roomType, season),
+                new SegmentKey(hotelId, ANY_ROOM_TYPE, season),
+                new SegmentKey(hotelId, ANY_ROOM_TYPE, Season.ALL_YEAR),
+                new SegmentKey(null, ANY_ROOM_TYPE, Season.ALL_YEAR)
+        );
+    }
+
+    static int nights(BookingEntity booking) {
+        long nights = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
+        return (int) Math.max(1, Math.min(nights, MAX_NIGHTS));
+    }
+
+    static long leadDays(BookingEntity booking) {
+        Instant createdAt = booking.getCreatedAt() == null ? Instant.now() : booking.getCreatedAt();
+        LocalDate bookedOn = LocalDate.ofInstant(createdAt, ZoneOffset.UTC);
+        return Math.max(0, ChronoUnit.DAYS.between(bookedOn, booking.getCheckInDate()));
+    }
+
+    static int leadBucket(long leadDays) {
+        for (int i = 0; i < LEAD_BOUNDS.length; i++) {
+            if (leadDays < LEAD_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return LEAD_BOUNDS.length;
+    }
+
+    public enum Season {
+        WINTER, SPRING, SUMMER, AUTUMN, ALL_YEAR;
+
+        static Season of(LocalDate date) {
+            return switch (date.getMonth()) {
+                case DECEMBER, JANUARY, FEBRUARY -> WINTER;
+                case MARCH, APRIL, MAY -> SPRING;
+                case JUNE, JULY, AUGUST -> SUMMER;
+                default -> AUTUMN;
+            };
+        }
+    }
+
+    private record SegmentKey(UUID hotelId, String roomType, Season season) {
+    }
+
+    /**
+     * Immutable copy of one segment; every query is a fixed-size histogram walk.
+     * {@code nights[i]} counts stays of {@code i} nights, the last bucket also holding longer stays.
+     */
+    public record SegmentStats(long count, long[] nights, long[] leadBuckets, long prepaid) {
+
+        static final SegmentStats EMPTY = new SegmentStats(0, new long[MAX_NIGHTS + 1], new long[LEAD_BOUNDS.length + 1], 0);
+
+        public double shareLongerThan(int stayNights) {
+            return share(sum(nights, Math.min(stayNights, MAX_NIGHTS) + 1, nights.length));
+        }
+
+        public double shareShorterThan(int stayNights) {
+            return share(sum(nights, 0, Math.min(stayNights, MAX_NIGHTS)));
+        }
+
+        public double shareBookedEarlierThan(long leadDays) {
+            return share(sum(leadBuckets, leadBucket(leadDays) + 1, leadBuckets.length));
+        }
+
+        public double prepaidRatio() {
+            return share(prepaid);
+        }
+
+        private double share(long part) {
+            return count == 0 ? 0.0 : (double) part / count;
+        }
+
+        private static long sum(long[] buckets, int from, int to) {
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                total += buckets[i];
+            }
+            return total;
+        }
+    }
+
+    private static final class Segment {
+
+        private long count;
+        private final long[] nights;
+        private final long[] leadBuckets;
+        private long prepaid;
+
+        Segment() {
+            this(0, new long[MAX_NIGHTS + 1], new long[LEAD_BOUNDS.length + 1], 0);
+        }
+
+        private Segment(long count, long[] nights, long[] leadBuckets, long prepaid) {
+            this.count = count;
+            this.nights = nights;
+            this.leadBuckets = leadBuckets;
+            this.prepaid = prepaid;
+        }
+
+        /**
+         * Adds ({@code delta} 1) or takes back ({@code delta} -1) one booking. A booking taken back after its room
+         * type or prepayment changed may land in other buckets than it was added to, so counts never go negative.
+         */
+        synchronized void add(int stayNights, int leadBucket, boolean prepaidBooking, int delta) {
+            count = Math.max(0, count + delta);
+            nights[stayNights] = Math.max(0, nights[stayNights] + delta);
+            leadBuckets[leadBucket] = Math.max(0, leadBuckets[leadBucket] + delta);
+            if (prepaidBooking) {
+                prepaid = Math.max(0, prepaid + delta);
+            }
+        }
+
+        synchronized SegmentStats stats() {
+            return new SegmentStats(count, nights.clone(), leadBuckets.clone(), prepaid);
+        }
+
+        synchronized BookingStatisticsSnapshotDocument.Segment toDocument(SegmentKey key) {
+            return new BookingStatisticsSnapshotDocument.Segment(
+                    key.hotelId(),
+                    key.roomType(),
+                    key.season().name(),
+                    count,
+                    nights.clone(),
+                    leadBuckets.clone(),
+                    prepaid
+            );
+        }
+
+        static Segment fromDocument(BookingStatisticsSnapshotDocument.Segment stored) {
+            return new Segment(
+                    stored.count(),
+                    Arrays.copyOf(stored.nights(), MAX_NIGHTS + 1),
+                    Arrays.copyOf(stored.leadBuckets(), LEAD_BOUNDS.length + 1),
+                    stored.prepaid()
+            );
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.autoguide.backend.service;
+
+import java.io.IOException;
+
+/**
+ * Serialized form of a cached value. The version byte is written in front of every payload
+ * so entries written by an older codec stay readable after the configured codec changes.
+ */
+public interface CacheCodec {
+
+    byte version();
+
+    String name();
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] payload, int offset, int length, Class<T> type) throws IOException;
+}
@@ -0,0 +1,71 @@
+package com.autoguide.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes cache payloads as {@code [version][body]} with the configured codec and reads any known version.
+ * Headerless JSON written before versioning was introduced is still accepted.
+ */
+@Component
+public class CacheCodecs {
+
+    static final byte JSON_VERSION = 1;
+    static final byte SMILE_VERSION = 2;
+
+    private static final byte LEGACY_JSON_START = '{';
+
+    private final CacheCodec[] byVersion = new CacheCodec[Byte.MAX_VALUE + 1];
+    private final CacheCodec json;
+    private final CacheCodec writer;
+
+    public CacheCodecs(ObjectMapper objectMapper, @Value("${app.cache.codec:smile}") String codecName) {
+        this.json = new JacksonCacheCodec(JSON_VERSION, "json", objectMapper);
+        CacheCodec smile = new JacksonCacheCodec(
+                SMILE_VERSION,
+                "smile",
+                objectMapper.copyWith(new SmileFactory()).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        );
+
+        for (CacheCodec codec : List.of(json, smile)) {
+            byVersion[codec.version()] = codec;
+        }
+
+        String requested = StringUtils.hasText(codecName) ? codecName.trim().toLowerCase(Locale.ROOT) : "smile";
+        this.writer = List.of(json, smile).stream()
+                .filter(codec -> codec.name().equals(requested))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown cache codec: " + codecName));
+    }
+
+    public byte[] write(Object value) throws IOException {
+        byte[] body = writer.encode(value);
+        byte[] payload = new byte[body.length + 1];
+        payload[0] = writer.version();
+        System.arraycopy(body, 0, payload, 1, body.length);
+        return payload;
+    }
+
+    /**
+     * Returns {@code null} for empty payloads or versions this node does not know.
+     */
+    public <T> T read(byte[] payload, Class<T> type) throws IOException {
+        if (payload == null || payload.length == 0) {
+            return null;
+        }
+        byte version = payload[0];
+        if (version == LEGACY_JSON_START) {
+            return json.decode(payload, 0, payload.length, type);
+        }
+        CacheCodec codec = version > 0 ? byVersion[version] : null;
+        return codec == null ? null : codec.decode(payload, 1, payload.length - 1, type);
+    }
+}
@@ -2,6 +2,7 @@ package com.autoguide.backend.service;
 
 import com.autoguide.backend.dto.CreateGuestRequest;
 import com.autoguide.backend.dto.GuestResponse;
+import com.autoguide.backend.dto.PageResponse;
 import com.autoguide.backend.exception.NotFoundException;
 import com.autoguide.backend.model.GuestEntity;
 import com.autoguide.backend.repository.r2dbc.GuestRepository;
@@ -10,6 +11,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -50,19 +53,42 @@ public class GuestService {
         return source.switchIfEmpty(Mono.error(new NotFoundException("Guest not found: " + id)));
     }
 
+    Mono<Map<UUID, GuestEntity>> getEntitiesByIds(Collection<UUID> ids, HotelAccessService.AccessScope scope) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        Flux<GuestEntity> source = scope.superAdmin()
+                ? guestRepository.findAllByIdIn(ids)
+                : guestRepository.findAllByHotelIdAndIdIn(scope.requiredHotelId(), ids);
+
+        return source.collectMap(GuestEntity::getId);
+    }
+
     public Mono<GuestResponse> getById(UUID id) {
         return getEntityById(id).map(this::toResponse);
     }
 
-    public Flux<GuestResponse> getAll() {
+    public Mono<PageResponse<GuestResponse>> getAll(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
         return hotelAccessService.currentScope()
-                .flatMapMany(scope -> {
-                    if (scope.superAdmin()) {
-                        return guestRepository.findAll();
-                    }
-                    return guestRepository.findAllByHotelId(scope.requiredHotelId());
-                })
-                .map(this::toResponse);
+                .flatMap(scope -> {
+                    KeysetCursor position = KeysetCursor.decode(cursor);
+                    Flux<GuestEntity> source = scope.superAdmin()
+                            ? guestRepository.findPage(position.createdAt(), position.id(), pageSize + 1)
+                            : guestRepository.findPageByHotelId(
+                                    scope.requiredHotelId(),
+                                    position.createdAt(),
+                                    position.id(),
+                                    pageSize + 1
+                            );
+
+                    return KeysetCursor.page(
+                            source.map(this::toResponse),
+                            pageSize,
+                            response -> new KeysetCursor(response.createdAt(), response.id())
+                    );
+                });
     }
 
     private GuestResponse toResponse(GuestEntity entity) {
@@ -0,0 +1,146 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.repository.r2dbc.LandingContentVersionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The anonymous home payload, serialized once per landing content version and held in memory as plain
+ * and gzip bytes with their ETags. A background check of the version counter rebuilds it after writes,
+ * so serving the page never touches the database.
+ */
+@Component
+public class HomePageSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(HomePageSnapshot.class);
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+    private final PublicContentService publicContentService;
+    private final LandingContentVersionRepository versionRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration checkInterval;
+    private final AtomicReference<Mono<Snapshot>> current = new AtomicReference<>();
+    private volatile Disposable versionChecks;
+
+    public HomePageSnapshot(
+            PublicContentService publicContentService,
+            LandingContentVersionRepository versionRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.public.home.version-check-interval:30s}") Duration checkInterval
+    ) {
+        this.publicContentService = publicContentService;
+        this.versionRepository = versionRepository;
+        this.objectMapper = objectMapper;
+        this.checkInterval = checkInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startVersionChecks() {
+        versionChecks = Flux.interval(Duration.ZERO, checkInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshIfStale().onErrorResume(error -> {
+                    log.warn("Checking home page content version failed", error);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopVersionChecks() {
+        Disposable subscription = versionChecks;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<Snapshot> current() {
+        Mono<Snapshot> snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        Mono<Snapshot> first = load().cache(ignored -> FOREVER, error -> Duration.ZERO, () -> Duration.ZERO);
+        return current.compareAndSet(null, first) ? first : current.get();
+    }
+
+    /**
+     * Rebuilds from the database now; the previous snapshot keeps being served until the new one is ready.
+     */
+    public Mono<Snapshot> rebuild() {
+        return load().doOnNext(snapshot -> current.set(Mono.just(snapshot)));
+    }
+
+    private Mono<Void> refreshIfStale() {
+        Mono<Snapshot> snapshot = current.get();
+        if (snapshot == null) {
+            return current().then();
+        }
+        return Mono.zip(snapshot, versionRepository.currentVersion())
+                .flatMap(tuple -> tuple.getT1().version() == tuple.getT2() ? Mono.empty() : rebuild())
+                .then();
+    }
+
+    private Mono<Snapshot> load() {
+        return versionRepository.currentVersion().flatMap(this::build);
+    }
+
+    private Mono<Snapshot> build(long version) {
+        return publicContentService.getHomeContent()
+                .map(response -> {
+                    try {
+                        byte[] json = objectMapper.writeValueAsBytes(response);
+                        String hash = sha256(json);
+                        return new Snapshot(version, json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Serializing home page content failed", e);
+                    }
+                });
+    }
+
+    private static byte[] gzip(byte[] payload) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(payload.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String sha256(byte[] payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * One serialized version; each representation has its own strong ETag.
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        public boolean matches(String ifNoneMatch) {
+            return ifNoneMatch.equals("*") || ifNoneMatch.equals(etag) || ifNoneMatch.equals(gzipEtag);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.autoguide.backend.service;
 import com.autoguide.backend.exception.NotFoundException;
 import com.autoguide.backend.model.HotelEntity;
 import com.autoguide.backend.repository.r2dbc.HotelRepository;
-import com.autoguide.backend.repository.r2dbc.HotelUserScopeRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -24,22 +23,34 @@ public class HotelAccessService {
 
     private final boolean securityEnabled;
     private final HotelRepository hotelRepository;
-    private final HotelUserScopeRepository hotelUserScopeRepository;
+    private final HotelScopeCache hotelScopeCache;
 
     public HotelAccessService(
             @Value("${app.security.enabled:true}") boolean securityEnabled,
             HotelRepository hotelRepository,
-            HotelUserScopeRepository hotelUserScopeRepository
+            HotelScopeCache hotelScopeCache
     ) {
         this.securityEnabled = securityEnabled;
         this.hotelRepository = hotelRepository;
-        this.hotelUserScopeRepository = hotelUserScopeRepository;
+        this.hotelScopeCache = hotelScopeCache;
     }
 
+    /**
+     * Scope of the current request, resolved at most once per request by {@link HotelScopeWebFilter}.
+     * Outside a web request it is resolved on every call.
+     */
     public Mono<AccessScope> currentScope() {
         if (!securityEnabled) {
             return Mono.just(AccessScope.unrestricted());
         }
+        return Mono.deferContextual(context -> context.<Mono<AccessScope>>getOrEmpty(AccessScope.class)
+                .orElseGet(this::resolveScope));
+    }
+
+    Mono<AccessScope> resolveScope() {
+        if (!securityEnabled) {
+            return Mono.just(AccessScope.unrestricted());
+        }
 
         return ReactiveSecurityContextHolder.getContext()
                 .map(SecurityContext::getAuthentication)
@@ -84,12 +95,12 @@ public class HotelAccessService {
             return Mono.just(AccessScope.superAdmin(username));
         }
 
-        return hotelUserScopeRepository.findById(username)
+        return hotelScopeCache.hotelOf(username)
                 .switchIfEmpty(Mono.error(new ResponseStatusException(
                         HttpStatus.FORBIDDEN,
                         "User is not assigned to any hotel: " + username
                 )))
-                .map(scope -> AccessScope.scoped(username, scope.getHotelId()));
+                .map(hotelId -> AccessScope.scoped(username, hotelId));
     }
 
     private Mono<UUID> resolveRequestedOrDefaultHotel(UUID requestedHotelId) {
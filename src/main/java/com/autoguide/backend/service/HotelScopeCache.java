@@ -0,0 +1,134 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.HotelUserScopeEntity;
+import com.autoguide.backend.repository.r2dbc.HotelUserScopeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded TTL cache of username to assigned hotel, in front of {@code hotel_user_scopes}.
+ * A trigger on the table publishes changes over PostgreSQL LISTEN/NOTIFY so entries are dropped as soon as
+ * a scope is reassigned or revoked; the TTL only bounds staleness while the listener is reconnecting.
+ */
+@Component
+public class HotelScopeCache {
+
+    static final String CHANGE_CHANNEL = "hotel_user_scopes_changed";
+
+    private static final Logger log = LoggerFactory.getLogger(HotelScopeCache.class);
+
+    private final HotelUserScopeRepository hotelUserScopeRepository;
+    private final ConnectionFactory connectionFactory;
+    private final Cache<String, UUID> hotelsByUsername;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Disposable changeSubscription;
+
+    public HotelScopeCache(
+            HotelUserScopeRepository hotelUserScopeRepository,
+            ConnectionFactory connectionFactory,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.scope-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.scope-cache.ttl:5m}") Duration ttl
+    ) {
+        this.hotelUserScopeRepository = hotelUserScopeRepository;
+        this.connectionFactory = connectionFactory;
+        this.hotelsByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, hotelsByUsername, "hotel.scope");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToChanges() {
+        changeSubscription = Flux.usingWhen(Mono.from(connectionFactory.create()), this::listen, Connection::close)
+                .doOnNext(this::onChange)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .filter(error -> !(error instanceof UnsupportedOperationException)))
+                .subscribe(null, error -> log.warn("Hotel scope change listener stopped", error));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        Disposable subscription = changeSubscription;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Hotel assigned to an already normalized username, or empty when the user has no scope.
+     */
+    public Mono<UUID> hotelOf(String username) {
+        UUID cached = hotelsByUsername.getIfPresent(username);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long loadedAt = generation.get();
+        return hotelUserScopeRepository.findById(username)
+                .map(HotelUserScopeEntity::getHotelId)
+                .doOnNext(hotelId -> {
+                    if (generation.get() == loadedAt) {
+                        hotelsByUsername.put(username, hotelId);
+                    }
+                });
+    }
+
+    public void evict(String username) {
+        generation.incrementAndGet();
+        hotelsByUsername.invalidate(username);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        hotelsByUsername.invalidateAll();
+    }
+
+    /**
+     * Subscribes to notifications before issuing LISTEN and clears the cache once LISTEN is active,
+     * so changes made while the listener was down are not served stale.
+     */
+    private Flux<String> listen(Connection connection) {
+        PostgresqlConnection postgres = PostgresConnections.unwrap(connection, "Hotel scope change notifications");
+        Mono<Void> listening = Flux.from(postgres.createStatement("LISTEN " + CHANGE_CHANNEL).execute())
+                .flatMap(Result::getRowsUpdated)
+                .then(Mono.fromRunnable(this::evictAll));
+        return Flux.merge(
+                postgres.getNotifications().map(notification ->
+                        notification.getParameter() == null ? "" : notification.getParameter()),
+                listening.then(Mono.<String>empty())
+        );
+    }
+
+    private void onChange(String username) {
+        if (username.isBlank()) {
+            evictAll();
+        } else {
+            evict(username.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.autoguide.backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts a memoized scope lookup into the Reactor context, so every {@link HotelAccessService#currentScope()}
+ * call within a request shares one resolution. Requests that never ask for a scope never resolve it.
+ */
+@Component
+public class HotelScopeWebFilter implements WebFilter {
+
+    private final HotelAccessService hotelAccessService;
+
+    public HotelScopeWebFilter(HotelAccessService hotelAccessService) {
+        this.hotelAccessService = hotelAccessService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Mono<HotelAccessService.AccessScope> scope = hotelAccessService.resolveScope().cache();
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(HotelAccessService.AccessScope.class, scope));
+    }
+}
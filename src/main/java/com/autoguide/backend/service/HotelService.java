@@ -4,6 +4,7 @@ import com.autoguide.backend.dto.CreateHotelRequest;
 import com.autoguide.backend.dto.HotelResponse;
 import com.autoguide.backend.dto.UpdateHotelRequest;
 import com.autoguide.backend.exception.NotFoundException;
+import com.autoguide.backend.model.HotelEntity;
 import com.autoguide.backend.repository.r2dbc.BookingRepository;
 import com.autoguide.backend.repository.r2dbc.GuestRepository;
 import com.autoguide.backend.repository.r2dbc.HotelRepository;
@@ -27,6 +28,8 @@ public class HotelService {
     private final BookingRepository bookingRepository;
     private final HotelUserScopeRepository hotelUserScopeRepository;
     private final HotelAccessService hotelAccessService;
+    private final RoomInventoryIndex roomInventoryIndex;
+    private final PublicResponseCache publicResponseCache;
 
     public HotelService(
             HotelRepository hotelRepository,
@@ -34,7 +37,9 @@ public class HotelService {
             GuestRepository guestRepository,
             BookingRepository bookingRepository,
             HotelUserScopeRepository hotelUserScopeRepository,
-            HotelAccessService hotelAccessService
+            HotelAccessService hotelAccessService,
+            RoomInventoryIndex roomInventoryIndex,
+            PublicResponseCache publicResponseCache
     ) {
         this.hotelRepository = hotelRepository;
         this.roomRepository = roomRepository;
@@ -42,6 +47,8 @@ public class HotelService {
         this.bookingRepository = bookingRepository;
         this.hotelUserScopeRepository = hotelUserScopeRepository;
         this.hotelAccessService = hotelAccessService;
+        this.roomInventoryIndex = roomInventoryIndex;
+        this.publicResponseCache = publicResponseCache;
     }
 
     public Flux<HotelResponse> getAll() {
@@ -66,7 +73,9 @@ public class HotelService {
                     entity.setAddressLine(normalize(request.addressLine()));
                     entity.setImageUrl(normalizeNullable(request.imageUrl()));
                     entity.setCreatedAt(Instant.now());
-                    return hotelRepository.save(entity).map(this::toResponse);
+                    return hotelRepository.save(entity)
+                            .doOnNext(this::onHotelChanged)
+                            .map(this::toResponse);
                 }));
     }
 
@@ -81,7 +90,9 @@ public class HotelService {
                     entity.setCountry(normalize(request.country()));
                     entity.setAddressLine(normalize(request.addressLine()));
                     entity.setImageUrl(normalizeNullable(request.imageUrl()));
-                    return hotelRepository.save(entity).map(this::toResponse);
+                    return hotelRepository.save(entity)
+                            .doOnNext(this::onHotelChanged)
+                            .map(this::toResponse);
                 });
     }
 
@@ -89,7 +100,17 @@ public class HotelService {
         return requireSuperAdmin()
                 .then(hotelRepository.findById(id)
                         .switchIfEmpty(Mono.error(new NotFoundException("Hotel not found: " + id))))
-                .flatMap(entity -> assertNoDependentData(id).then(hotelRepository.delete(entity)));
+                .flatMap(entity -> assertNoDependentData(id)
+                        .then(hotelRepository.delete(entity))
+                        .then(Mono.fromRunnable(() -> {
+                            roomInventoryIndex.removeHotel(id);
+                            publicResponseCache.invalidate(PublicResponseCache.HOTELS_PATH);
+                        })));
+    }
+
+    private void onHotelChanged(HotelEntity entity) {
+        roomInventoryIndex.putHotel(entity);
+        publicResponseCache.invalidate(PublicResponseCache.HOTELS_PATH);
     }
 
     private Mono<Void> requireSuperAdmin() {
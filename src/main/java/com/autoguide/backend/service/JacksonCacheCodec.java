@@ -0,0 +1,38 @@
+package com.autoguide.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+final class JacksonCacheCodec implements CacheCodec {
+
+    private final byte version;
+    private final String name;
+    private final ObjectMapper mapper;
+
+    JacksonCacheCodec(byte version, String name, ObjectMapper mapper) {
+        this.version = version;
+        this.name = name;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public byte version() {
+        return version;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] payload, int offset, int length, Class<T> type) throws IOException {
+        return mapper.readValue(payload, offset, length, type);
+    }
+}
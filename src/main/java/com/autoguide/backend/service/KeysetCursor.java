@@ -0,0 +1,69 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.PageResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Opaque position in a listing ordered by {@code (created_at DESC, id DESC)}.
+ * The first page starts from a sentinel above every stored row.
+ */
+record KeysetCursor(Instant createdAt, UUID id) {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private static final KeysetCursor START = new KeysetCursor(
+            Instant.parse("9999-12-31T23:59:59Z"),
+            new UUID(-1L, -1L)
+    );
+
+    static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+
+    /**
+     * Expects {@code rows} fetched with {@code limit + 1} so the extra row signals a following page.
+     */
+    static <T> Mono<PageResponse<T>> page(Flux<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        return rows.collectList()
+                .map(items -> {
+                    if (items.size() <= limit) {
+                        return new PageResponse<>(items, null);
+                    }
+                    List<T> pageItems = List.copyOf(items.subList(0, limit));
+                    return new PageResponse<>(pageItems, cursorOf.apply(pageItems.get(limit - 1)).encode());
+                });
+    }
+
+    String encode() {
+        String raw = createdAt.getEpochSecond() + "|" + createdAt.getNano() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,26 @@
+package com.autoguide.backend.service;
+
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+
+/**
+ * Reaches the driver connection behind pool wrappers, for LISTEN/NOTIFY subscribers.
+ */
+final class PostgresConnections {
+
+    private PostgresConnections() {
+    }
+
+    static PostgresqlConnection unwrap(Connection connection, String feature) {
+        Object candidate = connection;
+        while (!(candidate instanceof PostgresqlConnection) && candidate instanceof Wrapped<?> wrapped
+                && wrapped.unwrap() != candidate) {
+            candidate = wrapped.unwrap();
+        }
+        if (candidate instanceof PostgresqlConnection postgres) {
+            return postgres;
+        }
+        throw new UnsupportedOperationException(feature + " require a PostgreSQL connection");
+    }
+}
@@ -5,16 +5,13 @@ import com.autoguide.backend.dto.PublicHomeResponse;
 import com.autoguide.backend.dto.PublicOfferResponse;
 import com.autoguide.backend.dto.PublicRoomHighlightResponse;
 import com.autoguide.backend.dto.HotelResponse;
-import com.autoguide.backend.model.RoomEntity;
 import com.autoguide.backend.repository.r2dbc.HotelRepository;
 import com.autoguide.backend.repository.r2dbc.LandingAmenityRepository;
 import com.autoguide.backend.repository.r2dbc.LandingOfferRepository;
-import com.autoguide.backend.repository.r2dbc.RoomRepository;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,21 +26,18 @@ public class PublicContentService {
     private final LandingAmenityRepository landingAmenityRepository;
     private final LandingOfferRepository landingOfferRepository;
     private final HotelRepository hotelRepository;
-    private final RoomRepository roomRepository;
-    private final RoomPresentationResolver roomPresentationResolver;
+    private final RoomHighlights roomHighlights;
 
     public PublicContentService(
             LandingAmenityRepository landingAmenityRepository,
             LandingOfferRepository landingOfferRepository,
             HotelRepository hotelRepository,
-            RoomRepository roomRepository,
-            RoomPresentationResolver roomPresentationResolver
+            RoomHighlights roomHighlights
     ) {
         this.landingAmenityRepository = landingAmenityRepository;
         this.landingOfferRepository = landingOfferRepository;
         this.hotelRepository = hotelRepository;
-        this.roomRepository = roomRepository;
-        this.roomPresentationResolver = roomPresentationResolver;
+        this.roomHighlights = roomHighlights;
     }
 
     public Mono<PublicHomeResponse> getHomeContent() {
@@ -77,15 +71,8 @@ public class PublicContentService {
     }
 
     public Flux<PublicRoomHighlightResponse> getRoomHighlights(int limit, UUID hotelId) {
-        int safeLimit = Math.min(Math.max(limit, 1), 24);
-        Flux<RoomEntity> source = hotelId == null
-                ? roomRepository.findAll()
-                : roomRepository.findAllByHotelId(hotelId);
-
-        return source
-                .sort(Comparator.comparing(RoomEntity::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-                .take(safeLimit)
-                .map(this::toRoomHighlight);
+        int safeLimit = Math.min(Math.max(limit, 1), RoomHighlights.MAX_LIMIT);
+        return roomHighlights.latest(hotelId, safeLimit);
     }
 
     public Flux<HotelResponse> getPublicHotels() {
@@ -101,16 +88,4 @@ public class PublicContentService {
                         entity.getCreatedAt()
                 ));
     }
-
-    private PublicRoomHighlightResponse toRoomHighlight(RoomEntity entity) {
-        return new PublicRoomHighlightResponse(
-                entity.getId(),
-                entity.getHotelId(),
-                entity.getRoomNumber(),
-                entity.getRoomType(),
-                entity.getNightlyRate(),
-                roomPresentationResolver.resolveImageUrl(entity.getImageUrl(), entity.getRoomType()),
-                roomPresentationResolver.resolveShortDescription(entity.getShortDescription(), entity.getRoomType())
-        );
-    }
 }
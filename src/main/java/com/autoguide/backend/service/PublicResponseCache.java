@@ -0,0 +1,139 @@
+package com.autoguide.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Serialized bodies of anonymous GET endpoints, keyed by path and normalized query, bounded by total bytes.
+ * Filled and served by {@link PublicResponseCacheFilter}; write services drop entries under the paths they affect.
+ */
+@Component
+public class PublicResponseCache {
+
+    public static final String HOTELS_PATH = "/api/v1/public/hotels";
+    public static final String ROOM_HIGHLIGHTS_PATH = "/api/v1/public/rooms/highlights";
+
+    private final List<PathPattern> routes;
+    private final Duration ttl;
+    private final Cache<String, CachedResponse> responses;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public PublicResponseCache(
+            @Value("${app.public.response-cache.routes:" + HOTELS_PATH + "," + ROOM_HIGHLIGHTS_PATH + "}") List<String> routes,
+            @Value("${app.public.response-cache.ttl:60s}") Duration ttl,
+            @Value("${app.public.response-cache.max-bytes:16777216}") long maxBytes,
+            MeterRegistry meterRegistry
+    ) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routes = routes.stream().map(String::trim).filter(route -> !route.isEmpty()).map(parser::parse).toList();
+        this.ttl = ttl;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfterWrite(ttl)
+                .build();
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.notModified = requests(meterRegistry, "not_modified");
+    }
+
+    public boolean isCached(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        return routes.stream().anyMatch(route -> route.matches(container));
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    /**
+     * Drops every entry whose path starts with the given prefix.
+     */
+    public void invalidate(String pathPrefix) {
+        generation.incrementAndGet();
+        responses.asMap().keySet().removeIf(key -> key.startsWith(pathPrefix));
+    }
+
+    CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores the response unless an invalidation happened after it started being computed.
+     */
+    void put(String key, CachedResponse response, long startedAt) {
+        if (generation.get() == startedAt) {
+            responses.put(key, response);
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    static String key(String path, MultiValueMap<String, String> query) {
+        if (query.isEmpty()) {
+            return path;
+        }
+        Map<String, List<String>> sorted = new TreeMap<>();
+        query.forEach((name, values) -> sorted.put(name, values.stream().sorted().toList()));
+        return path + "?" + sorted.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream().map(value -> entry.getKey() + "=" + value))
+                .collect(Collectors.joining("&"));
+    }
+
+    static String etag(byte[] body) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("http.public.response.cache.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    record CachedResponse(byte[] body, MediaType contentType, String etag) {
+
+        boolean matches(List<String> ifNoneMatch) {
+            return ifNoneMatch.stream().anyMatch(value -> value.equals("*") || value.equals(etag));
+        }
+    }
+}
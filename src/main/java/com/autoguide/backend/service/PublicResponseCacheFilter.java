@@ -0,0 +1,93 @@
+package com.autoguide.backend.service;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers configured anonymous GET routes from {@link PublicResponseCache}, with a strong ETag and 304s for
+ * matching {@code If-None-Match}. On a miss the serialized body is captured on its way out and stored.
+ */
+@Component
+public class PublicResponseCacheFilter implements WebFilter {
+
+    private final PublicResponseCache publicResponseCache;
+
+    public PublicResponseCacheFilter(PublicResponseCache publicResponseCache) {
+        this.publicResponseCache = publicResponseCache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (request.getMethod() != HttpMethod.GET || !publicResponseCache.isCached(path)) {
+            return chain.filter(exchange);
+        }
+
+        String key = PublicResponseCache.key(path, request.getQueryParams());
+        PublicResponseCache.CachedResponse cached = publicResponseCache.get(key);
+        if (cached != null) {
+            publicResponseCache.recordHit();
+            return write(exchange, exchange.getResponse(), cached);
+        }
+        publicResponseCache.recordMiss();
+
+        long startedAt = publicResponseCache.generation();
+        ServerHttpResponse original = exchange.getResponse();
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status != null && status.value() != HttpStatus.OK.value()) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    PublicResponseCache.CachedResponse response = new PublicResponseCache.CachedResponse(
+                            bytes,
+                            getHeaders().getContentType(),
+                            PublicResponseCache.etag(bytes)
+                    );
+                    publicResponseCache.put(key, response, startedAt);
+                    return write(exchange, getDelegate(), response);
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ServerHttpResponse response, PublicResponseCache.CachedResponse cached) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(CacheControl.maxAge(publicResponseCache.ttl()).cachePublic());
+        if (cached.matches(exchange.getRequest().getHeaders().getIfNoneMatch())) {
+            publicResponseCache.recordNotModified();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+}
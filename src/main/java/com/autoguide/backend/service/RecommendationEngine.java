@@ -0,0 +1,127 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Scores a fixed catalog of upsells against a booking using the aggregates of similar bookings.
+ * Confidence is shrunk towards zero for thinly populated segments.
+ */
+@Component
+public class RecommendationEngine {
+
+    public static final String MODEL = "booking-stats-v1";
+
+    private static final double PRIOR_SAMPLES = 20.0;
+    private static final double MIN_CONFIDENCE = 0.05;
+    private static final double MAX_CONFIDENCE = 0.95;
+
+    private final BookingStatistics bookingStatistics;
+
+    public RecommendationEngine(BookingStatistics bookingStatistics) {
+        this.bookingStatistics = bookingStatistics;
+    }
+
+    public Recommendation recommend(BookingEntity booking) {
+        BookingStatistics.SegmentStats stats = bookingStatistics.statsFor(booking);
+        String stay = " for stay from " + booking.getCheckInDate() + " to " + booking.getCheckOutDate();
+        if (stats.count() == 0) {
+            return new Recommendation("Offer breakfast bundle and airport pickup" + stay, MIN_CONFIDENCE);
+        }
+
+        int nights = BookingStatistics.nights(booking);
+        long leadDays = BookingStatistics.leadDays(booking);
+        Upsell best = null;
+        double bestScore = -1;
+        for (Upsell upsell : Upsell.values()) {
+            double score = upsell.score(stats, nights, leadDays, booking.isPrepaid());
+            if (score > bestScore) {
+                best = upsell;
+                bestScore = score;
+            }
+        }
+
+        double weight = stats.count() / (stats.count() + PRIOR_SAMPLES);
+        double confidence = Math.max(MIN_CONFIDENCE, Math.min(MAX_CONFIDENCE, bestScore * weight));
+        return new Recommendation(
+                best.describe(stats, nights, leadDays) + stay,
+                Math.round(confidence * 100) / 100.0
+        );
+    }
+
+    public record Recommendation(String suggestion, double confidence) {
+    }
+
+    private enum Upsell {
+        EXTRA_NIGHT {
+            @Override
+            double score(BookingStatistics.SegmentStats stats, int nights, long leadDays, boolean prepaid) {
+                return stats.shareLongerThan(nights);
+            }
+
+            @Override
+            String describe(BookingStatistics.SegmentStats stats, int nights, long leadDays) {
+                return "Offer an extra night: " + percent(stats.shareLongerThan(nights))
+                        + " of similar guests stay longer than " + nights + " night(s)";
+            }
+        },
+        BREAKFAST_BUNDLE {
+            @Override
+            double score(BookingStatistics.SegmentStats stats, int nights, long leadDays, boolean prepaid) {
+                return nights < 3 ? 0.0 : stats.shareShorterThan(nights);
+            }
+
+            @Override
+            String describe(BookingStatistics.SegmentStats stats, int nights, long leadDays) {
+                return "Offer a breakfast bundle: this stay is longer than "
+                        + percent(stats.shareShorterThan(nights)) + " of similar stays";
+            }
+        },
+        LATE_CHECKOUT {
+            @Override
+            double score(BookingStatistics.SegmentStats stats, int nights, long leadDays, boolean prepaid) {
+                return nights == 1 ? 0.5 * (1.0 - stats.shareLongerThan(1)) : 0.0;
+            }
+
+            @Override
+            String describe(BookingStatistics.SegmentStats stats, int nights, long leadDays) {
+                return "Offer late checkout: " + percent(1.0 - stats.shareLongerThan(1))
+                        + " of similar guests stay a single night";
+            }
+        },
+        AIRPORT_PICKUP {
+            @Override
+            double score(BookingStatistics.SegmentStats stats, int nights, long leadDays, boolean prepaid) {
+                return stats.shareBookedEarlierThan(leadDays);
+            }
+
+            @Override
+            String describe(BookingStatistics.SegmentStats stats, int nights, long leadDays) {
+                return "Offer airport pickup and early check-in: booked " + leadDays
+                        + " day(s) ahead, later than " + percent(stats.shareBookedEarlierThan(leadDays))
+                        + " of similar guests";
+            }
+        },
+        PREPAY_DISCOUNT {
+            @Override
+            double score(BookingStatistics.SegmentStats stats, int nights, long leadDays, boolean prepaid) {
+                return prepaid ? 0.0 : stats.prepaidRatio();
+            }
+
+            @Override
+            String describe(BookingStatistics.SegmentStats stats, int nights, long leadDays) {
+                return "Offer a prepayment discount: " + percent(stats.prepaidRatio()) + " of similar guests prepay";
+            }
+        };
+
+        abstract double score(BookingStatistics.SegmentStats stats, int nights, long leadDays, boolean prepaid);
+
+        abstract String describe(BookingStatistics.SegmentStats stats, int nights, long leadDays);
+
+        private static String percent(double share) {
+            return String.format(Locale.ROOT, "%.0f%%", share * 100);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEventType;
+import com.autoguide.backend.model.BookingOutboxEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class RecommendationEventHandler implements BookingEventHandler {
+
+    private final RecommendationPipeline recommendationPipeline;
+
+    public RecommendationEventHandler(RecommendationPipeline recommendationPipeline) {
+        this.recommendationPipeline = recommendationPipeline;
+    }
+
+    @Override
+    public Set<BookingEventType> eventTypes() {
+        return Set.of(BookingEventType.BOOKING_CREATED);
+    }
+
+    @Override
+    public Mono<Void> handle(List<BookingOutboxEvent> events) {
+        return recommendationPipeline.process(events.stream().map(BookingOutboxEvent::bookingId).distinct().toList());
+    }
+}
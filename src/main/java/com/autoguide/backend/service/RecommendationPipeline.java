@@ -0,0 +1,168 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes initial booking recommendations to Mongo in batches, off the booking request path.
+ * Bookings are handed over after commit and wait in a bounded in-memory queue; durability comes from the
+ * {@code BOOKING_CREATED} outbox event, whose handler joins the job already queued here and keeps the event
+ * until the write succeeds. Jobs that overflow the queue or fail are retried by the outbox relay.
+ */
+@Component
+public class RecommendationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationPipeline.class);
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(200);
+    private static final Duration PROCESS_TIMEOUT = Duration.ofSeconds(30);
+
+    private final BookingRepository bookingRepository;
+    private final BookingRecommendationService bookingRecommendationService;
+    private final int batchSize;
+    private final Sinks.Many<Job> queue;
+    private final Map<UUID, Job> inFlight = new ConcurrentHashMap<>();
+    private final Timer lag;
+    private final Counter overflows;
+    private final Counter failures;
+    private volatile Disposable subscription;
+
+    public RecommendationPipeline(
+            BookingRepository bookingRepository,
+            BookingRecommendationService bookingRecommendationService,
+            MeterRegistry meterRegistry,
+            @Value("${app.recommendations.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.recommendations.batch-size:100}") int batchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.bookingRecommendationService = bookingRecommendationService;
+        this.batchSize = Math.max(batchSize, 1);
+        this.queue = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)));
+
+        Gauge.builder("recommendation.queue.depth", inFlight, Map::size).register(meterRegistry);
+        this.lag = Timer.builder("recommendation.pipeline.lag").register(meterRegistry);
+        this.overflows = Counter.builder("recommendation.queue.overflows").register(meterRegistry);
+        this.failures = Counter.builder("recommendation.pipeline.failures").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = queue.asFlux()
+                .bufferTimeout(batchSize, FLUSH_INTERVAL, true)
+                .concatMap(this::write, 1)
+                .subscribe(null, error -> log.error("Recommendation pipeline stopped", error));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Queues committed bookings without waiting for them; the outbox covers anything dropped here.
+     */
+    public void submit(Collection<UUID> bookingIds) {
+        enqueue(bookingIds);
+    }
+
+    /**
+     * Queues the bookings, or joins jobs already queued for them, and completes once all are written.
+     * Fails when the queue is full, the write fails or it takes too long, so the caller can retry later.
+     */
+    public Mono<Void> process(Collection<UUID> bookingIds) {
+        return Mono.defer(() -> Mono.when(enqueue(bookingIds))).timeout(PROCESS_TIMEOUT);
+    }
+
+    private List<Mono<Void>> enqueue(Collection<UUID> bookingIds) {
+        List<Mono<Void>> completions = new ArrayList<>(bookingIds.size());
+        for (UUID bookingId : bookingIds) {
+            Job job = new Job(bookingId, Sinks.empty());
+            Job queued = inFlight.putIfAbsent(bookingId, job);
+            if (queued != null) {
+                completions.add(queued.done().asMono());
+            } else if (offer(job)) {
+                completions.add(job.done().asMono());
+            } else {
+                inFlight.remove(bookingId, job);
+                overflows.increment();
+                completions.add(Mono.error(new IllegalStateException("Recommendation queue is full")));
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Request threads emit concurrently; the sink rejects overlapping emits as non-serialized rather than
+     * queueing them, so those are retried and only a full queue counts as an overflow.
+     */
+    private boolean offer(Job job) {
+        Sinks.EmitResult result;
+        while ((result = queue.tryEmitNext(job)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+        return result.isSuccess();
+    }
+
+    private Mono<Void> write(List<Job> jobs) {
+        List<UUID> bookingIds = jobs.stream().map(Job::bookingId).toList();
+        return bookingRepository.findAllById(bookingIds)
+                .collectList()
+                .flatMap(bookings -> bookingRecommendationService.generateInitialRecommendations(bookings)
+                        .then(Mono.fromRunnable(() -> recordLag(bookings))))
+                .then(Mono.fromRunnable(() -> jobs.forEach(job -> finish(job, null))))
+                .onErrorResume(error -> {
+                    failures.increment();
+                    log.warn("Writing {} recommendations failed, leaving them to the outbox", jobs.size(), error);
+                    jobs.forEach(job -> finish(job, error));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void finish(Job job, Throwable error) {
+        inFlight.remove(job.bookingId(), job);
+        if (error == null) {
+            job.done().tryEmitEmpty();
+        } else {
+            job.done().tryEmitError(error);
+        }
+    }
+
+    private void recordLag(List<BookingEntity> bookings) {
+        Instant now = Instant.now();
+        for (BookingEntity booking : bookings) {
+            if (booking.getCreatedAt() != null) {
+                lag.record(Duration.between(booking.getCreatedAt(), now));
+            }
+        }
+    }
+
+    private record Job(UUID bookingId, Sinks.Empty<Void> done) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.autoguide.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs booking writes for the same room one at a time on this node without a global lock.
+ * Rooms are hashed onto a fixed number of stripes; each stripe chains its pending actions.
+ */
+@Component
+public class RoomBookingSerializer {
+
+    private final AtomicReferenceArray<Mono<Void>> tails;
+    private final int mask;
+
+    public RoomBookingSerializer(@Value("${app.booking.lock-stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes, 1) - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.tails = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            tails.set(i, Mono.empty());
+        }
+    }
+
+    public <T> Mono<T> serialize(UUID roomId, Mono<T> action) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Mono<Void> previous = tails.getAndSet(stripe(roomId), done.asMono());
+
+            return previous
+                    .then(action)
+                    .doFinally(signal -> done.tryEmitEmpty());
+        });
+    }
+
+    private int stripe(UUID roomId) {
+        int hash = roomId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,75 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.PublicRoomHighlightResponse;
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Newest rooms per hotel and across all hotels, precomputed up to {@link #MAX_LIMIT} entries.
+ * {@link RoomService} drops the affected lists on every room write; the TTL covers writes made by other replicas.
+ */
+@Component
+public class RoomHighlights {
+
+    static final int MAX_LIMIT = 24;
+
+    private static final UUID ALL_HOTELS = new UUID(0, 0);
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final RoomRepository roomRepository;
+    private final RoomPresentationResolver roomPresentationResolver;
+    private final Cache<UUID, Mono<List<PublicRoomHighlightResponse>>> latestByHotel = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(TTL)
+            .build();
+
+    public RoomHighlights(RoomRepository roomRepository, RoomPresentationResolver roomPresentationResolver) {
+        this.roomRepository = roomRepository;
+        this.roomPresentationResolver = roomPresentationResolver;
+    }
+
+    public Flux<PublicRoomHighlightResponse> latest(UUID hotelId, int limit) {
+        UUID key = hotelId == null ? ALL_HOTELS : hotelId;
+        return latestByHotel.get(key, this::load)
+                .flatMapIterable(highlights -> highlights.subList(0, Math.min(limit, highlights.size())));
+    }
+
+    public void invalidate(UUID hotelId) {
+        latestByHotel.invalidate(ALL_HOTELS);
+        if (hotelId != null) {
+            latestByHotel.invalidate(hotelId);
+        }
+    }
+
+    private Mono<List<PublicRoomHighlightResponse>> load(UUID key) {
+        Flux<RoomEntity> source = ALL_HOTELS.equals(key)
+                ? roomRepository.findLatest(MAX_LIMIT)
+                : roomRepository.findLatestByHotelId(key, MAX_LIMIT);
+
+        return source.map(this::toHighlight)
+                .collectList()
+                .cache(ignored -> TTL, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private PublicRoomHighlightResponse toHighlight(RoomEntity entity) {
+        return new PublicRoomHighlightResponse(
+                entity.getId(),
+                entity.getHotelId(),
+                entity.getRoomNumber(),
+                entity.getRoomType(),
+                entity.getNightlyRate(),
+                roomPresentationResolver.resolveImageUrl(entity.getImageUrl(), entity.getRoomType()),
+                entity.getImageSrcset(),
+                roomPresentationResolver.resolveShortDescription(entity.getShortDescription(), entity.getRoomType())
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.repository.r2dbc.RoomImageBlobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically removes room image blobs that no room has referenced for at least the grace period.
+ * The grace period covers uploads whose room has not been saved yet.
+ */
+@Component
+public class RoomImageBlobCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomImageBlobCollector.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final RoomImageBlobRepository roomImageBlobRepository;
+    private final RoomImageStorageService roomImageStorageService;
+    private final Duration interval;
+    private final Duration gracePeriod;
+    private volatile Disposable sweeps;
+
+    public RoomImageBlobCollector(
+            RoomImageBlobRepository roomImageBlobRepository,
+            RoomImageStorageService roomImageStorageService,
+            @Value("${app.uploads.gc.interval:1h}") Duration interval,
+            @Value("${app.uploads.gc.grace-period:1h}") Duration gracePeriod
+    ) {
+        this.roomImageBlobRepository = roomImageBlobRepository;
+        this.roomImageStorageService = roomImageStorageService;
+        this.interval = interval;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeps() {
+        sweeps = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweep().onErrorResume(error -> {
+                    log.warn("Collecting unreferenced room images failed", error);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopSweeps() {
+        Disposable subscription = sweeps;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Deletes unreferenced blobs in batches and returns how many files were removed.
+     */
+    public Mono<Long> sweep() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        return sweepBatch(cutoff)
+                .expand(deleted -> deleted == BATCH_SIZE ? sweepBatch(cutoff) : Mono.empty())
+                .reduce(0L, Long::sum)
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.info("Removed {} unreferenced room images", deleted);
+                    }
+                });
+    }
+
+    private Mono<Long> sweepBatch(Instant cutoff) {
+        return roomImageBlobRepository.deleteUnreferenced(cutoff, BATCH_SIZE)
+                .concatMap(this::deleteFile)
+                .count();
+    }
+
+    private Mono<String> deleteFile(String fileName) {
+        return roomImageStorageService.deleteUnregisteredBlob(fileName)
+                .filter(deleted -> deleted)
+                .map(deleted -> fileName);
+    }
+}
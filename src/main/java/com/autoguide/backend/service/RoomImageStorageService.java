@@ -1,32 +1,56 @@
 package com.autoguide.backend.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.autoguide.backend.repository.r2dbc.RoomImageBlobRepository;
+import com.autoguide.backend.storage.ObjectStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Stores room image uploads under the SHA-256 of their content, computed while the upload streams to
+ * {@link ObjectStorage}, so identical photos share one object. References are counted in {@code room_image_blobs}.
+ */
 @Service
 public class RoomImageStorageService {
 
-    private final Path roomUploadsDirectory;
-    private final String publicBasePath;
+    static final String ROOMS_PREFIX = "rooms/";
+    private static final String INCOMING_PREFIX = ".incoming/";
+    private static final Logger log = LoggerFactory.getLogger(RoomImageStorageService.class);
+
+    private final ObjectStorage objectStorage;
+    private final RoomImageBlobRepository roomImageBlobRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Counter storedUploads;
+    private final Counter deduplicatedUploads;
 
     public RoomImageStorageService(
-            @Value("${app.uploads.base-path:${user.dir}/uploads}") String uploadsBasePath,
-            @Value("${app.uploads.public-base-path:/uploads}") String publicBasePath
+            ObjectStorage objectStorage,
+            RoomImageBlobRepository roomImageBlobRepository,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry
     ) {
-        this.roomUploadsDirectory = Paths.get(uploadsBasePath, "rooms").toAbsolutePath().normalize();
-        this.publicBasePath = normalizePublicBasePath(publicBasePath);
+        this.objectStorage = objectStorage;
+        this.roomImageBlobRepository = roomImageBlobRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.storedUploads = uploads(meterRegistry, "stored");
+        this.deduplicatedUploads = uploads(meterRegistry, "deduplicated");
     }
 
     public Mono<String> storeRoomImage(FilePart imageFile) {
@@ -34,25 +58,109 @@ public class RoomImageStorageService {
             return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "imageFile is required"));
         }
 
-        MediaType mediaType = imageFile.headers().getContentType();
-        if (mediaType == null || !"image".equalsIgnoreCase(mediaType.getType())) {
+        return storeRoomImage(imageFile.headers().getContentType(), imageFile.filename(), imageFile.content());
+    }
+
+    /**
+     * Stores an image streamed from any source, such as a completed resumable upload.
+     */
+    public Mono<String> storeRoomImage(MediaType mediaType, String originalFilename, Flux<DataBuffer> content) {
+        if (!isImage(mediaType)) {
             return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only image files are allowed"));
         }
 
-        String extension = resolveExtension(mediaType, imageFile.filename());
-        String fileName = UUID.randomUUID() + extension;
-        Path targetPath = roomUploadsDirectory.resolve(fileName).normalize();
+        String extension = resolveExtension(mediaType, originalFilename);
+        String incomingKey = INCOMING_PREFIX + UUID.randomUUID() + ".part";
+        MessageDigest digest = sha256();
+        AtomicLong size = new AtomicLong();
+
+        Flux<DataBuffer> hashedContent = content.doOnNext(buffer -> {
+            size.addAndGet(buffer.readableByteCount());
+            try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                chunks.forEachRemaining(digest::update);
+            }
+        });
+
+        return objectStorage.write(incomingKey, hashedContent, mediaType)
+                .then(Mono.fromCallable(() -> HexFormat.of().formatHex(digest.digest()) + extension))
+                .flatMap(fileName -> transactionalOperator.transactional(roomImageBlobRepository.lock(fileName)
+                        .then(roomImageBlobRepository.touch(fileName, size.get()))
+                        .then(Mono.defer(() -> commit(incomingKey, ROOMS_PREFIX + fileName)))))
+                .map(objectStorage::publicUrl)
+                .onErrorResume(error -> objectStorage.delete(incomingKey)
+                        .onErrorResume(deleteError -> {
+                            log.warn("Removing incomplete upload {} failed", incomingKey, deleteError);
+                            return Mono.empty();
+                        })
+                        .then(Mono.error(error)));
+    }
+
+    /**
+     * Deletes the files of a blob whose row the collector removed, unless an upload of the same content has
+     * registered it again. Runs under the blob's lock, so it cannot interleave with an upload's dedup check.
+     */
+    public Mono<Boolean> deleteUnregisteredBlob(String fileName) {
+        return transactionalOperator.transactional(roomImageBlobRepository.lock(fileName)
+                .then(roomImageBlobRepository.exists(fileName))
+                .flatMap(registered -> registered ? Mono.just(false) : deleteBlob(fileName).thenReturn(true)));
+    }
+
+    /**
+     * Deletes an unreferenced blob and every variant derived from it.
+     */
+    public Mono<Void> deleteBlob(String fileName) {
+        if (fileName.contains("/")) {
+            return Mono.empty();
+        }
+        int dot = fileName.lastIndexOf('.');
+        String variantPrefix = ROOMS_PREFIX + (dot > 0 ? fileName.substring(0, dot) : fileName) + "-w";
+        return objectStorage.list(variantPrefix)
+                .concatMap(objectStorage::delete)
+                .then(objectStorage.delete(ROOMS_PREFIX + fileName));
+    }
+
+    /**
+     * Storage key behind a URL returned by {@link #storeRoomImage}, or {@code null} for any other URL.
+     */
+    public String keyOf(String publicUrl) {
+        String prefix = roomImagesUrlPrefix();
+        if (publicUrl == null || !publicUrl.startsWith(prefix)) {
+            return null;
+        }
+        return roomImageKey(ROOMS_PREFIX + publicUrl.substring(prefix.length()));
+    }
+
+    /**
+     * The key itself when it names a room image or one of its variants ({@code rooms/<name>}), otherwise
+     * {@code null}; keeps in-progress uploads and any other object in the store from being exposed.
+     */
+    public String roomImageKey(String key) {
+        if (key == null || !key.startsWith(ROOMS_PREFIX)) {
+            return null;
+        }
+        String fileName = key.substring(ROOMS_PREFIX.length());
+        return fileName.isEmpty() || fileName.contains("/") || fileName.contains("\\") || fileName.startsWith(".")
+                ? null
+                : key;
+    }
+
+    public static boolean isImage(MediaType mediaType) {
+        return mediaType != null && "image".equalsIgnoreCase(mediaType.getType());
+    }
 
-        return Mono.fromCallable(() -> {
-                    Files.createDirectories(roomUploadsDirectory);
-                    return targetPath;
-                })
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(path -> imageFile.transferTo(path).thenReturn(buildPublicUrl(fileName)));
+    public String roomImagesUrlPrefix() {
+        return objectStorage.publicUrl(ROOMS_PREFIX);
     }
 
-    private String buildPublicUrl(String fileName) {
-        return publicBasePath + "/rooms/" + fileName;
+    private Mono<String> commit(String incomingKey, String key) {
+        return objectStorage.exists(key).flatMap(exists -> {
+            if (exists) {
+                deduplicatedUploads.increment();
+                return objectStorage.delete(incomingKey).thenReturn(key);
+            }
+            storedUploads.increment();
+            return objectStorage.move(incomingKey, key).thenReturn(key);
+        });
     }
 
     private String resolveExtension(MediaType mediaType, String originalFilename) {
@@ -84,14 +192,17 @@ public class RoomImageStorageService {
         return ".img";
     }
 
-    private String normalizePublicBasePath(String value) {
-        String normalized = (value == null || value.isBlank()) ? "/uploads" : value.trim();
-        if (!normalized.startsWith("/")) {
-            normalized = "/" + normalized;
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        while (normalized.length() > 1 && normalized.endsWith("/")) {
-            normalized = normalized.substring(0, normalized.length() - 1);
-        }
-        return normalized;
+    }
+
+    private static Counter uploads(MeterRegistry registry, String result) {
+        return Counter.builder("uploads.room_images")
+                .tag("result", result)
+                .register(registry);
     }
 }
@@ -0,0 +1,362 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.CompleteRoomUploadRequest;
+import com.autoguide.backend.dto.CreateUploadSessionRequest;
+import com.autoguide.backend.dto.RoomResponse;
+import com.autoguide.backend.dto.UploadSessionResponse;
+import com.autoguide.backend.exception.NotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resumable room image uploads: a session is created with the declared size, chunks are appended at the
+ * current offset straight into a temp file through an {@link AsynchronousFileChannel}, and completing the
+ * session stores the image and creates the room. An {@link UploadLimiter} permit is held only while a chunk
+ * or the final store is transferring; open sessions are capped separately and expire after a short idle time,
+ * which only starts counting once the chunk or store in flight has finished.
+ * Sessions live in this instance's memory and on its local disk, so clients must stick to one replica.
+ */
+@Service
+public class RoomImageUploadSessions {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomImageUploadSessions.class);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final HotelAccessService hotelAccessService;
+    private final RoomImageStorageService roomImageStorageService;
+    private final RoomService roomService;
+    private final UploadLimiter uploadLimiter;
+    private final Path sessionsDirectory;
+    private final Duration idleTtl;
+    private final int maxOpen;
+    private final int maxOpenPerHotel;
+    private final long maxSize;
+    private final Cache<UUID, UploadSession> sessions;
+    private final AtomicInteger open = new AtomicInteger();
+    private final Map<UUID, Integer> openPerHotel = new ConcurrentHashMap<>();
+
+    public RoomImageUploadSessions(
+            HotelAccessService hotelAccessService,
+            RoomImageStorageService roomImageStorageService,
+            RoomService roomService,
+            UploadLimiter uploadLimiter,
+            @Value("${app.uploads.base-path:${user.dir}/uploads}") String uploadsBasePath,
+            @Value("${app.uploads.sessions.idle-ttl:10m}") Duration idleTtl,
+            @Value("${app.uploads.sessions.max-open:256}") int maxOpen,
+            @Value("${app.uploads.sessions.max-open-per-hotel:16}") int maxOpenPerHotel,
+            @Value("${app.uploads.max-size:25MB}") DataSize maxSize
+    ) {
+        this.hotelAccessService = hotelAccessService;
+        this.roomImageStorageService = roomImageStorageService;
+        this.roomService = roomService;
+        this.uploadLimiter = uploadLimiter;
+        this.sessionsDirectory = Paths.get(uploadsBasePath, ".sessions").toAbsolutePath().normalize();
+        this.idleTtl = idleTtl;
+        this.maxOpen = maxOpen;
+        this.maxOpenPerHotel = maxOpenPerHotel;
+        this.maxSize = maxSize.toBytes();
+        this.sessions = Caffeine.newBuilder()
+                .expireAfter(new IdleExpiry(idleTtl))
+                .scheduler(Scheduler.systemScheduler())
+                // Free the open-session slot before cancel or complete returns, not some time later.
+                .executor(Runnable::run)
+                .<UUID, UploadSession>removalListener((id, session, cause) -> {
+                    if (session != null) {
+                        discard(session);
+                    }
+                })
+                .build();
+    }
+
+    public Mono<UploadSessionResponse> create(CreateUploadSessionRequest request) {
+        MediaType contentType = parseContentType(request.contentType());
+        if (!RoomImageStorageService.isImage(contentType)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only image files are allowed"));
+        }
+        if (request.size() > maxSize) {
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Image exceeds the maximum upload size of " + maxSize + " bytes"
+            ));
+        }
+
+        return hotelAccessService.currentScope()
+                .flatMap(scope -> hotelAccessService.resolveHotelForWrite(scope, request.hotelId()))
+                .flatMap(hotelId -> {
+                    if (!tryOpen(hotelId)) {
+                        return Mono.error(new ResponseStatusException(
+                                HttpStatus.TOO_MANY_REQUESTS,
+                                "Too many open upload sessions, complete or cancel one first"
+                        ));
+                    }
+                    UUID id = UUID.randomUUID();
+                    UploadSession session = new UploadSession(
+                            id,
+                            hotelId,
+                            request.fileName(),
+                            contentType,
+                            request.size(),
+                            sessionsDirectory.resolve(id + ".part")
+                    );
+                    return Mono.fromCallable(() -> {
+                                Files.createDirectories(sessionsDirectory);
+                                Files.createFile(session.file);
+                                return session;
+                            })
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .doOnError(error -> close(hotelId));
+                })
+                .doOnNext(session -> sessions.put(session.id, session))
+                .map(this::toResponse);
+    }
+
+    public Mono<UploadSessionResponse> get(UUID id) {
+        return find(id).map(this::toResponse);
+    }
+
+    /**
+     * Appends a chunk at {@code offset}, which must equal the bytes received so far. After an interrupted
+     * chunk the offset reflects what reached the disk, so the client can resume from {@link #get}.
+     */
+    public Mono<UploadSessionResponse> append(UUID id, long offset, Flux<DataBuffer> chunk) {
+        return find(id).flatMap(session -> {
+            if (!session.busy.compareAndSet(false, true)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Another chunk is being written"));
+            }
+            if (offset != session.offset.get()) {
+                session.busy.set(false);
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Expected offset " + session.offset.get() + " but got " + offset
+                ));
+            }
+
+            AtomicLong received = new AtomicLong(offset);
+            Flux<DataBuffer> bounded = chunk.handle((buffer, sink) -> {
+                if (received.addAndGet(buffer.readableByteCount()) > session.size) {
+                    DataBufferUtils.release(buffer);
+                    sink.error(new ResponseStatusException(
+                            HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Chunk exceeds the declared size of " + session.size + " bytes"
+                    ));
+                } else {
+                    sink.next(buffer);
+                }
+            });
+
+            return whileBusy(session, uploadLimiter.withPermit(session.hotelId, Mono.using(
+                            () -> AsynchronousFileChannel.open(session.file, StandardOpenOption.WRITE),
+                            channel -> DataBufferUtils.write(bounded, channel, offset)
+                                    .doOnNext(DataBufferUtils::release)
+                                    .then(),
+                            channel -> closeQuietly(channel, session)
+                    ))
+                    .then(Mono.fromSupplier(() -> toResponse(session))));
+        });
+    }
+
+    public Mono<RoomResponse> complete(UUID id, CompleteRoomUploadRequest request) {
+        return find(id).flatMap(session -> {
+            if (!session.busy.compareAndSet(false, true)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Another chunk is being written"));
+            }
+            if (session.offset.get() != session.size) {
+                session.busy.set(false);
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Upload incomplete: " + session.offset.get() + " of " + session.size + " bytes received"
+                ));
+            }
+
+            Flux<DataBuffer> content = DataBufferUtils.read(session.file, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+            return whileBusy(session, uploadLimiter.withPermit(session.hotelId, roomService.createWithStoredImage(
+                            request.toCreateRoomRequest(session.hotelId),
+                            roomImageStorageService.storeRoomImage(session.contentType, session.fileName, content)
+                    ))
+                    .doOnNext(room -> sessions.invalidate(id)));
+        });
+    }
+
+    public Mono<Void> cancel(UUID id) {
+        return find(id)
+                .doOnNext(session -> sessions.invalidate(session.id))
+                .then();
+    }
+
+    /**
+     * Clears the busy flag before the result is signalled, so the client's next chunk never sees it still set.
+     * The session is touched on both edges: it cannot expire while busy, and its idle time restarts afterwards.
+     */
+    private <T> Mono<T> whileBusy(UploadSession session, Mono<T> work) {
+        return Mono.usingWhen(
+                Mono.fromSupplier(() -> {
+                    sessions.getIfPresent(session.id);
+                    return session;
+                }),
+                busy -> work,
+                busy -> Mono.fromRunnable(() -> {
+                    busy.busy.set(false);
+                    sessions.getIfPresent(busy.id);
+                })
+        );
+    }
+
+    private Mono<UploadSession> find(UUID id) {
+        return hotelAccessService.currentScope().flatMap(scope -> {
+            UploadSession session = sessions.getIfPresent(id);
+            if (session == null) {
+                return Mono.error(new NotFoundException("Upload session not found: " + id));
+            }
+            return hotelAccessService.assertCanAccessHotel(scope, session.hotelId).thenReturn(session);
+        });
+    }
+
+    /**
+     * Closing also records how far the file got, whether the chunk completed, failed or was cut off.
+     */
+    private void closeQuietly(AsynchronousFileChannel channel, UploadSession session) {
+        try {
+            session.offset.set(channel.size());
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Closing upload session file {} failed", session.file, e);
+        }
+    }
+
+    private boolean tryOpen(UUID hotelId) {
+        if (open.incrementAndGet() > maxOpen) {
+            open.decrementAndGet();
+            return false;
+        }
+        boolean[] opened = {true};
+        openPerHotel.compute(hotelId, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxOpenPerHotel) {
+                opened[0] = false;
+                return count;
+            }
+            return current + 1;
+        });
+        if (!opened[0]) {
+            open.decrementAndGet();
+        }
+        return opened[0];
+    }
+
+    private void close(UUID hotelId) {
+        openPerHotel.computeIfPresent(hotelId, (key, count) -> count <= 1 ? null : count - 1);
+        open.decrementAndGet();
+    }
+
+    private void discard(UploadSession session) {
+        close(session.hotelId);
+        try {
+            Files.deleteIfExists(session.file);
+        } catch (IOException e) {
+            log.warn("Removing upload session file {} failed", session.file, e);
+        }
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return new UploadSessionResponse(
+                session.id,
+                session.hotelId,
+                session.offset.get(),
+                session.size,
+                Instant.now().plus(idleTtl)
+        );
+    }
+
+    private static MediaType parseContentType(String contentType) {
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Expires a session {@code idleTtl} after its last access, except while a chunk or the final store is running:
+     * a slow transfer must not have its file deleted underneath it.
+     */
+    private static final class IdleExpiry implements Expiry<UUID, UploadSession> {
+
+        private final long idleTtlNanos;
+
+        private IdleExpiry(Duration idleTtl) {
+            this.idleTtlNanos = idleTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(UUID id, UploadSession session, long currentTime) {
+            return expireAfterAccess(session);
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, UploadSession session, long currentTime, long currentDuration) {
+            return expireAfterAccess(session);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, UploadSession session, long currentTime, long currentDuration) {
+            return expireAfterAccess(session);
+        }
+
+        private long expireAfterAccess(UploadSession session) {
+            return session.busy.get() ? Long.MAX_VALUE : idleTtlNanos;
+        }
+    }
+
+    private static final class UploadSession {
+
+        private final UUID id;
+        private final UUID hotelId;
+        private final String fileName;
+        private final MediaType contentType;
+        private final long size;
+        private final Path file;
+        private final AtomicLong offset = new AtomicLong();
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        private UploadSession(UUID id, UUID hotelId, String fileName, MediaType contentType, long size, Path file) {
+            this.id = id;
+            this.hotelId = hotelId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.RoomImageBlobRepository;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import com.autoguide.backend.storage.ObjectStorage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Produces fixed-width JPEG variants of uploaded room images on a small dedicated worker pool and records
+ * them as the room's srcset. Until the srcset is written, clients keep using the original image URL.
+ * Rooms sharing a deduplicated upload reuse the variants already made for it. Uploads left unprocessed, by a
+ * restart or because the worker queue was full, are picked up by a periodic sweep that one replica runs at a time.
+ */
+@Component
+public class RoomImageVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomImageVariants.class);
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final int EXIF_SCAN_BYTES = 64 * 1024;
+    static final String SWEEP_LOCK = "room-image-variants-sweep";
+
+    private final RoomRepository roomRepository;
+    private final RoomImageBlobRepository roomImageBlobRepository;
+    private final RoomImageStorageService roomImageStorageService;
+    private final ObjectStorage objectStorage;
+    private final RoomHighlights roomHighlights;
+    private final PublicResponseCache publicResponseCache;
+    private final List<Integer> widths;
+    private final Scheduler workers;
+    private final Duration sweepInterval;
+    private volatile Disposable sweeps;
+
+    public RoomImageVariants(
+            RoomRepository roomRepository,
+            RoomImageBlobRepository roomImageBlobRepository,
+            RoomImageStorageService roomImageStorageService,
+            ObjectStorage objectStorage,
+            RoomHighlights roomHighlights,
+            PublicResponseCache publicResponseCache,
+            @Value("${app.uploads.variants.widths:320,800,1600}") List<Integer> widths,
+            @Value("${app.uploads.variants.threads:2}") int threads,
+            @Value("${app.uploads.variants.queue-size:100}") int queueSize,
+            @Value("${app.uploads.variants.sweep-interval:5m}") Duration sweepInterval
+    ) {
+        this.roomRepository = roomRepository;
+        this.roomImageBlobRepository = roomImageBlobRepository;
+        this.roomImageStorageService = roomImageStorageService;
+        this.objectStorage = objectStorage;
+        this.roomHighlights = roomHighlights;
+        this.publicResponseCache = publicResponseCache;
+        this.widths = widths.stream().filter(width -> width > 0).sorted().distinct().toList();
+        this.workers = Schedulers.newBoundedElastic(Math.max(threads, 1), Math.max(queueSize, 1), "room-image-variants");
+        this.sweepInterval = sweepInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeps() {
+        sweeps = Flux.interval(Duration.ZERO, sweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> processPending().onErrorResume(error -> {
+                    log.warn("Processing pending room image variants failed", error);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable subscription = sweeps;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        workers.dispose();
+    }
+
+    /**
+     * Fire and forget; failures are logged and the room keeps serving its original image until a sweep retries it.
+     */
+    public void schedule(RoomEntity room) {
+        process(room).subscribe(null, error -> logFailure(room, error));
+    }
+
+    /**
+     * One pass over every room still without a srcset, one room at a time. Skipped when another replica's pass
+     * is running, so a restart of the whole fleet renders each pending upload once rather than once per replica.
+     */
+    Mono<Void> processPending() {
+        return roomImageBlobRepository.runExclusively(SWEEP_LOCK, Flux.defer(() -> roomRepository
+                        .findAllByImageSrcsetIsNullAndImageUrlStartingWith(roomImageStorageService.roomImagesUrlPrefix()))
+                .concatMap(room -> process(room).onErrorResume(error -> {
+                    logFailure(room, error);
+                    return Mono.empty();
+                }))
+                .then());
+    }
+
+    private static void logFailure(RoomEntity room, Throwable error) {
+        if (Exceptions.unwrap(error) instanceof RejectedExecutionException) {
+            log.info("Image variant workers are saturated, room {} is left for the next sweep", room.getId());
+        } else {
+            log.warn("Creating image variants for room {} failed", room.getId(), error);
+        }
+    }
+
+    private Mono<Void> process(RoomEntity room) {
+        String imageUrl = room.getImageUrl();
+        String key = roomImageStorageService.keyOf(imageUrl);
+        if (key == null) {
+            return Mono.empty();
+        }
+        return roomRepository.findFirstByImageUrlAndImageSrcsetIsNotNull(imageUrl)
+                .map(RoomEntity::getImageSrcset)
+                .switchIfEmpty(Mono.defer(() -> createVariants(key, imageUrl)))
+                .flatMap(srcset -> roomRepository.updateImageSrcset(room.getId(), imageUrl, srcset))
+                .filter(updated -> updated > 0)
+                .doOnNext(updated -> {
+                    roomHighlights.invalidate(room.getHotelId());
+                    publicResponseCache.invalidate(PublicResponseCache.ROOM_HIGHLIGHTS_PATH);
+                })
+                .then();
+    }
+
+    /**
+     * Stores {@code <name>-w<width>.jpg} next to the original for every configured width narrower than it
+     * and returns the srcset, which always lists the original as the widest candidate.
+     */
+    Mono<String> createVariants(String key, String originalUrl) {
+        int dot = key.lastIndexOf('.');
+        String baseKey = dot > key.lastIndexOf('/') ? key.substring(0, dot) : key;
+        return DataBufferUtils.join(objectStorage.read(key))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .publishOn(workers)
+                .<Rendition>handle((bytes, sink) -> {
+                    try {
+                        Rendition rendition = render(bytes);
+                        if (rendition != null) {
+                            sink.next(rendition);
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                })
+                .flatMap(rendition -> Flux.fromIterable(rendition.variants())
+                        .concatMap(variant -> {
+                            String variantKey = baseKey + "-w" + variant.width() + ".jpg";
+                            return objectStorage.write(
+                                            variantKey,
+                                            Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(variant.jpeg())),
+                                            MediaType.IMAGE_JPEG
+                                    )
+                                    .thenReturn(objectStorage.publicUrl(variantKey) + " " + variant.width() + "w");
+                        })
+                        .concatWithValues(originalUrl + " " + rendition.originalWidth() + "w")
+                        .collect(Collectors.joining(", ")))
+                .defaultIfEmpty(originalUrl);
+    }
+
+    /**
+     * JPEG variants for every configured width narrower than the image, or {@code null} when it cannot be decoded.
+     */
+    private Rendition render(byte[] original) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(original));
+        if (source == null) {
+            return null;
+        }
+        source = applyExifOrientation(source, readExifOrientation(original));
+
+        List<Variant> variants = new ArrayList<>();
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                break;
+            }
+            variants.add(new Variant(width, encodeJpeg(resize(source, width))));
+        }
+        return new Rendition(source.getWidth(), variants);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BufferedImage applyExifOrientation(BufferedImage source, int orientation) {
+        int quarterTurns = switch (orientation) {
+            case 3 -> 2;
+            case 6 -> 1;
+            case 8 -> 3;
+            default -> 0;
+        };
+        if (quarterTurns == 0) {
+            return source;
+        }
+        boolean swap = quarterTurns % 2 == 1;
+        int width = swap ? source.getHeight() : source.getWidth();
+        int height = swap ? source.getWidth() : source.getHeight();
+        AffineTransform transform = new AffineTransform();
+        transform.translate(width / 2.0, height / 2.0);
+        transform.quadrantRotate(quarterTurns);
+        transform.translate(-source.getWidth() / 2.0, -source.getHeight() / 2.0);
+
+        BufferedImage rotated = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rotated.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rotated;
+    }
+
+    /**
+     * Orientation tag (0x0112) from the EXIF block of a JPEG, or 1 when absent; phone cameras store
+     * portrait shots rotated and rely on this tag, which ImageIO ignores.
+     */
+    static int readExifOrientation(byte[] image) {
+        byte[] head = image.length > EXIF_SCAN_BYTES ? Arrays.copyOf(image, EXIF_SCAN_BYTES) : image;
+        ByteBuffer buffer = ByteBuffer.wrap(head);
+        if (head.length < 4 || (buffer.getShort(0) & 0xFFFF) != 0xFFD8) {
+            return 1;
+        }
+        int offset = 2;
+        while (offset + 4 <= head.length && (head[offset] & 0xFF) == 0xFF) {
+            int marker = head[offset + 1] & 0xFF;
+            int length = buffer.getShort(offset + 2) & 0xFFFF;
+            if (marker == 0xE1 && offset + 10 <= head.length
+                    && new String(head, offset + 4, 4, StandardCharsets.US_ASCII).equals("Exif")) {
+                return orientationFromTiff(buffer, offset + 10, Math.min(head.length, offset + 2 + length));
+            }
+            if (marker == 0xDA) {
+                break;
+            }
+            offset += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int orientationFromTiff(ByteBuffer buffer, int tiffStart, int end) {
+        try {
+            ByteBuffer tiff = buffer.duplicate();
+            tiff.order(tiff.getShort(tiffStart) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int ifd = tiffStart + tiff.getInt(tiffStart + 4);
+            int entries = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (entry + 12 > end) {
+                    break;
+                }
+                if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                    return tiff.getShort(entry + 8) & 0xFFFF;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            return 1;
+        }
+        return 1;
+    }
+
+    private record Variant(int width, byte[] jpeg) {
+    }
+
+    private record Rendition(int originalWidth, List<Variant> variants) {
+    }
+}
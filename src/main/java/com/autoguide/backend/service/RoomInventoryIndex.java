@@ -0,0 +1,301 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.HotelEntity;
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.HotelRepository;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory catalog of hotels and their rooms used by read paths that must not load every room per request.
+ * Local {@link RoomService} and {@link HotelService} writes are applied immediately; a trigger on the tables
+ * publishes every change over PostgreSQL LISTEN/NOTIFY so writes from other replicas are reloaded row by row.
+ * Full reloads, at start-up, whenever LISTEN is (re)established and every refresh interval, load into fresh maps
+ * that are swapped in only once complete, so a failed reload keeps serving the previous catalog.
+ */
+@Component
+public class RoomInventoryIndex {
+
+    static final String CHANGE_CHANNEL = "room_inventory_changed";
+
+    private static final Logger log = LoggerFactory.getLogger(RoomInventoryIndex.class);
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+    private static final String FULL_RELOAD = "";
+
+    private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+    private final ConnectionFactory connectionFactory;
+    private final Duration refreshInterval;
+    private final Mono<Void> ready;
+    private volatile Inventory inventory = new Inventory();
+    /** Local writes made while a full reload runs, replayed onto its maps before they are swapped in. */
+    private final Set<List<Consumer<Inventory>>> writesDuringReloads = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile Disposable changeSubscription;
+
+    public RoomInventoryIndex(
+            HotelRepository hotelRepository,
+            RoomRepository roomRepository,
+            ConnectionFactory connectionFactory,
+            @Value("${app.rooms.inventory.refresh-interval:15m}") Duration refreshInterval
+    ) {
+        this.hotelRepository = hotelRepository;
+        this.roomRepository = roomRepository;
+        this.connectionFactory = connectionFactory;
+        this.refreshInterval = refreshInterval;
+        this.ready = Mono.defer(this::rebuild)
+                .cache(ignored -> FOREVER, error -> Duration.ZERO, () -> FOREVER);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ready.subscribe(null, error -> log.warn("Room inventory index warm-up failed, retrying on first use", error));
+
+        Flux<String> changes = Flux.usingWhen(Mono.from(connectionFactory.create()), this::listen, Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .filter(error -> !(error instanceof UnsupportedOperationException)))
+                .onErrorResume(error -> {
+                    log.warn("Room inventory change listener stopped, relying on periodic reloads", error);
+                    return Flux.empty();
+                });
+        changeSubscription = Flux.merge(changes, Flux.interval(refreshInterval, refreshInterval).map(tick -> FULL_RELOAD))
+                .concatMap(change -> ready.then(Mono.defer(() -> onChange(change)))
+                        .onErrorResume(error -> {
+                            log.warn("Refreshing room inventory index for '{}' failed", change, error);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        Disposable subscription = changeSubscription;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<Void> awaitReady() {
+        return ready;
+    }
+
+    public List<IndexedHotel> findHotels(UUID hotelId, String city) {
+        Inventory current = inventory;
+        if (hotelId != null) {
+            IndexedHotel hotel = current.hotels.get(hotelId);
+            if (hotel == null || (city != null && !hotel.cityKey().equals(normalizeKey(city)))) {
+                return List.of();
+            }
+            return List.of(hotel);
+        }
+
+        String cityKey = normalizeKey(city);
+        List<IndexedHotel> matches = new ArrayList<>();
+        for (IndexedHotel hotel : current.hotels.values()) {
+            if (cityKey.isEmpty() || hotel.cityKey().equals(cityKey)) {
+                matches.add(hotel);
+            }
+        }
+        return matches;
+    }
+
+    public Collection<IndexedRoom> roomsOf(UUID hotelId) {
+        Map<UUID, IndexedRoom> rooms = inventory.roomsByHotel.get(hotelId);
+        return rooms == null ? List.of() : rooms.values();
+    }
+
+    public IndexedRoom findRoom(UUID hotelId, UUID roomId) {
+        Map<UUID, IndexedRoom> rooms = inventory.roomsByHotel.get(hotelId);
+        return rooms == null ? null : rooms.get(roomId);
+    }
+
+    public void putHotel(HotelEntity entity) {
+        IndexedHotel hotel = IndexedHotel.from(entity);
+        write(target -> target.hotels.put(hotel.id(), hotel));
+    }
+
+    public void removeHotel(UUID hotelId) {
+        write(target -> {
+            target.hotels.remove(hotelId);
+            target.roomsByHotel.remove(hotelId);
+        });
+    }
+
+    public void putRoom(RoomEntity entity) {
+        IndexedRoom room = IndexedRoom.from(entity);
+        write(target -> target.putRoom(room));
+    }
+
+    public void removeRoom(RoomEntity entity) {
+        UUID hotelId = entity.getHotelId();
+        UUID roomId = entity.getId();
+        write(target -> target.removeRoom(hotelId, roomId));
+    }
+
+    private synchronized void write(Consumer<Inventory> change) {
+        change.accept(inventory);
+        writesDuringReloads.forEach(writes -> writes.add(change));
+    }
+
+    /**
+     * Loads every hotel and room into fresh maps and swaps them in once both tables have been read.
+     */
+    Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            List<Consumer<Inventory>> writes = new ArrayList<>();
+            synchronized (this) {
+                writesDuringReloads.add(writes);
+            }
+            Inventory fresh = new Inventory();
+            return hotelRepository.findAll()
+                    .doOnNext(hotel -> fresh.hotels.put(hotel.getId(), IndexedHotel.from(hotel)))
+                    .thenMany(roomRepository.findAll())
+                    .doOnNext(room -> fresh.putRoom(IndexedRoom.from(room)))
+                    .then(Mono.fromRunnable(() -> swapIn(fresh, writes)))
+                    .doFinally(signal -> {
+                        synchronized (this) {
+                            writesDuringReloads.remove(writes);
+                        }
+                    })
+                    .then();
+        });
+    }
+
+    private synchronized void swapIn(Inventory fresh, List<Consumer<Inventory>> writes) {
+        writes.forEach(change -> change.accept(fresh));
+        writesDuringReloads.remove(writes);
+        inventory = fresh;
+    }
+
+    /**
+     * Reloads the hotel or room named by a notification payload ({@code hotel:<id>} or
+     * {@code room:<hotel id>:<room id>}); anything else triggers a full reload.
+     */
+    Mono<Void> onChange(String change) {
+        String[] parts = change.split(":");
+        try {
+            if (parts.length == 2 && parts[0].equals("hotel")) {
+                UUID hotelId = UUID.fromString(parts[1]);
+                return hotelRepository.findById(hotelId)
+                        .doOnNext(this::putHotel)
+                        .switchIfEmpty(Mono.fromRunnable(() -> removeHotel(hotelId)))
+                        .then();
+            }
+            if (parts.length == 3 && parts[0].equals("room")) {
+                UUID hotelId = UUID.fromString(parts[1]);
+                UUID roomId = UUID.fromString(parts[2]);
+                return roomRepository.findById(roomId)
+                        .map(IndexedRoom::from)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .doOnNext(room -> write(target -> {
+                            target.removeRoom(hotelId, roomId);
+                            room.ifPresent(target::putRoom);
+                        }))
+                        .then();
+            }
+        } catch (IllegalArgumentException malformed) {
+            log.debug("Unrecognized room inventory change '{}', reloading everything", change);
+        }
+        return rebuild();
+    }
+
+    /**
+     * Subscribes to notifications before issuing LISTEN and asks for a full reload once LISTEN is active,
+     * so changes made while the listener was down are picked up.
+     */
+    private Flux<String> listen(Connection connection) {
+        PostgresqlConnection postgres = PostgresConnections.unwrap(connection, "Room inventory change notifications");
+        Mono<String> listening = Flux.from(postgres.createStatement("LISTEN " + CHANGE_CHANNEL).execute())
+                .flatMap(Result::getRowsUpdated)
+                .then(Mono.just(FULL_RELOAD));
+        return Flux.merge(
+                postgres.getNotifications().map(notification ->
+                        notification.getParameter() == null ? FULL_RELOAD : notification.getParameter()),
+                listening
+        );
+    }
+
+    static String normalizeKey(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record IndexedHotel(UUID id, String name, String city, String cityKey) {
+
+        static IndexedHotel from(HotelEntity entity) {
+            return new IndexedHotel(entity.getId(), entity.getName(), entity.getCity(), normalizeKey(entity.getCity()));
+        }
+    }
+
+    public record IndexedRoom(
+            UUID id,
+            UUID hotelId,
+            String roomNumber,
+            String roomType,
+            String roomTypeKey,
+            BigDecimal nightlyRate,
+            String imageUrl,
+            String shortDescription
+    ) {
+
+        static IndexedRoom from(RoomEntity entity) {
+            return new IndexedRoom(
+                    entity.getId(),
+                    entity.getHotelId(),
+                    entity.getRoomNumber(),
+                    entity.getRoomType(),
+                    normalizeKey(entity.getRoomType()),
+                    entity.getNightlyRate(),
+                    entity.getImageUrl(),
+                    entity.getShortDescription()
+            );
+        }
+    }
+
+    private static final class Inventory {
+
+        private final ConcurrentMap<UUID, IndexedHotel> hotels = new ConcurrentHashMap<>();
+        private final ConcurrentMap<UUID, ConcurrentMap<UUID, IndexedRoom>> roomsByHotel = new ConcurrentHashMap<>();
+
+        void putRoom(IndexedRoom room) {
+            roomsByHotel.computeIfAbsent(room.hotelId(), ignored -> new ConcurrentHashMap<>()).put(room.id(), room);
+        }
+
+        void removeRoom(UUID hotelId, UUID roomId) {
+            Map<UUID, IndexedRoom> rooms = roomsByHotel.get(hotelId);
+            if (rooms != null) {
+                rooms.remove(roomId);
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-hotel, per-room bitsets of occupied nights over a rolling horizon starting today, used to answer
+ * availability searches without scanning bookings. It is only a hint: the {@code ex_bookings_room_stay}
+ * exclusion constraint decides whether a booking is accepted. Local writes update it immediately; changes made
+ * by other replicas are caught up incrementally past an (updated_at, id) watermark, and a rare full rebuild
+ * drops whatever drifted, such as nights of bookings deleted outright.
+ */
+@Component
+public class RoomOccupancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomOccupancyIndex.class);
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+    private static final int ROLL_STEP_DAYS = 64;
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final int PAGE_SIZE = 1_000;
+    /** Rows younger than this may still belong to open transactions with an earlier updated_at. */
+    private static final Duration SETTLE_DELAY = Duration.ofSeconds(5);
+
+    private final BookingRepository bookingRepository;
+    private final int horizonDays;
+    private final Duration refreshInterval;
+    private final Duration rebuildInterval;
+    private final Mono<Void> ready;
+    private volatile ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>> hotels = new ConcurrentHashMap<>();
+    /** Local writes made while a rebuild runs, replayed onto its map before it is swapped in. */
+    private final Set<List<Consumer<ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>>>>> writesDuringRebuilds =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile Instant watermarkUpdatedAt = Instant.EPOCH;
+    private volatile UUID watermarkBookingId = MIN_ID;
+    private volatile Instant lastRebuildAt = Instant.EPOCH;
+    private volatile Disposable refreshes;
+
+    public RoomOccupancyIndex(
+            BookingRepository bookingRepository,
+            @Value("${app.booking.occupancy.horizon-days:730}") int horizonDays,
+            @Value("${app.booking.occupancy.refresh-interval:10s}") Duration refreshInterval,
+            @Value("${app.booking.occupancy.rebuild-interval:6h}") Duration rebuildInterval
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.horizonDays = Math.max(horizonDays, 1);
+        this.refreshInterval = refreshInterval;
+        this.rebuildInterval = rebuildInterval;
+        this.ready = Mono.defer(this::rebuild)
+                .cache(ignored -> FOREVER, error -> Duration.ZERO, () -> FOREVER);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ready.subscribe(null, error -> log.warn("Room occupancy index warm-up failed, retrying on first use", error));
+        refreshes = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> ready.then(Mono.defer(this::refresh)).onErrorResume(error -> {
+                    log.warn("Refreshing room occupancy index failed", error);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefreshes() {
+        Disposable subscription = refreshes;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<Void> awaitReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the nights of a booking that was just saved while holding its room.
+     */
+    public void record(BookingEntity booking) {
+        UUID hotelId = booking.getHotelId();
+        UUID roomId = booking.getRoomId();
+        LocalDate checkInDate = booking.getCheckInDate();
+        LocalDate checkOutDate = booking.getCheckOutDate();
+        write(target -> mark(target, hotelId, roomId, checkInDate, checkOutDate));
+    }
+
+    public void release(UUID hotelId, UUID roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        write(target -> clear(target, hotelId, roomId, checkInDate, checkOutDate));
+    }
+
+    public void release(BookingEntity booking) {
+        release(booking.getHotelId(), booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    public boolean isFree(UUID hotelId, UUID roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        ConcurrentMap<UUID, RoomNights> rooms = hotels.get(hotelId);
+        RoomNights nights = rooms == null ? null : rooms.get(roomId);
+        if (nights == null) {
+            return true;
+        }
+        long today = LocalDate.now().toEpochDay();
+        return nights.isFree(today, checkInDate.toEpochDay(), Math.min(checkOutDate.toEpochDay(), today + horizonDays));
+    }
+
+    public int horizonDays() {
+        return horizonDays;
+    }
+
+    /**
+     * Catches up on bookings created or changed since the watermark, or rebuilds once the rebuild interval
+     * has passed.
+     */
+    Mono<Void> refresh() {
+        if (!Instant.now().isBefore(lastRebuildAt.plus(rebuildInterval))) {
+            return rebuild();
+        }
+        Instant before = Instant.now().minus(SETTLE_DELAY);
+        return nextPage(before)
+                .expand(page -> page.size() < PAGE_SIZE ? Mono.empty() : nextPage(before))
+                .then();
+    }
+
+    /**
+     * A booking's current status says whether its nights are held, so applying a row twice is harmless.
+     */
+    private Mono<List<BookingEntity>> nextPage(Instant before) {
+        return bookingRepository.findUpdatedAfter(watermarkUpdatedAt, watermarkBookingId, before, PAGE_SIZE)
+                .collectList()
+                .doOnNext(page -> {
+                    for (BookingEntity booking : page) {
+                        if (booking.getStatus().holdsRoom()) {
+                            record(booking);
+                        } else {
+                            release(booking);
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        BookingEntity last = page.get(page.size() - 1);
+                        watermarkUpdatedAt = last.getUpdatedAt();
+                        watermarkBookingId = last.getId();
+                    }
+                });
+    }
+
+    /**
+     * Loads into a fresh map and swaps it in, so searches never see a half-built index. Local writes made
+     * meanwhile are replayed onto it, and incremental refreshes resume from just before the load started.
+     */
+    Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            Instant startedAt = Instant.now();
+            LocalDate today = LocalDate.now();
+            long horizonEnd = today.toEpochDay() + horizonDays;
+            ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>> loaded = new ConcurrentHashMap<>();
+            List<Consumer<ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>>>> writes = new ArrayList<>();
+            synchronized (this) {
+                writesDuringRebuilds.add(writes);
+            }
+
+            return bookingRepository.findAllByStatusInAndCheckOutDateAfter(BookingStatus.roomHoldingStatuses(), today)
+                    .doOnNext(booking -> room(loaded, booking.getHotelId(), booking.getRoomId()).mark(
+                            today.toEpochDay(),
+                            booking.getCheckInDate().toEpochDay(),
+                            Math.min(booking.getCheckOutDate().toEpochDay(), horizonEnd)
+                    ))
+                    .then(Mono.fromRunnable(() -> swapIn(loaded, writes, startedAt)))
+                    .doFinally(signal -> {
+                        synchronized (this) {
+                            writesDuringRebuilds.remove(writes);
+                        }
+                    })
+                    .then();
+        });
+    }
+
+    private synchronized void swapIn(
+            ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>> loaded,
+            List<Consumer<ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>>>> writes,
+            Instant startedAt
+    ) {
+        writes.forEach(change -> change.accept(loaded));
+        writesDuringRebuilds.remove(writes);
+        hotels = loaded;
+        watermarkUpdatedAt = startedAt.minus(SETTLE_DELAY);
+        watermarkBookingId = MIN_ID;
+        lastRebuildAt = startedAt;
+    }
+
+    private synchronized void write(Consumer<ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>>> change) {
+        change.accept(hotels);
+        writesDuringRebuilds.forEach(writes -> writes.add(change));
+    }
+
+    private void mark(
+            ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>> target,
+            UUID hotelId,
+            UUID roomId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate
+    ) {
+        long today = LocalDate.now().toEpochDay();
+        room(target, hotelId, roomId).mark(
+                today,
+                checkInDate.toEpochDay(),
+                Math.min(checkOutDate.toEpochDay(), today + horizonDays)
+        );
+    }
+
+    private void clear(
+            ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>> target,
+            UUID hotelId,
+            UUID roomId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate
+    ) {
+        ConcurrentMap<UUID, RoomNights> rooms = target.get(hotelId);
+        RoomNights nights = rooms == null ? null : rooms.get(roomId);
+        if (nights == null) {
+            return;
+        }
+        long today = LocalDate.now().toEpochDay();
+        nights.clear(today, checkInDate.toEpochDay(), Math.min(checkOutDate.toEpochDay(), today + horizonDays));
+    }
+
+    private static RoomNights room(
+            ConcurrentMap<UUID, ConcurrentMap<UUID, RoomNights>> hotels,
+            UUID hotelId,
+            UUID roomId
+    ) {
+        return hotels.computeIfAbsent(hotelId, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(roomId, ignored -> new RoomNights());
+    }
+
+    /**
+     * Bit {@code i} is night {@code baseEpochDay + i}; the base advances in steps so past nights are dropped.
+     */
+    static final class RoomNights {
+
+        private long baseEpochDay = Long.MIN_VALUE;
+        private BitSet nights = new BitSet();
+
+        synchronized void mark(long today, long fromEpochDay, long toEpochDay) {
+            roll(today);
+            int from = offset(fromEpochDay);
+            int to = offset(toEpochDay);
+            if (from < to) {
+                nights.set(from, to);
+            }
+        }
+
+        synchronized void clear(long today, long fromEpochDay, long toEpochDay) {
+            roll(today);
+            int from = offset(fromEpochDay);
+            int to = offset(toEpochDay);
+            if (from < to) {
+                nights.clear(from, to);
+            }
+        }
+
+        synchronized boolean isFree(long today, long fromEpochDay, long toEpochDay) {
+            roll(today);
+            int from = offset(fromEpochDay);
+            int to = offset(toEpochDay);
+            if (from >= to) {
+                return true;
+            }
+            int firstTaken = nights.nextSetBit(from);
+            return firstTaken < 0 || firstTaken >= to;
+        }
+
+        private void roll(long today) {
+            if (baseEpochDay == Long.MIN_VALUE) {
+                baseEpochDay = today;
+                return;
+            }
+            long elapsed = today - baseEpochDay;
+            if (elapsed < ROLL_STEP_DAYS) {
+                return;
+            }
+            int shift = (int) Math.min(elapsed, Integer.MAX_VALUE);
+            nights = shift >= nights.length() ? new BitSet() : nights.get(shift, nights.length());
+            baseEpochDay += shift;
+        }
+
+        private int offset(long epochDay) {
+            return (int) Math.max(epochDay - baseEpochDay, 0);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.autoguide.backend.service;
 
 import com.autoguide.backend.dto.CreateRoomRequest;
+import com.autoguide.backend.dto.PageResponse;
 import com.autoguide.backend.dto.RoomResponse;
 import com.autoguide.backend.dto.UpdateRoomRequest;
 import com.autoguide.backend.exception.NotFoundException;
@@ -15,6 +16,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -25,19 +28,34 @@ public class RoomService {
     private final RoomPresentationResolver roomPresentationResolver;
     private final HotelAccessService hotelAccessService;
     private final RoomImageStorageService roomImageStorageService;
+    private final RoomInventoryIndex roomInventoryIndex;
+    private final RoomHighlights roomHighlights;
+    private final PublicResponseCache publicResponseCache;
+    private final RoomImageVariants roomImageVariants;
+    private final UploadLimiter uploadLimiter;
 
     public RoomService(
             RoomRepository roomRepository,
             BookingRepository bookingRepository,
             RoomPresentationResolver roomPresentationResolver,
             HotelAccessService hotelAccessService,
-            RoomImageStorageService roomImageStorageService
+            RoomImageStorageService roomImageStorageService,
+            RoomInventoryIndex roomInventoryIndex,
+            RoomHighlights roomHighlights,
+            PublicResponseCache publicResponseCache,
+            RoomImageVariants roomImageVariants,
+            UploadLimiter uploadLimiter
     ) {
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
         this.roomPresentationResolver = roomPresentationResolver;
         this.hotelAccessService = hotelAccessService;
         this.roomImageStorageService = roomImageStorageService;
+        this.roomInventoryIndex = roomInventoryIndex;
+        this.roomHighlights = roomHighlights;
+        this.publicResponseCache = publicResponseCache;
+        this.roomImageVariants = roomImageVariants;
+        this.uploadLimiter = uploadLimiter;
     }
 
     public Mono<RoomResponse> create(CreateRoomRequest request) {
@@ -45,8 +63,19 @@ public class RoomService {
     }
 
     public Mono<RoomResponse> createWithUploadedImage(CreateRoomRequest request, FilePart imageFile) {
-        return roomImageStorageService.storeRoomImage(imageFile)
-                .flatMap(storedImageUrl -> createInternal(request, storedImageUrl));
+        return hotelAccessService.currentScope()
+                .flatMap(scope -> hotelAccessService.resolveHotelForWrite(scope, request.hotelId()))
+                .flatMap(hotelId -> uploadLimiter.withPermit(
+                        hotelId,
+                        createWithStoredImage(request, roomImageStorageService.storeRoomImage(imageFile))
+                ));
+    }
+
+    /**
+     * Creates the room once {@code storedImageUrl} has finished storing its image.
+     */
+    public Mono<RoomResponse> createWithStoredImage(CreateRoomRequest request, Mono<String> storedImageUrl) {
+        return storedImageUrl.flatMap(imageUrl -> createInternal(request, imageUrl));
     }
 
     private Mono<RoomResponse> createInternal(CreateRoomRequest request, String imageUrl) {
@@ -65,7 +94,10 @@ public class RoomService {
                     ));
                     entity.setCreatedAt(Instant.now());
 
-                    return roomRepository.save(entity).map(this::toResponse);
+                    return roomRepository.save(entity)
+                            .doOnNext(this::onRoomChanged)
+                            .doOnNext(roomImageVariants::schedule)
+                            .map(this::toResponse);
                 });
     }
 
@@ -82,34 +114,60 @@ public class RoomService {
         return source.switchIfEmpty(Mono.error(new NotFoundException("Room not found: " + id)));
     }
 
+    Mono<Map<UUID, RoomEntity>> getEntitiesByIds(Collection<UUID> ids, HotelAccessService.AccessScope scope) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        Flux<RoomEntity> source = scope.superAdmin()
+                ? roomRepository.findAllByIdIn(ids)
+                : roomRepository.findAllByHotelIdAndIdIn(scope.requiredHotelId(), ids);
+
+        return source.collectMap(RoomEntity::getId);
+    }
+
     public Mono<RoomResponse> getById(UUID id) {
         return getEntityById(id).map(this::toResponse);
     }
 
-    public Flux<RoomResponse> getAll() {
+    public Mono<PageResponse<RoomResponse>> getAll(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
         return hotelAccessService.currentScope()
-                .flatMapMany(scope -> {
-                    if (scope.superAdmin()) {
-                        return roomRepository.findAll();
-                    }
-                    return roomRepository.findAllByHotelId(scope.requiredHotelId());
-                })
-                .map(this::toResponse);
+                .flatMap(scope -> {
+                    KeysetCursor position = KeysetCursor.decode(cursor);
+                    Flux<RoomEntity> source = scope.superAdmin()
+                            ? roomRepository.findPage(position.createdAt(), position.id(), pageSize + 1)
+                            : roomRepository.findPageByHotelId(
+                                    scope.requiredHotelId(),
+                                    position.createdAt(),
+                                    position.id(),
+                                    pageSize + 1
+                            );
+
+                    return KeysetCursor.page(
+                            source.map(this::toResponse),
+                            pageSize,
+                            response -> new KeysetCursor(response.createdAt(), response.id())
+                    );
+                });
     }
 
     public Mono<RoomResponse> update(UUID id, UpdateRoomRequest request) {
         return hotelAccessService.currentScope()
                 .flatMap(scope -> getEntityById(id, scope))
-                .flatMap(entity -> {
-                    entity.setRoomNumber(request.roomNumber().trim());
-                    entity.setRoomType(request.roomType().trim());
-                    entity.setNightlyRate(request.nightlyRate());
-                    entity.setShortDescription(roomPresentationResolver.resolveShortDescription(
-                            request.shortDescription(),
-                            request.roomType()
-                    ));
-                    return roomRepository.save(entity).map(this::toResponse);
-                });
+                .flatMap(entity -> roomRepository.updateDetails(
+                                entity.getId(),
+                                request.roomNumber().trim(),
+                                request.roomType().trim(),
+                                request.nightlyRate(),
+                                roomPresentationResolver.resolveShortDescription(
+                                        request.shortDescription(),
+                                        request.roomType()
+                                )
+                        )
+                        .switchIfEmpty(Mono.error(new NotFoundException("Room not found: " + id))))
+                .doOnNext(this::onRoomChanged)
+                .map(this::toResponse);
     }
 
     public Mono<Void> delete(UUID id) {
@@ -123,10 +181,24 @@ public class RoomService {
                                         "Cannot delete room that has bookings"
                                 ));
                             }
-                            return roomRepository.delete(entity);
+                            return roomRepository.delete(entity)
+                                    .then(Mono.fromRunnable(() -> {
+                                        roomInventoryIndex.removeRoom(entity);
+                                        invalidatePublicViews(entity);
+                                    }));
                         }));
     }
 
+    private void onRoomChanged(RoomEntity entity) {
+        roomInventoryIndex.putRoom(entity);
+        invalidatePublicViews(entity);
+    }
+
+    private void invalidatePublicViews(RoomEntity entity) {
+        roomHighlights.invalidate(entity.getHotelId());
+        publicResponseCache.invalidate(PublicResponseCache.ROOM_HIGHLIGHTS_PATH);
+    }
+
     private RoomResponse toResponse(RoomEntity entity) {
         return new RoomResponse(
                 entity.getId(),
@@ -135,6 +207,7 @@ public class RoomService {
                 entity.getRoomType(),
                 entity.getNightlyRate(),
                 roomPresentationResolver.resolveImageUrl(entity.getImageUrl(), entity.getRoomType()),
+                entity.getImageSrcset(),
                 roomPresentationResolver.resolveShortDescription(entity.getShortDescription(), entity.getRoomType()),
                 entity.getCreatedAt()
         );
@@ -0,0 +1,90 @@
+package com.autoguide.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps concurrent image uploads globally and per hotel. Callers over the limit get 429 and retry later,
+ * instead of piling more transfers onto the server.
+ */
+@Component
+public class UploadLimiter {
+
+    private final int maxGlobal;
+    private final int maxPerHotel;
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<UUID, Integer> activePerHotel = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public UploadLimiter(
+            @Value("${app.uploads.limits.global:32}") int maxGlobal,
+            @Value("${app.uploads.limits.per-hotel:4}") int maxPerHotel,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxGlobal = maxGlobal;
+        this.maxPerHotel = maxPerHotel;
+        Gauge.builder("uploads.active", active, AtomicInteger::get).register(meterRegistry);
+        this.rejected = Counter.builder("uploads.rejected").register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot for the hotel; every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire(UUID hotelId) {
+        if (active.incrementAndGet() > maxGlobal) {
+            active.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        boolean[] acquired = {true};
+        if (hotelId != null) {
+            activePerHotel.compute(hotelId, (key, count) -> {
+                int current = count == null ? 0 : count;
+                if (current >= maxPerHotel) {
+                    acquired[0] = false;
+                    return count;
+                }
+                return current + 1;
+            });
+        }
+        if (!acquired[0]) {
+            active.decrementAndGet();
+            rejected.increment();
+        }
+        return acquired[0];
+    }
+
+    public void release(UUID hotelId) {
+        if (hotelId != null) {
+            activePerHotel.computeIfPresent(hotelId, (key, count) -> count <= 1 ? null : count - 1);
+        }
+        active.decrementAndGet();
+    }
+
+    /**
+     * Runs the upload while holding a slot, failing fast with 429 when none is free. The slot is released
+     * before the result is signalled, so a client's next request never races its previous one for it.
+     */
+    public <T> Mono<T> withPermit(UUID hotelId, Mono<T> upload) {
+        return Mono.usingWhen(
+                Mono.defer(() -> tryAcquire(hotelId) ? Mono.just(hotelId) : Mono.error(tooManyUploads())),
+                permit -> upload,
+                permit -> Mono.fromRunnable(() -> release(permit))
+        );
+    }
+
+    static ResponseStatusException tooManyUploads() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent uploads, retry later");
+    }
+}
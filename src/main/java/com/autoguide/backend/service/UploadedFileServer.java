@@ -0,0 +1,231 @@
+package com.autoguide.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Serves files under the uploads directory. Bodies go out as file regions (sendfile) when the server supports it,
+ * single byte ranges are honoured, {@code .br}/{@code .gz} siblings are preferred when the client accepts them,
+ * and content-addressed names are marked immutable.
+ */
+@Service
+public class UploadedFileServer {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(-w\\d+)?\\.[a-z0-9]+");
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path uploadsDirectory;
+    private final CacheControl defaultCacheControl;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> bytesServed = new ConcurrentHashMap<>();
+
+    public UploadedFileServer(
+            @Value("${app.uploads.base-path:${user.dir}/uploads}") String uploadsBasePath,
+            @Value("${app.uploads.serving.max-age:1h}") Duration maxAge,
+            MeterRegistry meterRegistry
+    ) {
+        this.uploadsDirectory = Paths.get(uploadsBasePath).toAbsolutePath().normalize();
+        this.defaultCacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<Void> serve(ServerWebExchange exchange, String relativePath) {
+        Path requested = uploadsDirectory.resolve(relativePath).normalize();
+        if (!requested.startsWith(uploadsDirectory) || requested.equals(uploadsDirectory) || isHidden(requested)) {
+            return notFound(exchange.getResponse());
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        boolean ranged = !request.getHeaders().getOrEmpty(HttpHeaders.RANGE).isEmpty();
+        return Mono.fromCallable(() -> select(requested, ranged ? List.of() : acceptedEncodings(request)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(file -> write(exchange, file.orElse(null)));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, StoredFile file) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        if (file == null) {
+            return notFound(response);
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(file.etag());
+        headers.setLastModified(file.lastModified());
+        headers.setCacheControl(CONTENT_ADDRESSED.matcher(file.name()).matches() ? IMMUTABLE : defaultCacheControl);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (request.getHeaders().getIfNoneMatch().stream().anyMatch(tag -> tag.equals("*") || tag.equals(file.etag()))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        headers.setContentType(MediaTypeFactory.getMediaType(file.name()).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        if (!"identity".equals(file.encoding())) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, file.encoding());
+        }
+
+        long position = 0;
+        long count = file.size();
+        HttpRange range = requestedRange(request, file);
+        if (range != null) {
+            long start = range.getRangeStart(file.size());
+            if (start >= file.size()) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+                response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                return response.setComplete();
+            }
+            long end = range.getRangeEnd(file.size());
+            position = start;
+            count = end - start + 1;
+            response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + file.size());
+        }
+        headers.setContentLength(count);
+
+        if (request.getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        if (response instanceof ZeroCopyHttpOutputMessage zeroCopy) {
+            bytesServed("zero_copy", file.encoding()).increment(count);
+            return zeroCopy.writeWith(file.path(), position, count);
+        }
+        bytesServed("buffered", file.encoding()).increment(count);
+        long offset = position;
+        return response.writeWith(DataBufferUtils.takeUntilByteCount(
+                DataBufferUtils.readAsynchronousFileChannel(
+                        () -> AsynchronousFileChannel.open(file.path(), StandardOpenOption.READ),
+                        offset,
+                        response.bufferFactory(),
+                        BUFFER_SIZE
+                ),
+                count
+        ));
+    }
+
+    /**
+     * The single range to serve, or {@code null} for the whole file. Multiple ranges and stale {@code If-Range}
+     * validators fall back to a full response, which RFC 9110 allows.
+     */
+    private static HttpRange requestedRange(ServerHttpRequest request, StoredFile file) {
+        HttpHeaders requestHeaders = request.getHeaders();
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(file.etag())) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = requestHeaders.getRange();
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Optional<StoredFile> select(Path requested, List<String> encodings) throws IOException {
+        if (!Files.isRegularFile(requested)) {
+            return Optional.empty();
+        }
+        String name = requested.getFileName().toString();
+        for (String encoding : encodings) {
+            Path sibling = requested.resolveSibling(name + ("br".equals(encoding) ? ".br" : ".gz"));
+            if (Files.isRegularFile(sibling)) {
+                return Optional.of(StoredFile.of(sibling, name, encoding));
+            }
+        }
+        return Optional.of(StoredFile.of(requested, name, "identity"));
+    }
+
+    /**
+     * {@code br} and/or {@code gzip}, in order of preference, unless excluded with {@code q=0}.
+     */
+    private static List<String> acceptedEncodings(ServerHttpRequest request) {
+        Set<String> accepted = new HashSet<>();
+        for (String header : request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String element : header.toLowerCase(Locale.ROOT).split(",")) {
+                String[] parts = element.split(";");
+                boolean excluded = Arrays.stream(parts).skip(1).map(String::trim)
+                        .anyMatch(parameter -> parameter.matches("q=0(\\.0*)?"));
+                if (!excluded) {
+                    accepted.add(parts[0].trim());
+                }
+            }
+        }
+        return Stream.of("br", "gzip").filter(accepted::contains).toList();
+    }
+
+    /**
+     * Dot-prefixed entries, such as uploads still streaming into {@code .incoming}, are never served.
+     */
+    private boolean isHidden(Path requested) {
+        for (Path segment : uploadsDirectory.relativize(requested)) {
+            if (segment.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> notFound(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_FOUND);
+        return response.setComplete();
+    }
+
+    private Counter bytesServed(String transfer, String encoding) {
+        return bytesServed.computeIfAbsent(transfer + ":" + encoding, key -> Counter.builder("http.uploads.bytes.served")
+                .baseUnit("bytes")
+                .tag("transfer", transfer)
+                .tag("encoding", encoding)
+                .register(meterRegistry));
+    }
+
+    /**
+     * @param name the requested file name; the served {@code path} may be a precompressed sibling of it
+     */
+    private record StoredFile(Path path, String name, String encoding, long size, long lastModified, String etag) {
+
+        static StoredFile of(Path path, String name, String encoding) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String suffix = "identity".equals(encoding) ? "" : "-" + encoding;
+            String tag = CONTENT_ADDRESSED.matcher(name).matches()
+                    ? name.substring(0, name.lastIndexOf('.'))
+                    : Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified);
+            return new StoredFile(path, name, encoding, attributes.size(), lastModified, "\"" + tag + suffix + "\"");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.autoguide.backend.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Objects as files under the uploads directory, served by the application itself under the public base path.
+ */
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path baseDirectory;
+    private final String publicBasePath;
+
+    public LocalObjectStorage(String basePath, String publicBasePath) {
+        this.baseDirectory = Paths.get(basePath).toAbsolutePath().normalize();
+        this.publicBasePath = normalizePublicBasePath(publicBasePath);
+    }
+
+    @Override
+    public Mono<Void> write(String key, Flux<DataBuffer> content, MediaType contentType) {
+        return Mono.fromCallable(() -> {
+                    Path target = resolve(key);
+                    Files.createDirectories(target.getParent());
+                    return target;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(target -> DataBufferUtils.write(
+                        content,
+                        target,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE
+                ));
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String key) {
+        return Mono.fromCallable(() -> resolve(key))
+                .flatMapMany(path -> DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE));
+    }
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        return Mono.fromCallable(() -> Files.isRegularFile(resolve(key)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> move(String sourceKey, String targetKey) {
+        return Mono.fromCallable(() -> {
+                    Path target = resolve(targetKey);
+                    Files.createDirectories(target.getParent());
+                    return Files.move(resolve(sourceKey), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromCallable(() -> Files.deleteIfExists(resolve(key)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Flux<String> list(String keyPrefix) {
+        return Mono.fromCallable(() -> {
+                    int slash = keyPrefix.lastIndexOf('/');
+                    Path directory = slash < 0 ? baseDirectory : resolve(keyPrefix.substring(0, slash));
+                    if (!Files.isDirectory(directory)) {
+                        return List.<String>of();
+                    }
+                    try (Stream<Path> files = Files.list(directory)) {
+                        return files.filter(Files::isRegularFile)
+                                .map(file -> baseDirectory.relativize(file).toString().replace('\\', '/'))
+                                .filter(key -> key.startsWith(keyPrefix))
+                                .toList();
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(keys -> keys);
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBasePath + "/" + key;
+    }
+
+    @Override
+    public Mono<URI> signedUrl(String key) {
+        return Mono.empty();
+    }
+
+    private Path resolve(String key) throws NoSuchFileException {
+        Path path = baseDirectory.resolve(key).normalize();
+        if (!path.startsWith(baseDirectory) || path.equals(baseDirectory)) {
+            throw new NoSuchFileException(key);
+        }
+        return path;
+    }
+
+    private static String normalizePublicBasePath(String value) {
+        String normalized = (value == null || value.isBlank()) ? "/uploads" : value.trim();
+        if (!normalized.startsWith("/")) {
+            normalized = "/" + normalized;
+        }
+        while (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,50 @@
+package com.autoguide.backend.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Backend for uploaded files, addressed by slash-separated keys such as {@code rooms/<file>}.
+ * Implementations stream content in both directions and never hold a whole object in memory.
+ */
+public interface ObjectStorage {
+
+    /**
+     * Writes the object, replacing any existing one. The content is consumed and released.
+     */
+    Mono<Void> write(String key, Flux<DataBuffer> content, MediaType contentType);
+
+    /**
+     * Object content; errors with {@link java.nio.file.NoSuchFileException} when the key does not exist.
+     */
+    Flux<DataBuffer> read(String key);
+
+    Mono<Boolean> exists(String key);
+
+    /**
+     * Renames an object, replacing the target if it exists.
+     */
+    Mono<Void> move(String sourceKey, String targetKey);
+
+    /**
+     * Deletes the object; missing keys are ignored.
+     */
+    Mono<Void> delete(String key);
+
+    Flux<String> list(String keyPrefix);
+
+    /**
+     * URL clients should use for the object, suitable for storing alongside the entity that references it.
+     */
+    String publicUrl(String key);
+
+    /**
+     * Short-lived direct URL for objects behind {@link #publicUrl} that the application does not serve itself,
+     * or empty when the application serves the object.
+     */
+    Mono<URI> signedUrl(String key);
+}
@@ -0,0 +1,212 @@
+package com.autoguide.backend.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Objects in an S3-compatible bucket. Writes are streamed as multipart uploads, so at most one part is held in
+ * memory per upload. Clients get {@code publicBaseUrl/key} when the bucket is public, otherwise the application
+ * URL, which redirects to a pre-signed GET.
+ */
+public class S3ObjectStorage implements ObjectStorage {
+
+    /**
+     * S3 rejects multipart parts below 5 MiB, except for the last one.
+     */
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3AsyncClient client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String publicBaseUrl;
+    private final String applicationBasePath;
+    private final Duration signedUrlTtl;
+    private final int partSize;
+
+    public S3ObjectStorage(
+            S3AsyncClient client,
+            S3Presigner presigner,
+            String bucket,
+            String publicBaseUrl,
+            String applicationBasePath,
+            Duration signedUrlTtl,
+            int partSize
+    ) {
+        this.client = client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.publicBaseUrl = trimTrailingSlash(publicBaseUrl);
+        this.applicationBasePath = trimTrailingSlash(applicationBasePath);
+        this.signedUrlTtl = signedUrlTtl;
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+    }
+
+    @Override
+    public Mono<Void> write(String key, Flux<DataBuffer> content, MediaType contentType) {
+        return Mono.fromFuture(() -> client.createMultipartUpload(request -> request
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType == null ? null : contentType.toString())))
+                .flatMap(upload -> uploadParts(key, upload.uploadId(), content)
+                        .flatMap(parts -> Mono.fromFuture(() -> client.completeMultipartUpload(request -> request
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(upload.uploadId())
+                                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()))))
+                        .onErrorResume(error -> Mono.fromFuture(() -> client.abortMultipartUpload(request -> request
+                                        .bucket(bucket)
+                                        .key(key)
+                                        .uploadId(upload.uploadId())))
+                                .onErrorResume(abortError -> Mono.empty())
+                                .then(Mono.error(error))))
+                .then();
+    }
+
+    /**
+     * Cuts the stream into parts of {@code partSize} bytes and uploads them one after another.
+     */
+    private Mono<List<CompletedPart>> uploadParts(String key, String uploadId, Flux<DataBuffer> content) {
+        AtomicInteger partNumber = new AtomicInteger();
+        return Flux.defer(() -> {
+                    PartBuffer pending = new PartBuffer();
+                    return content
+                            .concatMapIterable(buffer -> {
+                                try {
+                                    return pending.append(buffer, partSize);
+                                } finally {
+                                    DataBufferUtils.release(buffer);
+                                }
+                            })
+                            .concatWith(Mono.fromSupplier(pending::last));
+                })
+                .concatMap(part -> {
+                    int number = partNumber.incrementAndGet();
+                    return Mono.fromFuture(() -> client.uploadPart(
+                                    request -> request
+                                            .bucket(bucket)
+                                            .key(key)
+                                            .uploadId(uploadId)
+                                            .partNumber(number)
+                                            .contentLength((long) part.length),
+                                    AsyncRequestBody.fromBytes(part)))
+                            .map(response -> CompletedPart.builder().partNumber(number).eTag(response.eTag()).build());
+                })
+                .collectList();
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String key) {
+        return Mono.fromFuture(() -> client.getObject(
+                        request -> request.bucket(bucket).key(key),
+                        AsyncResponseTransformer.toPublisher()))
+                .onErrorMap(NoSuchKeyException.class, error -> new NoSuchFileException(key))
+                .flatMapMany(Flux::from)
+                .map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        return Mono.fromFuture(() -> client.headObject(request -> request.bucket(bucket).key(key)))
+                .map(response -> true)
+                .onErrorResume(S3Exception.class, error -> error.statusCode() == 404
+                        ? Mono.just(false)
+                        : Mono.error(error));
+    }
+
+    @Override
+    public Mono<Void> move(String sourceKey, String targetKey) {
+        return Mono.fromFuture(() -> client.copyObject(request -> request
+                        .sourceBucket(bucket)
+                        .sourceKey(sourceKey)
+                        .destinationBucket(bucket)
+                        .destinationKey(targetKey)))
+                .then(delete(sourceKey));
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromFuture(() -> client.deleteObject(request -> request.bucket(bucket).key(key)))
+                .then();
+    }
+
+    @Override
+    public Flux<String> list(String keyPrefix) {
+        return Flux.from(client.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(keyPrefix)).contents())
+                .map(S3Object::key);
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return (publicBaseUrl.isEmpty() ? applicationBasePath : publicBaseUrl) + "/" + key;
+    }
+
+    @Override
+    public Mono<URI> signedUrl(String key) {
+        if (!publicBaseUrl.isEmpty()) {
+            return Mono.just(URI.create(publicUrl(key)));
+        }
+        return Mono.fromCallable(() -> presigner.presignGetObject(request -> request
+                        .signatureDuration(signedUrlTtl)
+                        .getObjectRequest(get -> get.bucket(bucket).key(key)))
+                .url()
+                .toURI());
+    }
+
+    private static String trimTrailingSlash(String value) {
+        String trimmed = value == null ? "" : value.trim();
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Bytes not yet sent in a part; only touched from the serialized upstream signals of one upload.
+     */
+    private static final class PartBuffer {
+
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int parts;
+
+        List<byte[]> append(DataBuffer buffer, int partSize) {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            bytes.write(chunk, 0, chunk.length);
+            return bytes.size() >= partSize ? List.of(drain()) : List.of();
+        }
+
+        /**
+         * The trailing part, or {@code null} when everything has been sent; an empty object still needs one part.
+         */
+        byte[] last() {
+            return bytes.size() == 0 && parts > 0 ? null : drain();
+        }
+
+        private byte[] drain() {
+            byte[] part = bytes.toByteArray();
+            bytes = new ByteArrayOutputStream();
+            parts++;
+            return part;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS stay DATERANGE
+        GENERATED ALWAYS AS (daterange(check_in_date, check_out_date, '[)')) STORED;
+
+-- The constraint below cannot be added while active bookings of one room already overlap. Fail with the
+-- offending pairs instead of Postgres' generic "could not create exclusion constraint" error.
+--
+-- Remediation: list the pairs with
+--   SELECT a.id, b.id, a.room_id, a.stay, b.stay
+--   FROM bookings a
+--   JOIN bookings b ON b.room_id = a.room_id AND b.id > a.id AND b.stay && a.stay
+--   WHERE a.status IN ('CREATED', 'CONFIRMED', 'CHECKED_IN')
+--     AND b.status IN ('CREATED', 'CONFIRMED', 'CHECKED_IN');
+-- then move or cancel (status = 'CANCELLED') one booking of each pair and rerun the migration.
+DO $$
+DECLARE
+    conflicts BIGINT;
+    sample TEXT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_room_stay') THEN
+        WITH overlaps AS (
+            SELECT a.id AS first_id, b.id AS second_id
+            FROM bookings a
+            JOIN bookings b ON b.room_id = a.room_id AND b.id > a.id AND b.stay && a.stay
+            WHERE a.status IN ('CREATED', 'CONFIRMED', 'CHECKED_IN')
+              AND b.status IN ('CREATED', 'CONFIRMED', 'CHECKED_IN')
+        )
+        SELECT (SELECT count(*) FROM overlaps),
+               (SELECT string_agg(first_id || ' / ' || second_id, ', ')
+                FROM (SELECT * FROM overlaps ORDER BY first_id, second_id LIMIT 10) sampled)
+        INTO conflicts, sample;
+
+        IF conflicts > 0 THEN
+            RAISE EXCEPTION 'Cannot add ex_bookings_room_stay: % pair(s) of active bookings overlap on the same room', conflicts
+                USING DETAIL = 'Overlapping booking ids (first pairs): ' || sample,
+                      HINT = 'Cancel or move one booking of each pair, then rerun the migration; see V10__booking_stay_exclusion.sql.';
+        END IF;
+    END IF;
+END
+$$;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_room_stay') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT ex_bookings_room_stay
+                EXCLUDE USING gist (room_id WITH =, stay WITH &&)
+                WHERE (status IN ('CREATED', 'CONFIRMED', 'CHECKED_IN'));
+    END IF;
+END
+$$;
@@ -0,0 +1,10 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_created_at_id ON bookings(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_hotel_created_at_id ON bookings(hotel_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_created_at_id ON bookings(status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_hotel_status_created_at_id ON bookings(hotel_id, status, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_guests_created_at_id ON guests(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_guests_hotel_created_at_id ON guests(hotel_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_rooms_created_at_id ON rooms(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_rooms_hotel_created_at_id ON rooms(hotel_id, created_at, id);
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS booking_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    booking_id UUID NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    available_at TIMESTAMPTZ NOT NULL,
+    attempts INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_outbox_available_at_id ON booking_outbox(available_at, id);
@@ -0,0 +1,23 @@
+CREATE OR REPLACE FUNCTION notify_hotel_user_scope_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        PERFORM pg_notify('hotel_user_scopes_changed', '');
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('hotel_user_scopes_changed', OLD.username);
+    ELSE
+        PERFORM pg_notify('hotel_user_scopes_changed', NEW.username);
+        IF TG_OP = 'UPDATE' AND OLD.username <> NEW.username THEN
+            PERFORM pg_notify('hotel_user_scopes_changed', OLD.username);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER hotel_user_scopes_changed
+    AFTER INSERT OR UPDATE OR DELETE ON hotel_user_scopes
+    FOR EACH ROW EXECUTE FUNCTION notify_hotel_user_scope_change();
+
+CREATE TRIGGER hotel_user_scopes_truncated
+    AFTER TRUNCATE ON hotel_user_scopes
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_hotel_user_scope_change();
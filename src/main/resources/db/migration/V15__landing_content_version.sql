@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS landing_content_version (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO landing_content_version (id, version, updated_at)
+VALUES (1, 1, now())
+ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_landing_content_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE landing_content_version SET version = version + 1, updated_at = now() WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER landing_amenities_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON landing_amenities
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_landing_content_version();
+
+CREATE TRIGGER landing_offers_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON landing_offers
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_landing_content_version();
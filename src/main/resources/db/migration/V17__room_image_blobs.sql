@@ -0,0 +1,38 @@
+CREATE TABLE IF NOT EXISTS room_image_blobs (
+    file_name TEXT PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL,
+    last_used_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_room_image_blobs_unreferenced
+    ON room_image_blobs (last_used_at)
+    WHERE ref_count = 0;
+
+CREATE OR REPLACE FUNCTION room_image_blob_name(image_url TEXT) RETURNS TEXT AS $$
+    SELECT regexp_replace(image_url, '^.*/', '');
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION count_room_image_blob_refs() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.image_url IS NOT DISTINCT FROM NEW.image_url THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.image_url IS NOT NULL THEN
+        UPDATE room_image_blobs
+        SET ref_count = GREATEST(ref_count - 1, 0), last_used_at = now()
+        WHERE file_name = room_image_blob_name(OLD.image_url);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.image_url IS NOT NULL THEN
+        UPDATE room_image_blobs
+        SET ref_count = ref_count + 1, last_used_at = now()
+        WHERE file_name = room_image_blob_name(NEW.image_url);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER rooms_image_blob_refs
+    AFTER INSERT OR DELETE OR UPDATE OF image_url ON rooms
+    FOR EACH ROW EXECUTE FUNCTION count_room_image_blob_refs();
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_updated_at_id ON bookings(updated_at, id);
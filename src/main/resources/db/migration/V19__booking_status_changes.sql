@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS booking_status_changes (
+    id BIGSERIAL PRIMARY KEY,
+    booking_id UUID NOT NULL REFERENCES bookings(id) ON DELETE CASCADE,
+    old_status VARCHAR(30) NOT NULL,
+    new_status VARCHAR(30) NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_status_changes_changed_at_id ON booking_status_changes(changed_at, id);
+
+-- Bookings are counted when created, so every booking cancelled before this table existed needs the change
+-- that took it out again.
+INSERT INTO booking_status_changes (booking_id, old_status, new_status, changed_at)
+SELECT id, 'CREATED', 'CANCELLED', updated_at
+FROM bookings
+WHERE status = 'CANCELLED';
@@ -0,0 +1,10 @@
+-- PENDING events are leased by pushing available_at past the dispatch; DEAD events ran out of attempts and
+-- stay for inspection. delivered_to lists the handlers that already succeeded, so a retry skips them.
+ALTER TABLE booking_outbox
+    ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    ADD COLUMN IF NOT EXISTS delivered_to TEXT[] NOT NULL DEFAULT '{}';
+
+DROP INDEX IF EXISTS idx_booking_outbox_available_at_id;
+CREATE INDEX IF NOT EXISTS idx_booking_outbox_pending_available_at_id
+    ON booking_outbox(available_at, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,37 @@
+CREATE OR REPLACE FUNCTION notify_room_inventory_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        PERFORM pg_notify('room_inventory_changed', '');
+    ELSIF TG_TABLE_NAME = 'hotels' THEN
+        IF TG_OP = 'DELETE' THEN
+            PERFORM pg_notify('room_inventory_changed', 'hotel:' || OLD.id);
+        ELSE
+            PERFORM pg_notify('room_inventory_changed', 'hotel:' || NEW.id);
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('room_inventory_changed', 'room:' || OLD.hotel_id || ':' || OLD.id);
+    ELSE
+        PERFORM pg_notify('room_inventory_changed', 'room:' || NEW.hotel_id || ':' || NEW.id);
+        IF TG_OP = 'UPDATE' AND OLD.hotel_id IS DISTINCT FROM NEW.hotel_id THEN
+            PERFORM pg_notify('room_inventory_changed', 'room:' || OLD.hotel_id || ':' || OLD.id);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER hotels_inventory_changed
+    AFTER INSERT OR UPDATE OR DELETE ON hotels
+    FOR EACH ROW EXECUTE FUNCTION notify_room_inventory_change();
+
+CREATE TRIGGER hotels_inventory_truncated
+    AFTER TRUNCATE ON hotels
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_room_inventory_change();
+
+CREATE TRIGGER rooms_inventory_changed
+    AFTER INSERT OR UPDATE OR DELETE ON rooms
+    FOR EACH ROW EXECUTE FUNCTION notify_room_inventory_change();
+
+CREATE TRIGGER rooms_inventory_truncated
+    AFTER TRUNCATE ON rooms
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_room_inventory_change();
@@ -0,0 +1,64 @@
+package com.autoguide.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingJwtAuthenticationManagerTest {
+
+    @Test
+    void repeatedTokenShouldSkipVerificationUntilItExpires() {
+        AtomicInteger verifications = new AtomicInteger();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReactiveAuthenticationManager delegate = authentication -> {
+            verifications.incrementAndGet();
+            String token = ((BearerTokenAuthenticationToken) authentication).getToken();
+            if (token.startsWith("bad")) {
+                return Mono.error(new BadCredentialsException("invalid"));
+            }
+            Instant expiresAt = token.startsWith("expired") ? Instant.now().minusSeconds(1) : Instant.now().plusSeconds(300);
+            return Mono.just(authenticated(token, expiresAt));
+        };
+        CachingJwtAuthenticationManager manager =
+                new CachingJwtAuthenticationManager(delegate, meterRegistry, 100, Duration.ofMinutes(15));
+
+        StepVerifier.create(manager.authenticate(bearer("valid"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(manager.authenticate(bearer("valid"))).expectNextCount(1).verifyComplete();
+        assertEquals(1, verifications.get());
+
+        StepVerifier.create(manager.authenticate(bearer("bad"))).verifyError(BadCredentialsException.class);
+        StepVerifier.create(manager.authenticate(bearer("bad"))).verifyError(BadCredentialsException.class);
+        StepVerifier.create(manager.authenticate(bearer("expired"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(manager.authenticate(bearer("expired"))).expectNextCount(1).verifyComplete();
+        assertEquals(5, verifications.get());
+        assertEquals(1.0, meterRegistry.counter("security.jwt.cache.requests", "result", "hit").count());
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token) {
+        return new BearerTokenAuthenticationToken(token);
+    }
+
+    private static Authentication authenticated(String token, Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("operator")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of(), "operator");
+    }
+}
@@ -0,0 +1,146 @@
+package com.autoguide.backend.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwkSetCacheTest {
+
+    private static RSAKey first;
+    private static RSAKey rotated;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        first = new RSAKeyGenerator(2048).keyID("first").generate();
+        rotated = new RSAKeyGenerator(2048).keyID("rotated").generate();
+    }
+
+    @Test
+    void unknownKidShouldRefetchAtMostOncePerInterval() {
+        AtomicReference<JWKSet> published = new AtomicReference<>(new JWKSet(first));
+        JwkSetCache cache = cache(() -> Mono.just(ok(published.get())));
+
+        assertEquals(List.of("first"), kids(cache, "first"));
+        assertEquals(1, fetches.get());
+        assertEquals(List.of("first"), kids(cache, "first"));
+        assertEquals(1, fetches.get());
+
+        published.set(new JWKSet(List.of(first, rotated)));
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(kids(cache, "rotated").isEmpty());
+        assertTrue(kids(cache, "rotated").isEmpty());
+        assertEquals(1, fetches.get());
+
+        clock.advance(Duration.ofSeconds(21));
+        assertEquals(List.of("rotated"), kids(cache, "rotated"));
+        assertEquals(2, fetches.get());
+        assertTrue(kids(cache, "unknown").isEmpty());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void concurrentLookupsShouldShareOneFetch() {
+        Sinks.One<ClientResponse> response = Sinks.one();
+        JwkSetCache cache = cache(response::asMono);
+
+        Mono<List<String>> firstLookup = cache.select(jwt("first")).map(JWK::getKeyID).collectList().cache();
+        Mono<List<String>> secondLookup = cache.select(jwt("first")).map(JWK::getKeyID).collectList().cache();
+        Mono<List<String>> rotatedLookup = cache.select(jwt("rotated")).map(JWK::getKeyID).collectList().cache();
+        firstLookup.subscribe();
+        secondLookup.subscribe();
+        rotatedLookup.subscribe();
+        assertEquals(1, fetches.get());
+
+        response.tryEmitValue(ok(new JWKSet(List.of(first, rotated))));
+
+        assertEquals(List.of("first"), firstLookup.block(Duration.ofSeconds(5)));
+        assertEquals(List.of("first"), secondLookup.block(Duration.ofSeconds(5)));
+        assertEquals(List.of("rotated"), rotatedLookup.block(Duration.ofSeconds(5)));
+        assertEquals(1, fetches.get());
+    }
+
+    private JwkSetCache cache(Supplier<Mono<ClientResponse>> responses) {
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            fetches.incrementAndGet();
+            return responses.get();
+        });
+        return new JwkSetCache(true, "http://idp.test/certs", Duration.ofMinutes(5), webClient, clock);
+    }
+
+    private static List<String> kids(JwkSetCache cache, String kid) {
+        return cache.select(jwt(kid)).map(JWK::getKeyID).collectList().block(Duration.ofSeconds(5));
+    }
+
+    private static SignedJWT jwt(String kid) {
+        return new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build(),
+                new JWTClaimsSet.Builder().subject("operator").build()
+        );
+    }
+
+    private static ClientResponse ok(JWKSet keys) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(keys.toPublicJWKSet().toString())
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.autoguide.backend.config;
+
+import com.autoguide.backend.model.BookingRecommendationDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexConfigTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private ReactiveIndexOperations indexOperations;
+
+    @Test
+    void declaredCompoundIndexShouldBeResolvedAndApplied() {
+        when(mongoTemplate.indexOps(BookingRecommendationDocument.class)).thenReturn(indexOperations);
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        when(indexOperations.ensureIndex(index.capture())).thenReturn(Mono.just("booking_generated_at_idx"));
+
+        List<String> ensured = config().ensureIndexes().collectList().block();
+
+        assertEquals(List.of("booking_generated_at_idx"), ensured);
+        assertEquals(new Document("bookingId", 1).append("generatedAt", -1), index.getValue().getIndexKeys());
+        assertEquals("booking_generated_at_idx", index.getValue().getIndexOptions().getString("name"));
+    }
+
+    @Test
+    void failedCreationShouldBeRetried() {
+        when(mongoTemplate.indexOps(BookingRecommendationDocument.class)).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(IndexDefinition.class)))
+                .thenReturn(Mono.error(new IllegalStateException("mongo unavailable")))
+                .thenReturn(Mono.just("booking_generated_at_idx"));
+        MongoIndexConfig config = config();
+
+        config.createIndexes();
+
+        verify(indexOperations, timeout(10_000).times(2)).ensureIndex(any(IndexDefinition.class));
+        config.stopCreatingIndexes();
+    }
+
+    private MongoIndexConfig config() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return new MongoIndexConfig(mongoTemplate, mappingContext);
+    }
+}
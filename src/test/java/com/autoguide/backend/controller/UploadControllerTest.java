@@ -0,0 +1,58 @@
+package com.autoguide.backend.controller;
+
+import com.autoguide.backend.repository.r2dbc.RoomImageBlobRepository;
+import com.autoguide.backend.service.RoomImageStorageService;
+import com.autoguide.backend.service.UploadedFileServer;
+import com.autoguide.backend.storage.ObjectStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UploadControllerTest {
+
+    private final ObjectStorage objectStorage = mock(ObjectStorage.class);
+    private final UploadedFileServer uploadedFileServer = mock(UploadedFileServer.class);
+    private final UploadController controller = new UploadController(
+            uploadedFileServer,
+            objectStorage,
+            new RoomImageStorageService(objectStorage, mock(RoomImageBlobRepository.class), mock(TransactionalOperator.class), new SimpleMeterRegistry())
+    );
+
+    @Test
+    void roomImageShouldRedirectToSignedUrl() {
+        URI signed = URI.create("https://bucket.example/rooms/abc.jpg?X-Amz-Signature=1");
+        when(objectStorage.signedUrl("rooms/abc.jpg")).thenReturn(Mono.just(signed));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/uploads/rooms/abc.jpg"));
+        controller.getUpload("/rooms/abc.jpg", exchange).block();
+
+        assertEquals(HttpStatus.FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(signed, exchange.getResponse().getHeaders().getLocation());
+    }
+
+    @Test
+    void incomingUploadsShouldNeverBeSigned() {
+        for (String path : new String[] {"/.incoming/abc.part", "/rooms/../.incoming/abc.part", "/other/abc.jpg"}) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/uploads" + path));
+            controller.getUpload(path, exchange).block();
+
+            assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        }
+        verify(objectStorage, never()).signedUrl(anyString());
+        verifyNoInteractions(uploadedFileServer);
+    }
+}
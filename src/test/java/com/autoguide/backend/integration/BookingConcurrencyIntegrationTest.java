@@ -0,0 +1,181 @@
+package com.autoguide.backend.integration;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.dto.CreateRoomRequest;
+import com.autoguide.backend.dto.PublicCreateBookingRequest;
+import com.autoguide.backend.dto.RoomResponse;
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.service.BookingService;
+import com.autoguide.backend.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class BookingConcurrencyIntegrationTest {
+
+    private static final int ATTEMPTS = 2000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("autoguide")
+            .withUsername("autoguide")
+            .withPassword("autoguide");
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> String.format("r2dbc:postgresql://%s:%d/%s",
+                POSTGRES.getHost(),
+                POSTGRES.getMappedPort(5432),
+                POSTGRES.getDatabaseName()));
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+
+        registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES::getUsername);
+        registry.add("spring.flyway.password", POSTGRES::getPassword);
+
+        registry.add("spring.data.mongodb.uri", MONGO::getReplicaSetUrl);
+
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void parallelPublicCreatesShouldNeverOverlapForSameRoom() {
+        List<RoomResponse> rooms = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rooms.add(roomService.create(new CreateRoomRequest("STRESS-" + i, "STANDARD", new BigDecimal("90.00"))).block());
+        }
+
+        List<BookingResponse> created = Flux.range(0, ATTEMPTS)
+                .flatMap(i -> bookingService.createPublicPrepaid(randomRequest(rooms, i))
+                        .onErrorResume(this::isConflict, error -> Mono.empty()), 256)
+                .collectList()
+                .block(Duration.ofMinutes(2));
+
+        assertThat(created).isNotEmpty();
+
+        List<UUID> roomIds = rooms.stream().map(RoomResponse::id).toList();
+        Map<UUID, List<BookingEntity>> byRoom = bookingRepository.findAll()
+                .filter(booking -> roomIds.contains(booking.getRoomId()))
+                .filter(booking -> booking.getStatus().holdsRoom())
+                .collect(Collectors.groupingBy(BookingEntity::getRoomId))
+                .block();
+
+        assertThat(byRoom.values().stream().mapToInt(List::size).sum()).isEqualTo(created.size());
+        for (List<BookingEntity> stays : byRoom.values()) {
+            stays.sort(Comparator.comparing(BookingEntity::getCheckInDate));
+            for (int i = 1; i < stays.size(); i++) {
+                assertThat(stays.get(i).getCheckInDate()).isAfterOrEqualTo(stays.get(i - 1).getCheckOutDate());
+            }
+        }
+    }
+
+    @Test
+    void databaseShouldRejectOverlapEvenWhenIndexIsBypassed() {
+        RoomResponse room = roomService.create(new CreateRoomRequest("STRESS-DB", "STANDARD", new BigDecimal("90.00"))).block();
+        BookingResponse first = bookingService.createPublicPrepaid(new PublicCreateBookingRequest(
+                "Constraint Guest",
+                "constraint.guest@example.com",
+                room.id(),
+                LocalDate.now().plusDays(10),
+                LocalDate.now().plusDays(14),
+                "CARD",
+                new BigDecimal("1000.00"),
+                null
+        )).block();
+
+        Instant now = Instant.now();
+        BookingEntity overlapping = new BookingEntity(
+                null,
+                first.hotelId(),
+                first.guestId(),
+                room.id(),
+                LocalDate.now().plusDays(12),
+                LocalDate.now().plusDays(13),
+                BookingStatus.CREATED,
+                new BigDecimal("90.00"),
+                BigDecimal.ZERO,
+                BookingPaymentStatus.UNPAID,
+                null,
+                null,
+                false,
+                now,
+                now
+        );
+
+        assertThatThrownBy(() -> bookingRepository.save(overlapping).block())
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("ex_bookings_room_stay");
+    }
+
+    private PublicCreateBookingRequest randomRequest(List<RoomResponse> rooms, int attempt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(1, 60));
+        return new PublicCreateBookingRequest(
+                "Stress Guest",
+                "stress.guest." + (attempt % 20) + "@example.com",
+                rooms.get(random.nextInt(rooms.size())).id(),
+                checkIn,
+                checkIn.plusDays(random.nextInt(1, 5)),
+                "CARD",
+                new BigDecimal("1000.00"),
+                null
+        );
+    }
+
+    private boolean isConflict(Throwable error) {
+        return error instanceof ResponseStatusException statusException
+                && statusException.getStatusCode().value() == HttpStatus.CONFLICT.value();
+    }
+}
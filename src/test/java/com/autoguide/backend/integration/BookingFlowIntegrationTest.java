@@ -22,8 +22,10 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -98,9 +100,11 @@ class BookingFlowIntegrationTest {
         ).block();
 
         BookingResponse loadedBooking = bookingService.getById(createdBooking.id()).block();
-        List<BookingRecommendationResponse> recommendations = bookingRecommendationService
-                .getByBookingId(createdBooking.id())
-                .collectList()
+        List<BookingRecommendationResponse> recommendations = Mono.defer(() -> bookingRecommendationService
+                        .getByBookingId(createdBooking.id())
+                        .collectList())
+                .filter(found -> !found.isEmpty())
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(200)).take(50))
                 .block();
 
         assertThat(createdBooking).isNotNull();
@@ -0,0 +1,109 @@
+package com.autoguide.backend.integration;
+
+import com.autoguide.backend.storage.S3ObjectStorage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers(disabledWithoutDocker = true)
+class S3ObjectStorageIntegrationTest {
+
+    private static final String BUCKET = "autoguide-uploads";
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-10-13T13-34-11Z");
+
+    private static S3AsyncClient client;
+    private static S3Presigner presigner;
+    private static S3ObjectStorage storage;
+
+    @BeforeAll
+    static void setUp() {
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword()));
+        URI endpoint = URI.create(MINIO.getS3URL());
+        client = S3AsyncClient.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .endpointOverride(endpoint)
+                .forcePathStyle(true)
+                .build();
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .endpointOverride(endpoint)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        client.createBucket(request -> request.bucket(BUCKET)).join();
+        storage = new S3ObjectStorage(client, presigner, BUCKET, "", "/uploads", Duration.ofMinutes(5), 0);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+        presigner.close();
+    }
+
+    @Test
+    void multipartWriteMoveReadAndDeleteShouldRoundTrip() throws Exception {
+        byte[] content = new byte[12 * 1024 * 1024 + 123];
+        new Random(7).nextBytes(content);
+        Flux<DataBuffer> chunks = Flux.range(0, (content.length + 65535) / 65536)
+                .map(index -> DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(content, index * 65536,
+                        Math.min(65536, content.length - index * 65536))));
+
+        storage.write(".incoming/upload.part", chunks, MediaType.IMAGE_JPEG).block();
+        storage.move(".incoming/upload.part", "rooms/photo.jpg").block();
+
+        assertThat(storage.exists(".incoming/upload.part").block()).isFalse();
+        assertThat(storage.exists("rooms/photo.jpg").block()).isTrue();
+        assertThat(storage.list("rooms/photo").collectList().block()).containsExactly("rooms/photo.jpg");
+        assertThat(storage.publicUrl("rooms/photo.jpg")).isEqualTo("/uploads/rooms/photo.jpg");
+
+        DataBuffer joined = DataBufferUtils.join(storage.read("rooms/photo.jpg")).block();
+        byte[] read = new byte[joined.readableByteCount()];
+        joined.read(read);
+        assertThat(read).isEqualTo(content);
+
+        URI signed = storage.signedUrl("rooms/photo.jpg").block();
+        try (InputStream input = signed.toURL().openStream()) {
+            assertThat(input.readAllBytes()).isEqualTo(content);
+        }
+
+        storage.delete("rooms/photo.jpg").block();
+        assertThatThrownBy(() -> storage.read("rooms/photo.jpg").blockLast())
+                .hasCauseInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void emptyObjectShouldBeWritable() {
+        storage.write("rooms/empty.txt", Flux.empty(), MediaType.TEXT_PLAIN).block();
+
+        assertThat(storage.exists("rooms/empty.txt").block()).isTrue();
+        assertThat(DataBufferUtils.join(storage.read("rooms/empty.txt")).map(DataBuffer::readableByteCount).block()).isZero();
+    }
+}
@@ -0,0 +1,244 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.controller.BookingController;
+import com.autoguide.backend.model.BookingStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExportServiceTest {
+
+    private static final UUID HOTEL_ID = UUID.randomUUID();
+    private static final int FETCH_SIZE = 50;
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec spec;
+
+    @Mock
+    private HotelAccessService hotelAccessService;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final Map<String, Object> bindings = new HashMap<>();
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private UnaryOperator<Statement> statementFilter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(databaseClient.sql(anyString())).thenReturn(spec);
+        lenient().when(spec.filter(any(Function.class))).thenAnswer(invocation -> {
+            Function<Statement, Statement> filter = invocation.getArgument(0);
+            statementFilter = filter::apply;
+            return spec;
+        });
+        lenient().when(spec.bind(anyString(), any())).thenAnswer(invocation -> {
+            bindings.put(invocation.getArgument(0), invocation.getArgument(1));
+            return spec;
+        });
+        lenient().when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+            Function<Readable, Object> mapper = invocation.getArgument(0);
+            RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+            when(fetch.all()).thenReturn(Flux.fromIterable(rows).map(row -> mapper.apply(readable(row))));
+            return fetch;
+        });
+    }
+
+    @Test
+    void filtersShouldBeBoundAndScopedToTheCallersHotel() {
+        scope(HotelAccessService.AccessScope.scoped("admin", HOTEL_ID));
+        UUID afterId = UUID.randomUUID();
+
+        service(256).exportNdjson(null, BookingStatus.CONFIRMED, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1),
+                afterId, DefaultDataBufferFactory.sharedInstance).blockLast();
+
+        String sql = executedSql();
+        assertTrue(sql.contains("WHERE b.id > :afterId"), sql);
+        assertTrue(sql.contains("AND b.hotel_id = :hotelId"), sql);
+        assertTrue(sql.contains("AND b.status = :status"), sql);
+        assertTrue(sql.contains("AND b.check_in_date >= :from"), sql);
+        assertTrue(sql.contains("AND b.check_in_date < :to"), sql);
+        assertTrue(sql.endsWith("ORDER BY b.id"), sql);
+        assertEquals(Map.of(
+                "afterId", afterId,
+                "hotelId", HOTEL_ID,
+                "status", "CONFIRMED",
+                "from", LocalDate.of(2026, 7, 1),
+                "to", LocalDate.of(2026, 8, 1)
+        ), bindings);
+
+        Statement statement = mock(Statement.class);
+        statementFilter.apply(statement);
+        verify(statement).fetchSize(FETCH_SIZE);
+    }
+
+    @Test
+    void superAdminWithoutFiltersShouldExportEverythingFromTheStart() {
+        scope(HotelAccessService.AccessScope.superAdmin("root"));
+
+        service(256).exportNdjson(null, null, null, null, null, DefaultDataBufferFactory.sharedInstance).blockLast();
+
+        String sql = executedSql();
+        assertFalse(sql.contains(":hotelId"), sql);
+        assertFalse(sql.contains(":status"), sql);
+        assertEquals(Map.of("afterId", new UUID(0, 0)), bindings);
+    }
+
+    @Test
+    void emptyDateRangeShouldBeRejected() {
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, () -> service(256)
+                .exportNdjson(null, null, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 1), null,
+                        DefaultDataBufferFactory.sharedInstance)
+                .blockLast());
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+    }
+
+    @Test
+    void rowsShouldBeFlushedInChunksOfNdjsonLines() {
+        scope(HotelAccessService.AccessScope.superAdmin("root"));
+        for (int i = 1; i <= 5; i++) {
+            rows.add(row(new UUID(0, i)));
+        }
+
+        List<String> chunks = service(2)
+                .exportNdjson(null, null, null, null, null, DefaultDataBufferFactory.sharedInstance)
+                .concatMap(Function.identity())
+                .map(BookingExportServiceTest::text)
+                .collectList()
+                .block();
+
+        assertEquals(3, chunks.size());
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(chunk -> chunk.split("\n").length).toList());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.endsWith("\n")));
+        assertEquals(new UUID(0, 5).toString(), lines(String.join("", chunks)).get(4).get("id").asText());
+    }
+
+    @Test
+    void exportEndpointShouldStreamNdjsonThatResumesAfterTheLastId() {
+        scope(HotelAccessService.AccessScope.superAdmin("root"));
+        UUID lastReceived = new UUID(0, 1);
+        UUID second = new UUID(0, 2);
+        UUID third = new UUID(0, 3);
+        rows.add(row(second));
+        rows.add(row(third));
+        WebTestClient client = WebTestClient
+                .bindToController(new BookingController(mock(BookingService.class), service(1)))
+                .build();
+
+        String body = client.get()
+                .uri("/api/v1/bookings/export?afterId={afterId}", lastReceived)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(lastReceived, bindings.get("afterId"));
+        List<JsonNode> lines = lines(body);
+        assertEquals(List.of(second.toString(), third.toString()), lines.stream().map(line -> line.get("id").asText()).toList());
+        assertEquals("2026-07-10", lines.get(1).get("checkInDate").asText());
+        assertEquals("CONFIRMED", lines.get(1).get("status").asText());
+    }
+
+    private BookingExportService service(int chunkRows) {
+        return new BookingExportService(databaseClient, hotelAccessService, objectMapper, FETCH_SIZE, chunkRows);
+    }
+
+    private void scope(HotelAccessService.AccessScope scope) {
+        when(hotelAccessService.currentScope()).thenReturn(Mono.just(scope));
+    }
+
+    private String executedSql() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        return sql.getValue().strip();
+    }
+
+    private List<JsonNode> lines(String body) {
+        return body.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> row(UUID id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("hotel_id", HOTEL_ID);
+        row.put("guest_id", UUID.randomUUID());
+        row.put("guest_full_name", "Ana Silva");
+        row.put("room_id", UUID.randomUUID());
+        row.put("room_number", "101");
+        row.put("check_in_date", LocalDate.of(2026, 7, 10));
+        row.put("check_out_date", LocalDate.of(2026, 7, 12));
+        row.put("status", "CONFIRMED");
+        row.put("total_amount", new BigDecimal("200.00"));
+        row.put("prepayment_amount", BigDecimal.ZERO);
+        row.put("payment_status", "UNPAID");
+        row.put("prepaid", false);
+        row.put("created_at", Instant.parse("2026-06-01T10:00:00Z"));
+        row.put("updated_at", Instant.parse("2026-06-01T10:00:00Z"));
+        return row;
+    }
+
+    private static Readable readable(Map<String, Object> row) {
+        Readable readable = mock(Readable.class);
+        when(readable.get(anyString(), any(Class.class)))
+                .thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        return readable;
+    }
+}
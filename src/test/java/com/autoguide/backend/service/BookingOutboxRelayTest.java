@@ -0,0 +1,141 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEventType;
+import com.autoguide.backend.model.BookingOutboxEvent;
+import com.autoguide.backend.repository.r2dbc.BookingOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingOutboxRelayTest {
+
+    @Mock
+    private BookingOutboxRepository bookingOutboxRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private BookingEventHandler createdHandler;
+
+    @Mock
+    private BookingEventHandler statusHandler;
+
+    @Mock
+    private BookingEventHandler auditHandler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ArgumentCaptor<Instant> lease = ArgumentCaptor.captor();
+    private BookingOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(createdHandler.eventTypes()).thenReturn(Set.of(BookingEventType.BOOKING_CREATED));
+        when(statusHandler.eventTypes()).thenReturn(Set.of(BookingEventType.BOOKING_STATUS_CHANGED));
+        when(auditHandler.eventTypes()).thenReturn(Set.of(BookingEventType.BOOKING_STATUS_CHANGED));
+        lenient().when(createdHandler.name()).thenReturn("created");
+        lenient().when(statusHandler.name()).thenReturn("status");
+        lenient().when(auditHandler.name()).thenReturn("audit");
+        lenient().when(auditHandler.handle(any())).thenReturn(Mono.empty());
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(bookingOutboxRepository.delete(any(), any(Instant.class))).thenReturn(Mono.empty());
+        lenient().when(bookingOutboxRepository.countDue(any(Instant.class))).thenReturn(Mono.just(0L));
+
+        relay = new BookingOutboxRelay(
+                bookingOutboxRepository,
+                transactionalOperator,
+                List.of(createdHandler, statusHandler, auditHandler),
+                meterRegistry,
+                10,
+                Duration.ofSeconds(1),
+                Duration.ofMinutes(2),
+                3
+        );
+    }
+
+    @Test
+    void drainShouldDeleteDeliveredEventsAndRescheduleFailedOnes() {
+        BookingOutboxEvent created = event(1, BookingEventType.BOOKING_CREATED, 0);
+        BookingOutboxEvent statusChanged = event(2, BookingEventType.BOOKING_STATUS_CHANGED, 0);
+
+        when(bookingOutboxRepository.claimDue(any(Instant.class), lease.capture(), eq(10))).thenReturn(Flux.just(created, statusChanged));
+        when(createdHandler.handle(List.of(created))).thenReturn(Mono.empty());
+        when(statusHandler.handle(List.of(statusChanged))).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(bookingOutboxRepository.reschedule(eq(List.of(2L)), any(Instant.class), any(Instant.class), eq(Set.of("audit"))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(bookingOutboxRepository).delete(List.of(1L), lease.getValue());
+        verify(bookingOutboxRepository).reschedule(eq(List.of(2L)), eq(lease.getValue()), any(Instant.class), eq(Set.of("audit")));
+        verify(bookingOutboxRepository, times(1)).claimDue(any(Instant.class), any(Instant.class), anyInt());
+        // Handlers run after the claim committed, and only the settle step is transactional.
+        verify(transactionalOperator, times(1)).transactional(any(Mono.class));
+    }
+
+    @Test
+    void retriesShouldSkipHandlersThatAlreadySucceededAndIsolateThePoisonEvent() {
+        BookingOutboxEvent healthy = event(2, BookingEventType.BOOKING_STATUS_CHANGED, 0);
+        BookingOutboxEvent poison = new BookingOutboxEvent(
+                3, UUID.randomUUID(), BookingEventType.BOOKING_STATUS_CHANGED, Instant.now().minusSeconds(1), 1, Set.of("audit"));
+
+        when(bookingOutboxRepository.claimDue(any(Instant.class), lease.capture(), eq(10))).thenReturn(Flux.just(healthy, poison));
+        when(statusHandler.handle(List.of(healthy, poison))).thenReturn(Mono.error(new IllegalStateException("bad payload")));
+        when(statusHandler.handle(List.of(healthy))).thenReturn(Mono.empty());
+        when(statusHandler.handle(List.of(poison))).thenReturn(Mono.error(new IllegalStateException("bad payload")));
+        when(bookingOutboxRepository.reschedule(eq(List.of(3L)), any(Instant.class), any(Instant.class), eq(Set.of("audit"))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(auditHandler).handle(List.of(healthy));
+        verify(bookingOutboxRepository).delete(List.of(2L), lease.getValue());
+        verify(bookingOutboxRepository).reschedule(eq(List.of(3L)), eq(lease.getValue()), any(Instant.class), eq(Set.of("audit")));
+    }
+
+    @Test
+    void eventsOutOfAttemptsShouldBeDeadLettered() {
+        BookingOutboxEvent created = event(1, BookingEventType.BOOKING_CREATED, 2);
+
+        when(bookingOutboxRepository.claimDue(any(Instant.class), lease.capture(), eq(10))).thenReturn(Flux.just(created));
+        when(createdHandler.handle(List.of(created))).thenReturn(Mono.error(new IllegalStateException("still broken")));
+        when(bookingOutboxRepository.deadLetter(eq(List.of(1L)), any(Instant.class), eq(Set.of()))).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(bookingOutboxRepository).deadLetter(List.of(1L), lease.getValue(), Set.of());
+        verify(bookingOutboxRepository, never()).reschedule(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("booking.outbox.dead-lettered").count());
+        assertTrue(lease.getValue().isAfter(Instant.now().plusSeconds(60)));
+    }
+
+    private BookingOutboxEvent event(long id, BookingEventType type, int attempts) {
+        return new BookingOutboxEvent(id, UUID.randomUUID(), type, Instant.now().minusSeconds(1), attempts, Set.of());
+    }
+}
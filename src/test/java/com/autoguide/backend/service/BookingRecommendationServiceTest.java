@@ -0,0 +1,69 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingRecommendationDocument;
+import com.autoguide.backend.repository.mongo.BookingRecommendationRepository;
+import com.autoguide.backend.repository.mongo.RecommendationBookingRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingRecommendationServiceTest {
+
+    @Mock
+    private BookingRecommendationRepository bookingRecommendationRepository;
+
+    @Mock
+    private RecommendationEngine recommendationEngine;
+
+    @Test
+    void initialRecommendationsShouldBeKeyedByBookingAndSurviveARacingInsert() {
+        BookingEntity existing = booking();
+        BookingEntity racing = booking();
+        BookingEntity fresh = booking();
+        when(bookingRecommendationRepository.findByBookingIdIn(List.of(existing.getId(), racing.getId(), fresh.getId())))
+                .thenReturn(Flux.just(new RecommendationBookingRef(existing.getId())));
+        when(recommendationEngine.recommend(any(BookingEntity.class)))
+                .thenReturn(new RecommendationEngine.Recommendation("Offer an extra night", 0.5));
+        ArgumentCaptor<BookingRecommendationDocument> inserted = ArgumentCaptor.captor();
+        when(bookingRecommendationRepository.insert(inserted.capture())).thenAnswer(invocation -> {
+            BookingRecommendationDocument document = invocation.getArgument(0);
+            return document.getBookingId().equals(racing.getId())
+                    ? Mono.error(new DuplicateKeyException("E11000 duplicate key"))
+                    : Mono.just(document);
+        });
+        BookingRecommendationService service = new BookingRecommendationService(bookingRecommendationRepository, recommendationEngine);
+
+        StepVerifier.create(service.generateInitialRecommendations(List.of(existing, racing, fresh))).verifyComplete();
+
+        verify(bookingRecommendationRepository, times(2)).insert(any(BookingRecommendationDocument.class));
+        assertEquals(
+                List.of("initial:" + racing.getId(), "initial:" + fresh.getId()),
+                inserted.getAllValues().stream().map(BookingRecommendationDocument::getId).toList()
+        );
+    }
+
+    private static BookingEntity booking() {
+        BookingEntity booking = new BookingEntity();
+        booking.setId(UUID.randomUUID());
+        booking.setCreatedAt(Instant.now());
+        return booking;
+    }
+}
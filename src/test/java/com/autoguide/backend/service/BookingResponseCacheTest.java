@@ -0,0 +1,142 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingResponseCacheTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, byte[]> valueOperations;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheCodecs cacheCodecs;
+    private BookingResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheCodecs = new CacheCodecs(objectMapper, "smile");
+        cache = new BookingResponseCache(redisTemplate, binaryRedisTemplate, cacheCodecs, meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void secondReadShouldBeServedFromLocalCache() throws Exception {
+        BookingResponse response = booking(UUID.randomUUID());
+        String key = "booking:cache:" + response.id();
+        when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(eq(key))).thenReturn(Mono.just(cacheCodecs.write(response)));
+
+        HotelAccessService.AccessScope scope = new HotelAccessService.AccessScope("admin", null, true);
+        StepVerifier.create(cache.get(response.id(), scope)).expectNext(response).verifyComplete();
+        StepVerifier.create(cache.get(response.id(), scope)).expectNext(response).verifyComplete();
+
+        verify(valueOperations, times(1)).get(key);
+        assertEquals(1.0, meterRegistry.counter("booking.cache.requests", "level", "l1", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("booking.cache.requests", "level", "l2", "result", "hit").count());
+    }
+
+    @Test
+    void cachedEntryShouldNotLeakOutsideCallerHotel() throws Exception {
+        BookingResponse response = booking(UUID.randomUUID());
+        when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(eq("booking:cache:" + response.id())))
+                .thenReturn(Mono.just(cacheCodecs.write(response)));
+
+        HotelAccessService.AccessScope otherHotel = new HotelAccessService.AccessScope("admin", UUID.randomUUID(), false);
+        HotelAccessService.AccessScope ownHotel = new HotelAccessService.AccessScope("admin", response.hotelId(), false);
+        StepVerifier.create(cache.get(response.id(), otherHotel)).verifyComplete();
+        StepVerifier.create(cache.get(response.id(), ownHotel)).expectNext(response).verifyComplete();
+    }
+
+    @Test
+    void invalidateShouldDropCanonicalEntryAndBroadcast() {
+        BookingResponse response = booking(UUID.randomUUID());
+        when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.delete(anyString())).thenReturn(Mono.just(true));
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(cache.invalidate(List.of(response.id()))).verifyComplete();
+
+        verify(valueOperations).delete("booking:cache:" + response.id());
+        verify(redisTemplate).convertAndSend(BookingResponseCache.INVALIDATION_CHANNEL, response.id().toString());
+    }
+
+    @Test
+    void entriesWrittenByEarlierCodecsShouldStayReadable() throws Exception {
+        BookingResponse response = booking(UUID.randomUUID());
+        byte[] legacyJson = objectMapper.writeValueAsBytes(response);
+        byte[] versionedJson = new CacheCodecs(objectMapper, "json").write(response);
+        byte[] smile = cacheCodecs.write(response);
+
+        assertEquals(response, cacheCodecs.read(legacyJson, BookingResponse.class));
+        assertEquals(response, cacheCodecs.read(versionedJson, BookingResponse.class));
+        assertEquals(CacheCodecs.SMILE_VERSION, smile[0]);
+        assertTrue(smile.length < legacyJson.length);
+        assertNull(cacheCodecs.read(new byte[]{99, 1, 2}, BookingResponse.class));
+    }
+
+    private BookingResponse booking(UUID hotelId) {
+        return new BookingResponse(
+                UUID.randomUUID(),
+                hotelId,
+                UUID.randomUUID(),
+                "Cached Guest",
+                UUID.randomUUID(),
+                "1202",
+                LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(2),
+                BookingStatus.CREATED,
+                new BigDecimal("120.00"),
+                new BigDecimal("0.00"),
+                BookingPaymentStatus.UNPAID,
+                null,
+                null,
+                false,
+                Instant.parse("2026-01-01T00:00:00Z"),
+                Instant.parse("2026-01-01T00:00:00Z")
+        );
+    }
+}
@@ -0,0 +1,228 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.dto.PublicCreateBookingRequest;
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.GuestEntity;
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.BookingStatusChangeRepository;
+import com.autoguide.backend.repository.r2dbc.GuestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceConcurrencyTest {
+
+    private static final int ROOMS = 4;
+    private static final int ATTEMPTS = 4000;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private GuestService guestService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private BookingOutboxRelay bookingOutboxRelay;
+
+    @Mock
+    private RecommendationPipeline recommendationPipeline;
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, byte[]> valueOperations;
+
+    @Mock
+    private HotelAccessService hotelAccessService;
+
+    @Mock
+    private GuestRepository guestRepository;
+
+    @Mock
+    private BookingStatusChangeRepository bookingStatusChangeRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private final Queue<BookingEntity> persisted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger saveAttempts = new AtomicInteger();
+    private BookingService bookingService;
+    private List<RoomEntity> rooms;
+
+    @BeforeEach
+    void setUp() {
+        UUID hotelId = UUID.randomUUID();
+        GuestEntity guest = new GuestEntity(UUID.randomUUID(), hotelId, "Load Guest", "load@example.com", Instant.now());
+
+        rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            RoomEntity room = new RoomEntity(
+                    UUID.randomUUID(), hotelId, "L-" + i, "STANDARD", new BigDecimal("100.00"), null, null, Instant.now()
+            );
+            rooms.add(room);
+            when(roomService.getEntityById(eq(room.getId()), any(HotelAccessService.AccessScope.class)))
+                    .thenReturn(Mono.just(room));
+        }
+
+        when(guestRepository.findByHotelIdAndEmail(eq(hotelId), anyString())).thenReturn(Mono.just(guest));
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> simulatedSave(invocation.getArgument(0)));
+        lenient().when(bookingOutboxRelay.record(any(), any())).thenReturn(Mono.empty());
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.set(anyString(), any(byte[].class), any(Duration.class))).thenReturn(Mono.just(true));
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        bookingService = new BookingService(
+                bookingRepository,
+                guestService,
+                roomService,
+                bookingOutboxRelay,
+                recommendationPipeline,
+                new BookingResponseCache(redisTemplate, binaryRedisTemplate, new CacheCodecs(objectMapper, "smile"), new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1)),
+                hotelAccessService,
+                guestRepository,
+                new RoomOccupancyIndex(bookingRepository, 365, Duration.ofMinutes(1), Duration.ofHours(6)),
+                new RoomBookingSerializer(64),
+                bookingStatusChangeRepository,
+                transactionalOperator
+        );
+    }
+
+    @Test
+    void parallelPublicCreatesShouldNeverProduceOverlappingStays() {
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<BookingResponse> created = Flux.range(0, ATTEMPTS)
+                .flatMap(i -> bookingService.createPublicPrepaid(randomRequest())
+                        .onErrorResume(this::isConflict, error -> {
+                            conflicts.incrementAndGet();
+                            return Mono.empty();
+                        }), 512)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertEquals(ATTEMPTS, created.size() + conflicts.get());
+        assertEquals(created.size(), persisted.size());
+        assertTrue(conflicts.get() > 0);
+
+        Map<UUID, List<BookingEntity>> byRoom = persisted.stream()
+                .collect(Collectors.groupingBy(BookingEntity::getRoomId));
+        for (List<BookingEntity> stays : byRoom.values()) {
+            stays.sort(Comparator.comparing(BookingEntity::getCheckInDate));
+            for (int i = 1; i < stays.size(); i++) {
+                BookingEntity previous = stays.get(i - 1);
+                BookingEntity next = stays.get(i);
+                assertTrue(
+                        !next.getCheckInDate().isBefore(previous.getCheckOutDate()),
+                        "Overlapping stays " + previous.getId() + " and " + next.getId()
+                );
+            }
+        }
+    }
+
+    /**
+     * Stands in for the stay exclusion constraint, with occasional spurious violations on top.
+     */
+    private Mono<BookingEntity> simulatedSave(BookingEntity entity) {
+        if (saveAttempts.incrementAndGet() % 17 == 0) {
+            return Mono.delay(Duration.ofMillis(1)).then(Mono.error(exclusionViolation()));
+        }
+        return Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextInt(0, 3)))
+                .then(Mono.fromCallable(() -> {
+                    synchronized (persisted) {
+                        boolean overlaps = persisted.stream().anyMatch(stay -> stay.getRoomId().equals(entity.getRoomId())
+                                && stay.getCheckInDate().isBefore(entity.getCheckOutDate())
+                                && stay.getCheckOutDate().isAfter(entity.getCheckInDate()));
+                        if (overlaps) {
+                            throw exclusionViolation();
+                        }
+                        entity.setId(UUID.randomUUID());
+                        persisted.add(entity);
+                        return entity;
+                    }
+                }));
+    }
+
+    private static DataIntegrityViolationException exclusionViolation() {
+        return new DataIntegrityViolationException(
+                "stay overlaps",
+                new R2dbcDataIntegrityViolationException(
+                        "conflicting key value violates exclusion constraint \"ex_bookings_room_stay\"", "23P01")
+        );
+    }
+
+    private PublicCreateBookingRequest randomRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        RoomEntity room = rooms.get(random.nextInt(rooms.size()));
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(1, 90));
+        LocalDate checkOut = checkIn.plusDays(random.nextInt(1, 6));
+
+        return new PublicCreateBookingRequest(
+                "Load Guest",
+                "load@example.com",
+                room.getId(),
+                checkIn,
+                checkOut,
+                "CARD",
+                new BigDecimal("10000.00"),
+                null
+        );
+    }
+
+    private boolean isConflict(Throwable error) {
+        return error instanceof ResponseStatusException statusException
+                && statusException.getStatusCode().value() == HttpStatus.CONFLICT.value();
+    }
+}
@@ -1,24 +1,40 @@
 package com.autoguide.backend.service;
 
+import com.autoguide.backend.dto.BookingLookupRequest;
 import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.dto.CreateBookingBatchRequest;
 import com.autoguide.backend.dto.CreateBookingRequest;
+import com.autoguide.backend.dto.PublicCreateBookingRequest;
+import com.autoguide.backend.dto.UpdateBookingStatusRequest;
 import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingEventType;
 import com.autoguide.backend.model.BookingPaymentStatus;
 import com.autoguide.backend.model.BookingStatus;
 import com.autoguide.backend.model.GuestEntity;
 import com.autoguide.backend.model.RoomEntity;
 import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.BookingStatusChangeRepository;
 import com.autoguide.backend.repository.r2dbc.GuestRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.api.ErrorDetails;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.postgresql.message.backend.Field;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -26,12 +42,17 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -49,13 +70,19 @@ class BookingServiceTest {
     private RoomService roomService;
 
     @Mock
-    private BookingRecommendationService bookingRecommendationService;
+    private BookingOutboxRelay bookingOutboxRelay;
+
+    @Mock
+    private RecommendationPipeline recommendationPipeline;
 
     @Mock
     private ReactiveStringRedisTemplate redisTemplate;
 
     @Mock
-    private ReactiveValueOperations<String, String> valueOperations;
+    private ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, byte[]> valueOperations;
 
     @Mock
     private HotelAccessService hotelAccessService;
@@ -63,6 +90,15 @@ class BookingServiceTest {
     @Mock
     private GuestRepository guestRepository;
 
+    @Mock
+    private BookingStatusChangeRepository bookingStatusChangeRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private RoomOccupancyIndex roomOccupancyIndex;
+
     private BookingService bookingService;
     private ObjectMapper objectMapper;
     private UUID hotelId;
@@ -79,21 +115,27 @@ class BookingServiceTest {
                 bookingRepository,
                 guestService,
                 roomService,
-                bookingRecommendationService,
-                redisTemplate,
-                objectMapper,
+                bookingOutboxRelay,
+                recommendationPipeline,
+                new BookingResponseCache(redisTemplate, binaryRedisTemplate, new CacheCodecs(objectMapper, "smile"), new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1)),
                 hotelAccessService,
-                guestRepository
+                guestRepository,
+                roomOccupancyIndex,
+                new RoomBookingSerializer(16),
+                bookingStatusChangeRepository,
+                transactionalOperator
         );
 
         lenient().when(hotelAccessService.currentScope())
                 .thenReturn(Mono.just(new HotelAccessService.AccessScope("test_user", null, true)));
-        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        lenient().when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(bookingOutboxRelay.record(any(), any())).thenReturn(Mono.empty());
+        lenient().when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.set(anyString(), any(byte[].class), any(Duration.class))).thenReturn(Mono.just(true));
     }
 
     @Test
-    void createBookingShouldSaveAndGenerateRecommendation() {
+    void createBookingShouldSaveAndRecordCreatedEvent() {
         UUID guestId = UUID.randomUUID();
         UUID roomId = UUID.randomUUID();
 
@@ -102,8 +144,11 @@ class BookingServiceTest {
 
         when(guestService.getEntityById(eq(guestId), any(HotelAccessService.AccessScope.class))).thenReturn(Mono.just(guest));
         when(roomService.getEntityById(eq(roomId), any(HotelAccessService.AccessScope.class))).thenReturn(Mono.just(room));
-        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
-        when(bookingRecommendationService.generateInitialRecommendation(any(BookingEntity.class))).thenReturn(Mono.empty());
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> {
+            BookingEntity entity = invocation.getArgument(0);
+            entity.setId(UUID.randomUUID());
+            return Mono.just(entity);
+        });
 
         CreateBookingRequest request = new CreateBookingRequest(
                 guestId,
@@ -124,7 +169,66 @@ class BookingServiceTest {
                 })
                 .verifyComplete();
 
-        verify(bookingRecommendationService).generateInitialRecommendation(any(BookingEntity.class));
+        verify(bookingOutboxRelay).record(eq(BookingEventType.BOOKING_CREATED), any());
+        verify(bookingOutboxRelay).wakeUp();
+    }
+
+    @Test
+    void publicBookingShouldReuseGuestCreatedByConcurrentRequest() {
+        UUID roomId = UUID.randomUUID();
+        GuestEntity existing = new GuestEntity(UUID.randomUUID(), hotelId, "Jane Guest", "jane@example.com", Instant.now());
+        RoomEntity room = new RoomEntity(roomId, hotelId, "501", "DELUXE", new BigDecimal("120.00"), null, null, Instant.now());
+
+        when(roomService.getEntityById(eq(roomId), any(HotelAccessService.AccessScope.class))).thenReturn(Mono.just(room));
+        when(guestRepository.findByHotelIdAndEmail(hotelId, "jane@example.com"))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(existing));
+        when(guestRepository.save(any(GuestEntity.class))).thenReturn(Mono.error(new DuplicateKeyException(
+                "duplicate guest",
+                new PostgresViolation("23505", "uq_guests_hotel_email")
+        )));
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> {
+            BookingEntity entity = invocation.getArgument(0);
+            entity.setId(UUID.randomUUID());
+            return Mono.just(entity);
+        });
+
+        StepVerifier.create(bookingService.createPublicPrepaid(publicRequest(roomId)))
+                .assertNext(response -> org.junit.jupiter.api.Assertions.assertEquals(existing.getId(), response.guestId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void publicBookingShouldNotSwallowOtherGuestIntegrityViolations() {
+        assertGuestViolationPropagates(new DataIntegrityViolationException(
+                "guest rejected",
+                new R2dbcDataIntegrityViolationException(
+                        "insert or update on table \"guests\" violates foreign key constraint \"fk_guests_hotel_id\"", "23503")
+        ));
+    }
+
+    @Test
+    void publicBookingShouldNotTreatOtherUniqueViolationsAsEmailRace() {
+        assertGuestViolationPropagates(new DuplicateKeyException(
+                "duplicate guest id",
+                new PostgresViolation("23505", "guests_pkey")
+        ));
+    }
+
+    private void assertGuestViolationPropagates(DataIntegrityViolationException violation) {
+        UUID roomId = UUID.randomUUID();
+        RoomEntity room = new RoomEntity(roomId, hotelId, "501", "DELUXE", new BigDecimal("120.00"), null, null, Instant.now());
+
+        when(roomService.getEntityById(eq(roomId), any(HotelAccessService.AccessScope.class))).thenReturn(Mono.just(room));
+        when(guestRepository.findByHotelIdAndEmail(hotelId, "jane@example.com")).thenReturn(Mono.empty());
+        when(guestRepository.save(any(GuestEntity.class))).thenReturn(Mono.error(violation));
+
+        StepVerifier.create(bookingService.createPublicPrepaid(publicRequest(roomId)))
+                .expectErrorMatches(error -> error == violation)
+                .verify();
+
+        verify(guestRepository, times(1)).findByHotelIdAndEmail(hotelId, "jane@example.com");
+        verify(bookingRepository, never()).save(any(BookingEntity.class));
     }
 
     @Test
@@ -150,8 +254,8 @@ class BookingServiceTest {
                 Instant.now()
         );
 
-        String payload = objectMapper.writeValueAsString(cachedResponse);
-        when(valueOperations.get(eq("booking:cache:" + bookingId + ":all"))).thenReturn(Mono.just(payload));
+        byte[] payload = new CacheCodecs(objectMapper, "smile").write(cachedResponse);
+        when(valueOperations.get(eq("booking:cache:" + bookingId))).thenReturn(Mono.just(payload));
 
         StepVerifier.create(bookingService.getById(bookingId))
                 .expectNextMatches(response -> response.id().equals(bookingId) && response.guestFullName().equals("Cached Guest"))
@@ -159,4 +263,182 @@ class BookingServiceTest {
 
         verifyNoInteractions(bookingRepository);
     }
+
+    @Test
+    void getAllShouldEnrichBookingsWithOneLookupPerBatch() {
+        UUID guestId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        GuestEntity guest = new GuestEntity(guestId, hotelId, "Batch Guest", "batch@example.com", Instant.now());
+        RoomEntity room = new RoomEntity(roomId, hotelId, "777", "STANDARD", new BigDecimal("80.00"), null, null, Instant.now());
+
+        List<BookingEntity> bookings = List.of(
+                booking(guestId, roomId, 1),
+                booking(guestId, roomId, 5),
+                booking(guestId, roomId, 9)
+        );
+
+        when(bookingRepository.findPage(any(Instant.class), any(UUID.class), eq(51))).thenReturn(Flux.fromIterable(bookings));
+        when(guestService.getEntitiesByIds(eq(Set.of(guestId)), any(HotelAccessService.AccessScope.class)))
+                .thenReturn(Mono.just(Map.of(guestId, guest)));
+        when(roomService.getEntitiesByIds(eq(Set.of(roomId)), any(HotelAccessService.AccessScope.class)))
+                .thenReturn(Mono.just(Map.of(roomId, room)));
+
+        StepVerifier.create(bookingService.getAll(null, null, null))
+                .assertNext(page -> {
+                    org.junit.jupiter.api.Assertions.assertEquals(3, page.items().size());
+                    org.junit.jupiter.api.Assertions.assertNull(page.next());
+                })
+                .verifyComplete();
+
+        verify(guestService, times(1)).getEntitiesByIds(any(), any(HotelAccessService.AccessScope.class));
+        verify(roomService, times(1)).getEntitiesByIds(any(), any(HotelAccessService.AccessScope.class));
+        verify(guestService, never()).getEntityById(any(UUID.class), any(HotelAccessService.AccessScope.class));
+    }
+
+    private BookingEntity booking(UUID guestId, UUID roomId, int checkInOffset) {
+        return new BookingEntity(
+                UUID.randomUUID(),
+                hotelId,
+                guestId,
+                roomId,
+                LocalDate.now().plusDays(checkInOffset),
+                LocalDate.now().plusDays(checkInOffset + 2),
+                BookingStatus.CREATED,
+                new BigDecimal("160.00"),
+                BigDecimal.ZERO,
+                BookingPaymentStatus.UNPAID,
+                null,
+                null,
+                false,
+                Instant.now(),
+                Instant.now()
+        );
+    }
+
+    @Test
+    void createBatchShouldInsertAcceptedItemsOnceAndReportRejections() {
+        UUID guestId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        UUID missingRoomId = UUID.randomUUID();
+
+        GuestEntity guest = new GuestEntity(guestId, hotelId, "John Guest", "john@example.com", Instant.now());
+        RoomEntity room = new RoomEntity(roomId, hotelId, "501", "DELUXE", new BigDecimal("120.00"), null, null, Instant.now());
+
+        when(guestService.getEntitiesByIds(eq(Set.of(guestId)), any(HotelAccessService.AccessScope.class)))
+                .thenReturn(Mono.just(Map.of(guestId, guest)));
+        when(roomService.getEntitiesByIds(eq(Set.of(roomId, missingRoomId)), any(HotelAccessService.AccessScope.class)))
+                .thenReturn(Mono.just(Map.of(roomId, room)));
+        when(bookingRepository.insertAll(any())).thenReturn(Mono.empty());
+        when(bookingRepository.findOverlappingStays(eq(Set.of(roomId)), any(), any(), any())).thenReturn(Flux.empty());
+
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        CreateBookingBatchRequest request = new CreateBookingBatchRequest(List.of(
+                new CreateBookingRequest(guestId, roomId, checkIn, checkIn.plusDays(2)),
+                new CreateBookingRequest(guestId, missingRoomId, checkIn, checkIn.plusDays(2))
+        ));
+
+        StepVerifier.create(bookingService.createBatch(request))
+                .assertNext(response -> {
+                    org.junit.jupiter.api.Assertions.assertEquals(1, response.createdCount());
+                    org.junit.jupiter.api.Assertions.assertEquals(1, response.rejectedCount());
+                    org.junit.jupiter.api.Assertions.assertTrue(response.items().get(0).created());
+                    org.junit.jupiter.api.Assertions.assertFalse(response.items().get(1).created());
+                })
+                .verifyComplete();
+
+        verify(bookingRepository, times(1)).insertAll(any());
+        verify(bookingRepository, never()).save(any(BookingEntity.class));
+    }
+
+    @Test
+    void lookupShouldLoadCacheMissesInOneQueryAndKeepRequestOrder() {
+        UUID guestId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        GuestEntity guest = new GuestEntity(guestId, hotelId, "Desk Guest", "desk@example.com", Instant.now());
+        RoomEntity room = new RoomEntity(roomId, hotelId, "303", "STANDARD", new BigDecimal("80.00"), null, null, Instant.now());
+        BookingEntity first = booking(guestId, roomId, 1);
+        BookingEntity second = booking(guestId, roomId, 5);
+        UUID unknownId = UUID.randomUUID();
+
+        when(valueOperations.multiGet(any())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            return Mono.just(java.util.Arrays.asList(new byte[keys.size()][]));
+        });
+        when(bookingRepository.findAllByIdIn(any())).thenReturn(Flux.just(first, second));
+        when(guestService.getEntitiesByIds(eq(Set.of(guestId)), any(HotelAccessService.AccessScope.class)))
+                .thenReturn(Mono.just(Map.of(guestId, guest)));
+        when(roomService.getEntitiesByIds(eq(Set.of(roomId)), any(HotelAccessService.AccessScope.class)))
+                .thenReturn(Mono.just(Map.of(roomId, room)));
+
+        StepVerifier.create(bookingService.lookup(new BookingLookupRequest(List.of(second.getId(), unknownId, first.getId()))))
+                .expectNextMatches(response -> response.id().equals(second.getId()))
+                .expectNextMatches(response -> response.id().equals(first.getId()))
+                .verifyComplete();
+
+        verify(bookingRepository, times(1)).findAllByIdIn(List.of(second.getId(), unknownId, first.getId()));
+        verify(bookingRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void updateStatusShouldDropSharedCacheEntryBeforeResponding() {
+        UUID guestId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        GuestEntity guest = new GuestEntity(guestId, hotelId, "Desk Guest", "desk@example.com", Instant.now());
+        RoomEntity room = new RoomEntity(roomId, hotelId, "303", "STANDARD", new BigDecimal("80.00"), null, null, Instant.now());
+        BookingEntity existing = booking(guestId, roomId, 1);
+        BookingStatus previous = existing.getStatus();
+
+        when(bookingRepository.findById(existing.getId())).thenReturn(Mono.just(existing));
+        when(bookingStatusChangeRepository.append(eq(existing.getId()), eq(previous), eq(BookingStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(Mono.empty());
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(guestService.getEntityById(eq(guestId), any(HotelAccessService.AccessScope.class))).thenReturn(Mono.just(guest));
+        when(roomService.getEntityById(eq(roomId), any(HotelAccessService.AccessScope.class))).thenReturn(Mono.just(room));
+        when(valueOperations.delete("booking:cache:" + existing.getId())).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(bookingService.updateStatus(existing.getId(), new UpdateBookingStatusRequest(BookingStatus.CANCELLED)))
+                .expectNextMatches(response -> response.status() == BookingStatus.CANCELLED)
+                .verifyComplete();
+
+        verify(valueOperations).delete("booking:cache:" + existing.getId());
+        verify(bookingOutboxRelay).record(eq(BookingEventType.BOOKING_STATUS_CHANGED), eq(List.of(existing.getId())));
+        verify(bookingStatusChangeRepository).append(existing.getId(), previous, BookingStatus.CANCELLED, existing.getUpdatedAt());
+        verify(roomOccupancyIndex).release(existing);
+    }
+
+    private static PublicCreateBookingRequest publicRequest(UUID roomId) {
+        return new PublicCreateBookingRequest(
+                "Jane Guest",
+                " Jane@Example.com ",
+                roomId,
+                LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(3),
+                "CARD",
+                new BigDecimal("240.00"),
+                null
+        );
+    }
+
+    /**
+     * Mirrors the driver's exceptions, which name the violated constraint in the error details only.
+     */
+    private static final class PostgresViolation extends R2dbcDataIntegrityViolationException implements PostgresqlException {
+
+        private final ErrorDetails errorDetails;
+
+        private PostgresViolation(String sqlState, String constraint) {
+            super("duplicate key value violates unique constraint", sqlState);
+            this.errorDetails = new ErrorDetails(List.of(
+                    new Field(Field.FieldType.SEVERITY_NON_LOCALIZED, "ERROR"),
+                    new Field(Field.FieldType.CODE, sqlState),
+                    new Field(Field.FieldType.MESSAGE, getMessage()),
+                    new Field(Field.FieldType.CONSTRAINT_NAME, constraint)
+            ));
+        }
+
+        @Override
+        public ErrorDetails getErrorDetails() {
+            return errorDetails;
+        }
+    }
 }
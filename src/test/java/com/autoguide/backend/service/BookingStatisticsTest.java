@@ -0,0 +1,220 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatisticsSnapshotDocument;
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.model.BookingStatusChange;
+import com.autoguide.backend.repository.mongo.BookingStatisticsSnapshotRepository;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.BookingStatusChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStatisticsTest {
+
+    private static final UUID HOTEL_ID = UUID.randomUUID();
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingStatusChangeRepository statusChangeRepository;
+
+    @Mock
+    private BookingStatisticsSnapshotRepository snapshotRepository;
+
+    @Mock
+    private RoomInventoryIndex roomInventoryIndex;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(roomInventoryIndex.awaitReady()).thenReturn(Mono.empty());
+        lenient().when(statusChangeRepository.findChangedAfter(any(), anyLong(), any(), anyInt())).thenReturn(Flux.empty());
+    }
+
+    @Test
+    void refreshShouldPageThroughBookingsPastTheWatermark() {
+        List<BookingEntity> firstPage = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            firstPage.add(booking(i));
+        }
+        BookingEntity last = firstPage.get(firstPage.size() - 1);
+        when(bookingRepository.findCreatedAfter(eq(Instant.EPOCH), eq(MIN_ID), any(), eq(1_000)))
+                .thenReturn(Flux.fromIterable(firstPage));
+        when(bookingRepository.findCreatedAfter(eq(last.getCreatedAt()), eq(last.getId()), any(), eq(1_000)))
+                .thenReturn(Flux.just(booking(1_000)));
+        BookingStatistics statistics = statistics();
+
+        statistics.refresh().block();
+
+        assertEquals(1_001, count(statistics));
+    }
+
+    @Test
+    void cancellationsShouldLeaveTheHistogramsUntilReinstated() {
+        BookingEntity kept = booking(0);
+        BookingEntity cancelled = booking(1);
+        BookingEntity cancelledBeforeFold = cancelled(booking(2));
+        when(bookingRepository.findCreatedAfter(any(), any(), any(), anyInt()))
+                .thenReturn(Flux.just(kept, cancelled, cancelledBeforeFold))
+                .thenReturn(Flux.empty());
+        when(statusChangeRepository.findChangedAfter(any(), anyLong(), any(), anyInt()))
+                .thenReturn(Flux.just(change(1, cancelledBeforeFold, BookingStatus.CREATED, BookingStatus.CANCELLED)))
+                .thenReturn(Flux.just(
+                        change(2, cancelled, BookingStatus.CONFIRMED, BookingStatus.CANCELLED),
+                        change(3, cancelled, BookingStatus.CANCELLED, BookingStatus.CANCELLED)
+                ))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.just(change(4, cancelled, BookingStatus.CANCELLED, BookingStatus.CREATED)));
+        when(bookingRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<BookingEntity> found = new ArrayList<>();
+            for (BookingEntity booking : List.of(kept, cancelled, cancelledBeforeFold)) {
+                ((Iterable<?>) invocation.getArgument(0)).forEach(id -> {
+                    if (booking.getId().equals(id)) {
+                        found.add(booking);
+                    }
+                });
+            }
+            return Flux.fromIterable(found);
+        });
+        BookingStatistics statistics = statistics();
+
+        statistics.refresh().block();
+        assertEquals(2, count(statistics));
+        statistics.refresh().block();
+        assertEquals(1, count(statistics));
+        statistics.refresh().block();
+        assertEquals(1, count(statistics));
+        statistics.refresh().block();
+        assertEquals(2, count(statistics));
+    }
+
+    @Test
+    void restoreShouldCatchUpFromTheSnapshotWatermarks() {
+        BookingEntity kept = booking(0);
+        BookingEntity cancelled = booking(1);
+        BookingStatusChange cancellation = change(7, cancelled, BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+        when(bookingRepository.findCreatedAfter(any(), any(), any(), anyInt()))
+                .thenReturn(Flux.just(kept, cancelled))
+                .thenReturn(Flux.empty());
+        when(statusChangeRepository.findChangedAfter(eq(Instant.EPOCH), eq(0L), any(), anyInt()))
+                .thenReturn(Flux.just(cancellation));
+        when(bookingRepository.findAllById(anyIterable())).thenReturn(Flux.just(cancelled));
+        ArgumentCaptor<BookingStatisticsSnapshotDocument> snapshot = ArgumentCaptor.captor();
+        when(snapshotRepository.save(snapshot.capture())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        BookingStatistics statistics = statistics();
+        statistics.refresh().block();
+        statistics.snapshotIfDue().block();
+        assertEquals(1, count(statistics));
+        assertEquals(cancellation.changedAt(), snapshot.getValue().getChangeWatermarkAt());
+        assertEquals(7, snapshot.getValue().getChangeWatermarkId());
+
+        BookingEntity created = booking(5);
+        when(snapshotRepository.findById("current")).thenReturn(Mono.just(snapshot.getValue()));
+        when(bookingRepository.findCreatedAfter(eq(cancelled.getCreatedAt()), eq(cancelled.getId()), any(), anyInt()))
+                .thenReturn(Flux.just(created));
+        when(statusChangeRepository.findChangedAfter(eq(cancellation.changedAt()), eq(7L), any(), anyInt()))
+                .thenReturn(Flux.just(change(8, cancelled, BookingStatus.CANCELLED, BookingStatus.CONFIRMED)));
+        BookingStatistics restored = statistics();
+
+        restored.awaitReady().block();
+
+        assertEquals(3, count(restored));
+        // Only the first instance scanned from the beginning; the restored one resumed at the snapshot.
+        verify(bookingRepository).findCreatedAfter(eq(Instant.EPOCH), eq(MIN_ID), any(), anyInt());
+    }
+
+    @Test
+    void snapshotsWithoutAChangeWatermarkShouldBeRebuilt() {
+        BookingStatisticsSnapshotDocument legacy = new BookingStatisticsSnapshotDocument();
+        legacy.setId("current");
+        legacy.setWatermarkCreatedAt(START.plusSeconds(60));
+        legacy.setWatermarkBookingId(UUID.randomUUID());
+        legacy.setTakenAt(START.plusSeconds(60));
+        legacy.setSegments(List.of());
+        when(snapshotRepository.findById("current")).thenReturn(Mono.just(legacy));
+        when(bookingRepository.findCreatedAfter(eq(Instant.EPOCH), eq(MIN_ID), any(), anyInt()))
+                .thenReturn(Flux.just(booking(0)));
+        when(statusChangeRepository.findChangedAfter(eq(Instant.EPOCH), eq(0L), any(), anyInt()))
+                .thenReturn(Flux.empty());
+        BookingStatistics statistics = statistics();
+
+        statistics.awaitReady().block();
+
+        assertEquals(1, count(statistics));
+    }
+
+    private BookingStatistics statistics() {
+        return new BookingStatistics(
+                bookingRepository,
+                statusChangeRepository,
+                snapshotRepository,
+                roomInventoryIndex,
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(15)
+        );
+    }
+
+    private static long count(BookingStatistics statistics) {
+        return statistics.statsFor(booking(0)).count();
+    }
+
+    private static BookingEntity booking(int sequence) {
+        Instant createdAt = START.plusMillis(sequence);
+        LocalDate checkIn = LocalDate.of(2026, 7, 10);
+        return new BookingEntity(
+                new UUID(1, sequence),
+                HOTEL_ID,
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                checkIn,
+                checkIn.plusDays(2),
+                BookingStatus.CONFIRMED,
+                new BigDecimal("100.00"),
+                BigDecimal.ZERO,
+                BookingPaymentStatus.UNPAID,
+                null,
+                null,
+                false,
+                createdAt,
+                createdAt
+        );
+    }
+
+    private static BookingEntity cancelled(BookingEntity booking) {
+        booking.setStatus(BookingStatus.CANCELLED);
+        return booking;
+    }
+
+    private static BookingStatusChange change(long id, BookingEntity booking, BookingStatus from, BookingStatus to) {
+        return new BookingStatusChange(id, booking.getId(), from, to, START.plusSeconds(id));
+    }
+}
@@ -0,0 +1,118 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.BookingResponse;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheCodecsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void bookingsShouldRoundTripThroughEveryCodec() throws Exception {
+        List<BookingResponse> bookings = sampleBookings(100);
+
+        for (String name : List.of("json", "smile")) {
+            CacheCodecs codecs = new CacheCodecs(objectMapper, name);
+            for (BookingResponse booking : bookings) {
+                assertEquals(booking, codecs.read(codecs.write(booking), BookingResponse.class), name);
+            }
+        }
+    }
+
+    @Test
+    void smilePayloadsShouldBeSmallerThanJsonStrings() throws Exception {
+        List<BookingResponse> bookings = sampleBookings(1_000);
+        CacheCodecs smile = new CacheCodecs(objectMapper, "smile");
+        CacheCodecs json = new CacheCodecs(objectMapper, "json");
+        long jsonStringBytes = 0;
+        long jsonBytes = 0;
+        long smileBytes = 0;
+
+        for (BookingResponse booking : bookings) {
+            jsonStringBytes += objectMapper.writeValueAsString(booking).getBytes(StandardCharsets.UTF_8).length;
+            jsonBytes += json.write(booking).length;
+            smileBytes += smile.write(booking).length;
+        }
+
+        assertEquals(jsonStringBytes + bookings.size(), jsonBytes);
+        assertTrue(smileBytes * 10 < jsonStringBytes * 8,
+                "smile " + smileBytes + " bytes vs json " + jsonStringBytes + " bytes");
+    }
+
+    @Test
+    void everyKnownVersionShouldBeReadableWhateverTheWriter() throws Exception {
+        BookingResponse booking = sampleBookings(1).get(0);
+        byte[] legacy = objectMapper.writeValueAsString(booking).getBytes(StandardCharsets.UTF_8);
+        byte[] json = new CacheCodecs(objectMapper, "json").write(booking);
+        byte[] smile = new CacheCodecs(objectMapper, "smile").write(booking);
+
+        for (String name : List.of("json", "smile")) {
+            CacheCodecs codecs = new CacheCodecs(objectMapper, name);
+            assertEquals(booking, codecs.read(legacy, BookingResponse.class));
+            assertEquals(booking, codecs.read(json, BookingResponse.class));
+            assertEquals(booking, codecs.read(smile, BookingResponse.class));
+        }
+        assertEquals(CacheCodecs.JSON_VERSION, json[0]);
+        assertEquals(CacheCodecs.SMILE_VERSION, smile[0]);
+    }
+
+    @Test
+    void unreadablePayloadsShouldBeTreatedAsMisses() throws Exception {
+        CacheCodecs codecs = new CacheCodecs(objectMapper, "smile");
+
+        assertNull(codecs.read(null, BookingResponse.class));
+        assertNull(codecs.read(new byte[0], BookingResponse.class));
+        assertNull(codecs.read(new byte[]{42, 1, 2}, BookingResponse.class));
+        assertNull(codecs.read(new byte[]{-1, 1, 2}, BookingResponse.class));
+        assertThrows(IllegalArgumentException.class, () -> new CacheCodecs(objectMapper, "protobuf"));
+    }
+
+    private static List<BookingResponse> sampleBookings(int count) {
+        List<BookingResponse> bookings = new ArrayList<>(count);
+        LocalDate today = LocalDate.now();
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            boolean prepaid = i % 3 == 0;
+            bookings.add(new BookingResponse(
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    "Guest Number " + i,
+                    UUID.randomUUID(),
+                    String.valueOf(100 + i % 400),
+                    today.plusDays(i % 60),
+                    today.plusDays(i % 60 + 1 + i % 7),
+                    BookingStatus.values()[i % BookingStatus.values().length],
+                    new BigDecimal("120.00").add(BigDecimal.valueOf(i % 50)),
+                    prepaid ? new BigDecimal("36.00") : new BigDecimal("0.00"),
+                    prepaid ? BookingPaymentStatus.PAID : BookingPaymentStatus.UNPAID,
+                    prepaid ? "CARD" : null,
+                    prepaid ? "PAY-" + i : null,
+                    prepaid,
+                    now.minusSeconds(i * 37L),
+                    now.minusSeconds(i * 11L)
+            ));
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,68 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.PublicHomeResponse;
+import com.autoguide.backend.dto.PublicOfferResponse;
+import com.autoguide.backend.repository.r2dbc.LandingContentVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HomePageSnapshotTest {
+
+    @Mock
+    private PublicContentService publicContentService;
+
+    @Mock
+    private LandingContentVersionRepository versionRepository;
+
+    @Test
+    void snapshotShouldBeBuiltOncePerContentVersion() throws Exception {
+        HomePageSnapshot homePageSnapshot =
+                new HomePageSnapshot(publicContentService, versionRepository, new ObjectMapper(), Duration.ofSeconds(30));
+        when(versionRepository.currentVersion()).thenReturn(Mono.just(1L), Mono.just(2L));
+        when(publicContentService.getHomeContent()).thenReturn(
+                Mono.just(home("Weekend deal")),
+                Mono.just(home("Summer deal"))
+        );
+
+        HomePageSnapshot.Snapshot first = homePageSnapshot.current().block();
+        assertSame(first, homePageSnapshot.current().block());
+        verify(publicContentService, times(1)).getHomeContent();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertArrayEquals(first.json(), gzip.readAllBytes());
+        }
+        assertTrue(first.matches(first.etag()) && first.matches(first.gzipEtag()));
+
+        HomePageSnapshot.Snapshot second = homePageSnapshot.rebuild().block();
+        assertSame(second, homePageSnapshot.current().block());
+        assertNotEquals(first.etag(), second.etag());
+    }
+
+    private PublicHomeResponse home(String offerTitle) {
+        return new PublicHomeResponse(
+                "Hero",
+                "Subtitle",
+                "https://example.com/hero.jpg",
+                List.of(),
+                List.of(new PublicOfferResponse(UUID.randomUUID(), offerTitle, "note", "from 99"))
+        );
+    }
+}
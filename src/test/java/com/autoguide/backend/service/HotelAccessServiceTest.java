@@ -0,0 +1,79 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.HotelAccessLevel;
+import com.autoguide.backend.model.HotelUserScopeEntity;
+import com.autoguide.backend.repository.r2dbc.HotelRepository;
+import com.autoguide.backend.repository.r2dbc.HotelUserScopeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HotelAccessServiceTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelUserScopeRepository hotelUserScopeRepository;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private HotelScopeCache hotelScopeCache;
+    private HotelAccessService hotelAccessService;
+
+    @BeforeEach
+    void setUp() {
+        hotelScopeCache = new HotelScopeCache(
+                hotelUserScopeRepository,
+                connectionFactory,
+                new SimpleMeterRegistry(),
+                100,
+                Duration.ofMinutes(5)
+        );
+        hotelAccessService = new HotelAccessService(true, hotelRepository, hotelScopeCache);
+    }
+
+    @Test
+    void scopeShouldBeResolvedOncePerRequestAndCachedAcrossRequests() {
+        UUID hotelId = UUID.randomUUID();
+        when(hotelUserScopeRepository.findById("operator"))
+                .thenReturn(Mono.just(new HotelUserScopeEntity("operator", hotelId, HotelAccessLevel.STAFF, Instant.now())));
+
+        Mono<UUID> request = hotelAccessService.currentScope()
+                .then(hotelAccessService.currentScope())
+                .map(HotelAccessService.AccessScope::hotelId)
+                .contextWrite(context -> context.put(
+                        HotelAccessService.AccessScope.class,
+                        hotelAccessService.resolveScope().cache()
+                ))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                        new TestingAuthenticationToken("Operator", null, "ROLE_OPERATOR")
+                ));
+
+        StepVerifier.create(request).expectNext(hotelId).verifyComplete();
+        StepVerifier.create(request).expectNext(hotelId).verifyComplete();
+        verify(hotelUserScopeRepository, times(1)).findById("operator");
+
+        hotelScopeCache.evict("operator");
+        StepVerifier.create(request).expectNext(hotelId).verifyComplete();
+        verify(hotelUserScopeRepository, times(2)).findById("operator");
+    }
+}
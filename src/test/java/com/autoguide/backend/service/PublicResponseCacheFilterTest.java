@@ -0,0 +1,83 @@
+package com.autoguide.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class PublicResponseCacheFilterTest {
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        renders.incrementAndGet();
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = "[{\"name\":\"Grand\"}]".getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+    };
+
+    private PublicResponseCache cache;
+    private PublicResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublicResponseCache(
+                List.of(PublicResponseCache.HOTELS_PATH),
+                Duration.ofMinutes(1),
+                1024 * 1024,
+                new SimpleMeterRegistry()
+        );
+        filter = new PublicResponseCacheFilter(cache);
+    }
+
+    @Test
+    void repeatedGetShouldBeServedFromCacheAndRevalidatedWithEtag() {
+        MockServerWebExchange first = get("/api/v1/public/hotels?b=2&a=1", null);
+        filter.filter(first, chain).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals("[{\"name\":\"Grand\"}]", first.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange second = get("/api/v1/public/hotels?a=1&b=2", null);
+        filter.filter(second, chain).block();
+        assertEquals(1, renders.get());
+        assertEquals("[{\"name\":\"Grand\"}]", second.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+
+        MockServerWebExchange conditional = get("/api/v1/public/hotels?a=1&b=2", etag);
+        filter.filter(conditional, chain).block();
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+
+        cache.invalidate(PublicResponseCache.HOTELS_PATH);
+        filter.filter(get("/api/v1/public/hotels?a=1&b=2", null), chain).block();
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void routesOutsideConfigurationShouldPassThrough() {
+        filter.filter(get("/api/v1/public/rooms/highlights", null), chain).block();
+        filter.filter(get("/api/v1/public/rooms/highlights", null), chain).block();
+        assertEquals(2, renders.get());
+    }
+
+    private MockServerWebExchange get(String uri, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(uri);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
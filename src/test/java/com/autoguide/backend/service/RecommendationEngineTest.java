@@ -0,0 +1,114 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingPaymentStatus;
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.repository.mongo.BookingStatisticsSnapshotRepository;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.BookingStatusChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationEngineTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 10);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingStatusChangeRepository statusChangeRepository;
+
+    @Mock
+    private BookingStatisticsSnapshotRepository snapshotRepository;
+
+    @Mock
+    private RoomInventoryIndex roomInventoryIndex;
+
+    private BookingStatistics bookingStatistics;
+    private RecommendationEngine engine;
+    private UUID hotelId;
+
+    @BeforeEach
+    void setUp() {
+        bookingStatistics = new BookingStatistics(
+                bookingRepository,
+                statusChangeRepository,
+                snapshotRepository,
+                roomInventoryIndex,
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(15)
+        );
+        engine = new RecommendationEngine(bookingStatistics);
+        hotelId = UUID.randomUUID();
+    }
+
+    @Test
+    void singleNightStayShouldBeOfferedAnExtraNightWhenSimilarGuestsStayLonger() {
+        for (int i = 0; i < 40; i++) {
+            bookingStatistics.record(booking(hotelId, 4, 2, i % 10 == 0));
+        }
+
+        RecommendationEngine.Recommendation recommendation = engine.recommend(booking(hotelId, 1, 2, true));
+
+        assertTrue(recommendation.suggestion().startsWith("Offer an extra night: 100% of similar guests"), recommendation.suggestion());
+        assertEquals(0.67, recommendation.confidence());
+    }
+
+    @Test
+    void sparseHotelShouldFallBackToGlobalStatistics() {
+        for (int i = 0; i < 40; i++) {
+            bookingStatistics.record(booking(UUID.randomUUID(), 2, 1, true));
+        }
+        bookingStatistics.record(booking(hotelId, 2, 90, false));
+
+        BookingStatistics.SegmentStats stats = bookingStatistics.statsFor(booking(hotelId, 2, 1, false));
+        RecommendationEngine.Recommendation recommendation = engine.recommend(booking(hotelId, 2, 1, false));
+
+        assertEquals(41L, stats.count());
+        assertTrue(recommendation.suggestion().startsWith("Offer a prepayment discount: 98%"), recommendation.suggestion());
+    }
+
+    @Test
+    void emptyStatisticsShouldYieldLowConfidenceDefault() {
+        RecommendationEngine.Recommendation recommendation = engine.recommend(booking(hotelId, 3, 10, false));
+
+        assertTrue(recommendation.suggestion().startsWith("Offer breakfast bundle and airport pickup"), recommendation.suggestion());
+        assertEquals(0.05, recommendation.confidence());
+    }
+
+    private BookingEntity booking(UUID hotel, int nights, int leadDays, boolean prepaid) {
+        Instant createdAt = CHECK_IN.minusDays(leadDays).atStartOfDay().toInstant(ZoneOffset.UTC);
+        return new BookingEntity(
+                UUID.randomUUID(),
+                hotel,
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                CHECK_IN,
+                CHECK_IN.plusDays(nights),
+                BookingStatus.CREATED,
+                new BigDecimal("100.00"),
+                BigDecimal.ZERO,
+                prepaid ? BookingPaymentStatus.PAID : BookingPaymentStatus.UNPAID,
+                null,
+                null,
+                prepaid,
+                createdAt,
+                createdAt
+        );
+    }
+}
@@ -0,0 +1,135 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationPipelineTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingRecommendationService bookingRecommendationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RecommendationPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void outboxDeliveryShouldJoinTheJobQueuedAfterCommit() {
+        pipeline = pipeline(100);
+        BookingEntity first = booking();
+        BookingEntity second = booking();
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        when(bookingRepository.findAllById(ids)).thenReturn(Flux.just(first, second));
+        when(bookingRecommendationService.generateInitialRecommendations(List.of(first, second))).thenReturn(Mono.empty());
+
+        pipeline.submit(ids);
+        pipeline.start();
+
+        StepVerifier.create(pipeline.process(ids)).expectComplete().verify(Duration.ofSeconds(5));
+        verify(bookingRecommendationService, times(1)).generateInitialRecommendations(anyList());
+        assertEquals(0, meterRegistry.get("recommendation.queue.depth").gauge().value());
+    }
+
+    @Test
+    void failedWriteShouldFailTheOutboxDelivery() {
+        pipeline = pipeline(100);
+        BookingEntity booking = booking();
+        when(bookingRepository.findAllById(List.of(booking.getId()))).thenReturn(Flux.just(booking));
+        when(bookingRecommendationService.generateInitialRecommendations(any()))
+                .thenReturn(Mono.error(new IllegalStateException("mongo down")));
+
+        pipeline.start();
+
+        StepVerifier.create(pipeline.process(List.of(booking.getId())))
+                .expectErrorMessage("mongo down")
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, meterRegistry.get("recommendation.pipeline.failures").counter().count());
+    }
+
+    @Test
+    void fullQueueShouldRejectInsteadOfBuffering() {
+        pipeline = pipeline(1);
+
+        pipeline.submit(List.of(UUID.randomUUID()));
+
+        StepVerifier.create(pipeline.process(List.of(UUID.randomUUID())))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, meterRegistry.get("recommendation.queue.overflows").counter().count());
+    }
+
+    @Test
+    void concurrentSubmitsShouldNotBeMistakenForOverflows() throws Exception {
+        pipeline = pipeline(100_000);
+        int threads = 8;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> submitters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                submitters.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        pipeline.submit(List.of(UUID.randomUUID()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> submitter : submitters) {
+                submitter.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, meterRegistry.get("recommendation.queue.overflows").counter().count());
+        assertEquals(threads * perThread, meterRegistry.get("recommendation.queue.depth").gauge().value());
+    }
+
+    private RecommendationPipeline pipeline(int capacity) {
+        return new RecommendationPipeline(bookingRepository, bookingRecommendationService, meterRegistry, capacity, 50);
+    }
+
+    private BookingEntity booking() {
+        BookingEntity booking = new BookingEntity();
+        booking.setId(UUID.randomUUID());
+        booking.setCreatedAt(Instant.now());
+        return booking;
+    }
+}
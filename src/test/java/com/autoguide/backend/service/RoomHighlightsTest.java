@@ -0,0 +1,187 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.CreateRoomRequest;
+import com.autoguide.backend.dto.PublicRoomHighlightResponse;
+import com.autoguide.backend.dto.UpdateRoomRequest;
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomHighlightsTest {
+
+    private static final UUID HOTEL_A = UUID.randomUUID();
+    private static final UUID HOTEL_B = UUID.randomUUID();
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private HotelAccessService hotelAccessService;
+
+    @Mock
+    private RoomImageStorageService roomImageStorageService;
+
+    @Mock
+    private RoomInventoryIndex roomInventoryIndex;
+
+    @Mock
+    private PublicResponseCache publicResponseCache;
+
+    @Mock
+    private RoomImageVariants roomImageVariants;
+
+    @Mock
+    private UploadLimiter uploadLimiter;
+
+    private final List<RoomEntity> hotelARooms = new ArrayList<>();
+    private final List<RoomEntity> hotelBRooms = new ArrayList<>();
+    private RoomHighlights highlights;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            hotelARooms.add(room(HOTEL_A, "A" + i));
+            hotelBRooms.add(room(HOTEL_B, "B" + i));
+        }
+        highlights = new RoomHighlights(roomRepository, new RoomPresentationResolver());
+        lenient().when(roomRepository.findLatestByHotelId(HOTEL_A, RoomHighlights.MAX_LIMIT))
+                .thenAnswer(invocation -> Flux.fromIterable(List.copyOf(hotelARooms)));
+        lenient().when(roomRepository.findLatestByHotelId(HOTEL_B, RoomHighlights.MAX_LIMIT))
+                .thenAnswer(invocation -> Flux.fromIterable(List.copyOf(hotelBRooms)));
+        lenient().when(roomRepository.findLatest(RoomHighlights.MAX_LIMIT)).thenAnswer(invocation -> {
+            List<RoomEntity> all = new ArrayList<>(hotelARooms);
+            all.addAll(hotelBRooms);
+            return Flux.fromIterable(all);
+        });
+    }
+
+    @Test
+    void hotelAndGlobalListsShouldBeLoadedOnceAndSlicedToTheLimit() {
+        assertEquals(List.of("A0", "A1"), roomNumbers(HOTEL_A, 2));
+        assertEquals(List.of("A0", "A1", "A2", "A3", "A4"), roomNumbers(HOTEL_A, 10));
+        assertEquals(List.of("B0"), roomNumbers(HOTEL_B, 1));
+        assertEquals(List.of("A0", "A1", "A2", "A3", "A4", "B0", "B1"), roomNumbers(null, 7));
+        assertEquals(10, roomNumbers(null, RoomHighlights.MAX_LIMIT).size());
+
+        verify(roomRepository).findLatestByHotelId(HOTEL_A, RoomHighlights.MAX_LIMIT);
+        verify(roomRepository).findLatestByHotelId(HOTEL_B, RoomHighlights.MAX_LIMIT);
+        verify(roomRepository).findLatest(RoomHighlights.MAX_LIMIT);
+    }
+
+    @Test
+    void invalidateShouldDropTheHotelAndGlobalListsOnly() {
+        roomNumbers(HOTEL_A, 1);
+        roomNumbers(HOTEL_B, 1);
+        roomNumbers(null, 1);
+
+        highlights.invalidate(HOTEL_A);
+        roomNumbers(HOTEL_A, 1);
+        roomNumbers(HOTEL_B, 1);
+        roomNumbers(null, 1);
+
+        verify(roomRepository, times(2)).findLatestByHotelId(HOTEL_A, RoomHighlights.MAX_LIMIT);
+        verify(roomRepository, times(1)).findLatestByHotelId(HOTEL_B, RoomHighlights.MAX_LIMIT);
+        verify(roomRepository, times(2)).findLatest(RoomHighlights.MAX_LIMIT);
+    }
+
+    @Test
+    void roomWritesShouldBeVisibleInTheNextHighlights() {
+        RoomService roomService = roomService();
+        assertEquals("A0", roomNumbers(HOTEL_A, 1).get(0));
+        assertEquals("A0", roomNumbers(null, 1).get(0));
+
+        RoomEntity created = room(HOTEL_A, "A-new");
+        when(roomRepository.save(any(RoomEntity.class))).thenAnswer(invocation -> {
+            hotelARooms.add(0, created);
+            return Mono.just(created);
+        });
+        roomService.create(new CreateRoomRequest("A-new", "Double", BigDecimal.TEN)).block();
+        assertEquals("A-new", roomNumbers(HOTEL_A, 1).get(0));
+        assertEquals("A-new", roomNumbers(null, 1).get(0));
+
+        RoomEntity renamed = room(HOTEL_A, "A-renamed");
+        renamed.setId(created.getId());
+        when(roomRepository.findByIdAndHotelId(created.getId(), HOTEL_A)).thenReturn(Mono.just(created));
+        when(roomRepository.updateDetails(created.getId(), "A-renamed", "Double", BigDecimal.TEN, "Quiet"))
+                .thenAnswer(invocation -> {
+                    hotelARooms.set(0, renamed);
+                    return Mono.just(renamed);
+                });
+        roomService.update(created.getId(), new UpdateRoomRequest("A-renamed", "Double", BigDecimal.TEN, "Quiet")).block();
+        assertEquals("A-renamed", roomNumbers(HOTEL_A, 1).get(0));
+
+        when(bookingRepository.existsByRoomId(created.getId())).thenReturn(Mono.just(false));
+        when(roomRepository.delete(created)).thenAnswer(invocation -> {
+            hotelARooms.remove(0);
+            return Mono.empty();
+        });
+        roomService.delete(created.getId()).block();
+        assertEquals("A0", roomNumbers(HOTEL_A, 1).get(0));
+        assertEquals("A0", roomNumbers(null, 1).get(0));
+
+        verify(roomRepository, times(4)).findLatestByHotelId(HOTEL_A, RoomHighlights.MAX_LIMIT);
+        verify(roomRepository, never()).findLatestByHotelId(HOTEL_B, RoomHighlights.MAX_LIMIT);
+        verify(publicResponseCache, times(3)).invalidate(PublicResponseCache.ROOM_HIGHLIGHTS_PATH);
+    }
+
+    private RoomService roomService() {
+        HotelAccessService.AccessScope scope = HotelAccessService.AccessScope.scoped("admin", HOTEL_A);
+        when(hotelAccessService.currentScope()).thenReturn(Mono.just(scope));
+        lenient().when(hotelAccessService.resolveHotelForWrite(scope, null)).thenReturn(Mono.just(HOTEL_A));
+        return new RoomService(
+                roomRepository,
+                bookingRepository,
+                new RoomPresentationResolver(),
+                hotelAccessService,
+                roomImageStorageService,
+                roomInventoryIndex,
+                highlights,
+                publicResponseCache,
+                roomImageVariants,
+                uploadLimiter
+        );
+    }
+
+    private List<String> roomNumbers(UUID hotelId, int limit) {
+        return highlights.latest(hotelId, limit)
+                .map(PublicRoomHighlightResponse::roomNumber)
+                .collectList()
+                .block();
+    }
+
+    private static RoomEntity room(UUID hotelId, String roomNumber) {
+        RoomEntity room = new RoomEntity();
+        room.setId(UUID.randomUUID());
+        room.setHotelId(hotelId);
+        room.setRoomNumber(roomNumber);
+        room.setRoomType("Double");
+        room.setNightlyRate(BigDecimal.TEN);
+        room.setCreatedAt(Instant.now());
+        return room;
+    }
+}
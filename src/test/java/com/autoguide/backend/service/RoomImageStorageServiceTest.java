@@ -0,0 +1,120 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.repository.r2dbc.RoomImageBlobRepository;
+import com.autoguide.backend.storage.LocalObjectStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomImageStorageServiceTest {
+
+    @TempDir
+    private Path uploads;
+
+    private final RoomImageBlobRepository blobRepository = mock(RoomImageBlobRepository.class);
+
+    @Test
+    void identicalUploadsShouldShareOneContentAddressedFile() throws Exception {
+        when(blobRepository.lock(anyString())).thenReturn(Mono.empty());
+        when(blobRepository.touch(anyString(), anyLong())).thenReturn(Mono.empty());
+        RoomImageStorageService storage = storage();
+
+        String first = storage.storeRoomImage(upload("same photo")).block();
+        String second = storage.storeRoomImage(upload("same photo")).block();
+        String other = storage.storeRoomImage(upload("other photo")).block();
+
+        assertEquals(first, second);
+        assertFalse(first.equals(other));
+        assertTrue(first.matches("/uploads/rooms/[0-9a-f]{64}\\.jpg"));
+        try (Stream<Path> files = Files.list(uploads.resolve("rooms"))) {
+            assertEquals(2, files.count());
+        }
+        try (Stream<Path> incoming = Files.list(uploads.resolve(".incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+
+        assertEquals("rooms/" + first.substring("/uploads/rooms/".length()), storage.keyOf(first));
+        storage.deleteBlob(first.substring("/uploads/rooms/".length())).block();
+        assertFalse(Files.exists(uploads.resolve(storage.keyOf(first))));
+
+        InOrder order = inOrder(blobRepository);
+        order.verify(blobRepository).lock(anyString());
+        order.verify(blobRepository).touch(anyString(), anyLong());
+    }
+
+    @Test
+    void collectorShouldKeepBlobsReRegisteredByAConcurrentUpload() throws Exception {
+        Files.createDirectories(uploads.resolve("rooms"));
+        Files.writeString(uploads.resolve("rooms/kept.jpg"), "kept");
+        Files.writeString(uploads.resolve("rooms/gone.jpg"), "gone");
+        when(blobRepository.lock(anyString())).thenReturn(Mono.empty());
+        when(blobRepository.exists("kept.jpg")).thenReturn(Mono.just(true));
+        when(blobRepository.exists("gone.jpg")).thenReturn(Mono.just(false));
+        RoomImageStorageService storage = storage();
+
+        assertFalse(storage.deleteUnregisteredBlob("kept.jpg").block());
+        assertTrue(storage.deleteUnregisteredBlob("gone.jpg").block());
+
+        assertTrue(Files.exists(uploads.resolve("rooms/kept.jpg")));
+        assertFalse(Files.exists(uploads.resolve("rooms/gone.jpg")));
+        InOrder order = inOrder(blobRepository);
+        order.verify(blobRepository).lock("kept.jpg");
+        order.verify(blobRepository).exists("kept.jpg");
+    }
+
+    @Test
+    void onlyRoomImageKeysShouldBeExposed() {
+        RoomImageStorageService storage = storage();
+
+        assertEquals("rooms/abc-w320.jpg", storage.roomImageKey("rooms/abc-w320.jpg"));
+        assertNull(storage.roomImageKey(".incoming/abc.part"));
+        assertNull(storage.roomImageKey("rooms/.incoming"));
+        assertNull(storage.roomImageKey("rooms/../.incoming/abc.part"));
+        assertNull(storage.roomImageKey("rooms/"));
+        assertNull(storage.roomImageKey("hotels/abc.jpg"));
+        assertNull(storage.keyOf("/uploads/.incoming/abc.part"));
+    }
+
+    private RoomImageStorageService storage() {
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return new RoomImageStorageService(
+                new LocalObjectStorage(uploads.toString(), "/uploads"), blobRepository, transactionalOperator, new SimpleMeterRegistry());
+    }
+
+    private FilePart upload(String content) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_JPEG);
+        FilePart part = mock(FilePart.class);
+        when(part.headers()).thenReturn(headers);
+        when(part.filename()).thenReturn("photo.jpg");
+        when(part.content()).thenReturn(Flux.just(content.substring(0, 4), content.substring(4))
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        return part;
+    }
+}
@@ -0,0 +1,178 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.CompleteRoomUploadRequest;
+import com.autoguide.backend.dto.CreateRoomRequest;
+import com.autoguide.backend.dto.CreateUploadSessionRequest;
+import com.autoguide.backend.dto.RoomResponse;
+import com.autoguide.backend.dto.UploadSessionResponse;
+import com.autoguide.backend.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomImageUploadSessionsTest {
+
+    private static final UUID HOTEL_ID = UUID.randomUUID();
+
+    @TempDir
+    private Path uploads;
+
+    @Mock
+    private HotelAccessService hotelAccessService;
+
+    @Mock
+    private RoomImageStorageService roomImageStorageService;
+
+    @Mock
+    private RoomService roomService;
+
+    private UploadLimiter uploadLimiter;
+    private RoomImageUploadSessions uploadSessions;
+
+    @BeforeEach
+    void setUp() {
+        uploadLimiter = new UploadLimiter(10, 1, new SimpleMeterRegistry());
+        uploadSessions = new RoomImageUploadSessions(
+                hotelAccessService,
+                roomImageStorageService,
+                roomService,
+                uploadLimiter,
+                uploads.toString(),
+                Duration.ofMinutes(5),
+                10,
+                2,
+                DataSize.ofKilobytes(1)
+        );
+        HotelAccessService.AccessScope scope = HotelAccessService.AccessScope.scoped("admin", HOTEL_ID);
+        when(hotelAccessService.currentScope()).thenReturn(Mono.just(scope));
+        when(hotelAccessService.resolveHotelForWrite(scope, null)).thenReturn(Mono.just(HOTEL_ID));
+        when(hotelAccessService.assertCanAccessHotel(scope, HOTEL_ID)).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void chunksShouldBeAppendedInOrderAndStoredOnCompletion() {
+        UploadSessionResponse session = uploadSessions.create(
+                new CreateUploadSessionRequest("photo.jpg", "image/jpeg", 10, null)).block();
+        assertEquals(HOTEL_ID, session.hotelId());
+
+        assertEquals(5, uploadSessions.append(session.id(), 0, chunk("01234")).block().offset());
+        assertStatus(HttpStatus.CONFLICT, () -> uploadSessions.append(session.id(), 3, chunk("34567")).block());
+        assertStatus(HttpStatus.PAYLOAD_TOO_LARGE, () -> uploadSessions.append(session.id(), 5, chunk("56789AB")).block());
+        assertStatus(HttpStatus.CONFLICT, () -> uploadSessions.complete(session.id(), completeRequest()).block());
+        assertEquals(5, uploadSessions.get(session.id()).block().offset());
+        assertEquals(10, uploadSessions.append(session.id(), 5, chunk("56789")).block().offset());
+
+        ArgumentCaptor<Flux<DataBuffer>> content = ArgumentCaptor.captor();
+        when(roomImageStorageService.storeRoomImage(eq(MediaType.IMAGE_JPEG), eq("photo.jpg"), content.capture()))
+                .thenAnswer(invocation -> DataBufferUtils.join(content.getValue())
+                        .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                        .map(stored -> "/uploads/rooms/" + stored + ".jpg"));
+        when(roomService.createWithStoredImage(any(CreateRoomRequest.class), any()))
+                .thenAnswer(invocation -> invocation.<Mono<String>>getArgument(1).map(imageUrl -> new RoomResponse(
+                        UUID.randomUUID(), HOTEL_ID, "101", "Double", BigDecimal.TEN, imageUrl, null, null, Instant.now())));
+
+        RoomResponse room = uploadSessions.complete(session.id(), completeRequest()).block();
+        assertEquals("/uploads/rooms/0123456789.jpg", room.imageUrl());
+        assertThrows(NotFoundException.class, () -> uploadSessions.get(session.id()).block());
+    }
+
+    @Test
+    void openSessionsShouldNotHoldTransferPermits() {
+        UploadSessionResponse first = uploadSessions.create(
+                new CreateUploadSessionRequest("first.jpg", "image/jpeg", 10, null)).block();
+        UploadSessionResponse second = uploadSessions.create(
+                new CreateUploadSessionRequest("second.jpg", "image/jpeg", 10, null)).block();
+        assertStatus(HttpStatus.TOO_MANY_REQUESTS, () -> uploadSessions.create(
+                new CreateUploadSessionRequest("third.jpg", "image/jpeg", 10, null)).block());
+
+        assertEquals(5, uploadSessions.append(first.id(), 0, chunk("01234")).block().offset());
+        assertEquals(5, uploadSessions.append(second.id(), 0, chunk("01234")).block().offset());
+
+        assertTrue(uploadLimiter.tryAcquire(HOTEL_ID));
+        assertStatus(HttpStatus.TOO_MANY_REQUESTS, () -> uploadSessions.append(first.id(), 5, chunk("56789")).block());
+        uploadLimiter.release(HOTEL_ID);
+        assertEquals(10, uploadSessions.append(first.id(), 5, chunk("56789")).block().offset());
+
+        uploadSessions.cancel(second.id()).block();
+        assertEquals(HOTEL_ID, uploadSessions.create(
+                new CreateUploadSessionRequest("third.jpg", "image/jpeg", 10, null)).block().hotelId());
+    }
+
+    @Test
+    void sessionShouldNotExpireWhileAChunkIsBeingWritten() throws Exception {
+        RoomImageUploadSessions shortLived = new RoomImageUploadSessions(
+                hotelAccessService,
+                roomImageStorageService,
+                roomService,
+                uploadLimiter,
+                uploads.toString(),
+                Duration.ofMillis(200),
+                10,
+                2,
+                DataSize.ofKilobytes(1)
+        );
+        UploadSessionResponse session = shortLived.create(
+                new CreateUploadSessionRequest("slow.jpg", "image/jpeg", 10, null)).block();
+
+        Sinks.Many<DataBuffer> slowChunk = Sinks.many().unicast().onBackpressureBuffer();
+        CompletableFuture<UploadSessionResponse> appended = shortLived.append(session.id(), 0, slowChunk.asFlux()).toFuture();
+        slowChunk.tryEmitNext(buffer("01234"));
+        Thread.sleep(600);
+        slowChunk.tryEmitNext(buffer("56789"));
+        slowChunk.tryEmitComplete();
+
+        assertEquals(10, appended.get(5, TimeUnit.SECONDS).offset());
+        assertEquals(10, shortLived.get(session.id()).block().offset());
+        Thread.sleep(600);
+        assertThrows(NotFoundException.class, () -> shortLived.get(session.id()).block());
+    }
+
+    private static DataBuffer buffer(String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Flux<DataBuffer> chunk(String content) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static CompleteRoomUploadRequest completeRequest() {
+        return new CompleteRoomUploadRequest("101", "Double", BigDecimal.TEN, null);
+    }
+
+    private static void assertStatus(HttpStatus expected, Runnable call) {
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, call::run);
+        assertEquals(expected, error.getStatusCode());
+    }
+}
@@ -0,0 +1,125 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.RoomImageBlobRepository;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import com.autoguide.backend.storage.LocalObjectStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomImageVariantsTest {
+
+    @TempDir
+    private Path uploads;
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomImageBlobRepository roomImageBlobRepository = mock(RoomImageBlobRepository.class);
+    private RoomImageVariants roomImageVariants;
+
+    @BeforeEach
+    void setUp() {
+        LocalObjectStorage objectStorage = new LocalObjectStorage(uploads.toString(), "/uploads");
+        roomImageVariants = new RoomImageVariants(
+                roomRepository,
+                roomImageBlobRepository,
+                new RoomImageStorageService(objectStorage, roomImageBlobRepository, mock(TransactionalOperator.class), new SimpleMeterRegistry()),
+                objectStorage,
+                mock(RoomHighlights.class),
+                mock(PublicResponseCache.class),
+                List.of(1600, 320, 800),
+                1,
+                10,
+                Duration.ofMillis(50)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomImageVariants.shutdown();
+    }
+
+    @Test
+    void variantsShouldOnlyBeWrittenForWidthsNarrowerThanTheOriginal() throws Exception {
+        Files.createDirectories(uploads.resolve("rooms"));
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB), "png", uploads.resolve("rooms/room.png").toFile());
+
+        String srcset = roomImageVariants.createVariants("rooms/room.png", "/uploads/rooms/room.png").block();
+
+        assertEquals(
+                "/uploads/rooms/room-w320.jpg 320w, /uploads/rooms/room-w800.jpg 800w, /uploads/rooms/room.png 1000w",
+                srcset
+        );
+        BufferedImage small = ImageIO.read(uploads.resolve("rooms/room-w320.jpg").toFile());
+        assertEquals(320, small.getWidth());
+        assertEquals(160, small.getHeight());
+        assertFalse(Files.exists(uploads.resolve("rooms/room-w1600.jpg")));
+    }
+
+    @Test
+    void undecodableUploadShouldFallBackToTheOriginalOnly() throws Exception {
+        Files.createDirectories(uploads.resolve("rooms"));
+        Files.writeString(uploads.resolve("rooms/room.img"), "not an image");
+
+        assertEquals("/uploads/rooms/room.img", roomImageVariants.createVariants("rooms/room.img", "/uploads/rooms/room.img").block());
+        assertEquals(1, RoomImageVariants.readExifOrientation("not an image".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void pendingPassShouldBeSkippedWhileAnotherReplicaRunsIt() {
+        when(roomImageBlobRepository.runExclusively(eq(RoomImageVariants.SWEEP_LOCK), any())).thenReturn(Mono.empty());
+
+        roomImageVariants.processPending().block();
+
+        verify(roomRepository, never()).findAllByImageSrcsetIsNullAndImageUrlStartingWith(anyString());
+    }
+
+    @Test
+    void roomsRejectedByTheWorkersShouldBeRetriedByTheNextSweep() {
+        RoomEntity room = new RoomEntity();
+        room.setId(UUID.randomUUID());
+        room.setHotelId(UUID.randomUUID());
+        room.setImageUrl("/uploads/rooms/room.png");
+        RoomEntity sibling = new RoomEntity();
+        sibling.setImageSrcset("/uploads/rooms/room.png 1000w");
+        when(roomImageBlobRepository.runExclusively(eq(RoomImageVariants.SWEEP_LOCK), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(roomRepository.findAllByImageSrcsetIsNullAndImageUrlStartingWith("/uploads/rooms/"))
+                .thenReturn(Flux.just(room));
+        when(roomRepository.findFirstByImageUrlAndImageSrcsetIsNotNull(room.getImageUrl()))
+                .thenReturn(Mono.error(new RejectedExecutionException("queue full")))
+                .thenReturn(Mono.just(sibling));
+        when(roomRepository.updateImageSrcset(room.getId(), room.getImageUrl(), "/uploads/rooms/room.png 1000w"))
+                .thenReturn(Mono.just(1L));
+
+        roomImageVariants.startSweeps();
+
+        verify(roomRepository, timeout(5_000)).updateImageSrcset(room.getId(), room.getImageUrl(), "/uploads/rooms/room.png 1000w");
+    }
+}
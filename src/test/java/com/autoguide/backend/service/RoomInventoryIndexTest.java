@@ -0,0 +1,117 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.HotelEntity;
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.HotelRepository;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomInventoryIndexTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Test
+    void failedReloadShouldKeepServingThePreviousCatalog() {
+        HotelEntity hotel = hotel();
+        RoomEntity room = room(hotel, "101");
+        when(hotelRepository.findAll())
+                .thenReturn(Flux.just(hotel))
+                .thenReturn(Flux.just(hotel));
+        when(roomRepository.findAll())
+                .thenReturn(Flux.just(room))
+                .thenReturn(Flux.error(new IllegalStateException("connection reset")));
+        RoomInventoryIndex index = index();
+        index.awaitReady().block();
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild().block());
+
+        assertEquals(1, index.findHotels(null, null).size());
+        assertNotNull(index.findRoom(hotel.getId(), room.getId()));
+    }
+
+    @Test
+    void localWritesDuringAReloadShouldSurviveTheSwap() {
+        HotelEntity hotel = hotel();
+        RoomEntity loaded = room(hotel, "101");
+        Sinks.Many<RoomEntity> rooms = Sinks.many().unicast().onBackpressureBuffer();
+        when(hotelRepository.findAll()).thenReturn(Flux.just(hotel));
+        when(roomRepository.findAll()).thenReturn(rooms.asFlux());
+        RoomInventoryIndex index = index();
+        Mono<Void> reload = index.awaitReady().cache();
+        reload.subscribe();
+
+        RoomEntity created = room(hotel, "102");
+        index.putRoom(created);
+        rooms.tryEmitNext(loaded);
+        rooms.tryEmitComplete();
+        reload.block(Duration.ofSeconds(5));
+
+        assertNotNull(index.findRoom(hotel.getId(), loaded.getId()));
+        assertNotNull(index.findRoom(hotel.getId(), created.getId()));
+    }
+
+    @Test
+    void notificationsShouldReloadOnlyTheChangedRow() {
+        HotelEntity hotel = hotel();
+        RoomEntity kept = room(hotel, "101");
+        RoomEntity deleted = room(hotel, "102");
+        when(hotelRepository.findAll()).thenReturn(Flux.just(hotel));
+        when(roomRepository.findAll()).thenReturn(Flux.just(kept, deleted));
+        RoomInventoryIndex index = index();
+        index.awaitReady().block();
+
+        RoomEntity renamed = room(hotel, "101A");
+        renamed.setId(kept.getId());
+        when(roomRepository.findById(kept.getId())).thenReturn(Mono.just(renamed));
+        when(roomRepository.findById(deleted.getId())).thenReturn(Mono.empty());
+        index.onChange("room:" + hotel.getId() + ":" + kept.getId()).block();
+        index.onChange("room:" + hotel.getId() + ":" + deleted.getId()).block();
+
+        assertEquals("101A", index.findRoom(hotel.getId(), kept.getId()).roomNumber());
+        assertNull(index.findRoom(hotel.getId(), deleted.getId()));
+        assertEquals(List.of(kept.getId()), index.roomsOf(hotel.getId()).stream().map(RoomInventoryIndex.IndexedRoom::id).toList());
+    }
+
+    private RoomInventoryIndex index() {
+        return new RoomInventoryIndex(hotelRepository, roomRepository, connectionFactory, Duration.ofMinutes(15));
+    }
+
+    private static HotelEntity hotel() {
+        HotelEntity hotel = new HotelEntity();
+        hotel.setId(UUID.randomUUID());
+        hotel.setName("Hotel Porto");
+        hotel.setCity("Porto");
+        return hotel;
+    }
+
+    private static RoomEntity room(HotelEntity hotel, String roomNumber) {
+        return new RoomEntity(UUID.randomUUID(), hotel.getId(), roomNumber, "Double", BigDecimal.TEN, null, null, Instant.now());
+    }
+}
@@ -0,0 +1,135 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.model.BookingEntity;
+import com.autoguide.backend.model.BookingStatus;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private RoomOccupancyIndex index;
+    private UUID hotelId;
+    private UUID roomId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        hotelId = UUID.randomUUID();
+        roomId = UUID.randomUUID();
+        today = LocalDate.now();
+
+        BookingEntity existing = booking(today.plusDays(5), today.plusDays(8));
+        lenient().when(bookingRepository.findAllByStatusInAndCheckOutDateAfter(anyCollection(), any(LocalDate.class)))
+                .thenReturn(Flux.just(existing));
+
+        index = new RoomOccupancyIndex(bookingRepository, 30, Duration.ofMinutes(1), Duration.ofHours(6));
+        index.awaitReady().block();
+    }
+
+    @Test
+    void loadedBookingShouldOccupyItsNightsOnly() {
+        assertFalse(index.isFree(hotelId, roomId, today.plusDays(7), today.plusDays(9)));
+        assertTrue(index.isFree(hotelId, roomId, today.plusDays(8), today.plusDays(10)));
+        assertTrue(index.isFree(hotelId, roomId, today.plusDays(2), today.plusDays(5)));
+    }
+
+    @Test
+    void recordAndReleaseShouldUpdateNights() {
+        BookingEntity booking = booking(today.plusDays(1), today.plusDays(3));
+
+        index.record(booking);
+        assertFalse(index.isFree(hotelId, roomId, today.plusDays(2), today.plusDays(3)));
+
+        index.release(booking);
+        assertTrue(index.isFree(hotelId, roomId, today.plusDays(1), today.plusDays(3)));
+    }
+
+    @Test
+    void rebuildShouldDropNightsReleasedOnAnotherReplica() {
+        when(bookingRepository.findAllByStatusInAndCheckOutDateAfter(anyCollection(), any(LocalDate.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(index.rebuild()).verifyComplete();
+
+        assertTrue(index.isFree(hotelId, roomId, today.plusDays(5), today.plusDays(8)));
+    }
+
+    @Test
+    void refreshShouldCatchUpOnChangesFromOtherReplicas() {
+        BookingEntity cancelled = booking(today.plusDays(5), today.plusDays(8));
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        BookingEntity created = booking(today.plusDays(10), today.plusDays(12));
+        when(bookingRepository.findUpdatedAfter(any(Instant.class), any(UUID.class), any(Instant.class), eq(1_000)))
+                .thenReturn(Flux.just(cancelled, created));
+
+        StepVerifier.create(index.refresh()).verifyComplete();
+
+        assertTrue(index.isFree(hotelId, roomId, today.plusDays(5), today.plusDays(8)));
+        assertFalse(index.isFree(hotelId, roomId, today.plusDays(11), today.plusDays(12)));
+        verify(bookingRepository, times(1)).findAllByStatusInAndCheckOutDateAfter(anyCollection(), any(LocalDate.class));
+    }
+
+    @Test
+    void bookingsRecordedDuringARebuildShouldSurviveTheSwap() {
+        Sinks.Many<BookingEntity> loaded = Sinks.many().unicast().onBackpressureBuffer();
+        when(bookingRepository.findAllByStatusInAndCheckOutDateAfter(anyCollection(), any(LocalDate.class)))
+                .thenReturn(loaded.asFlux());
+        Mono<Void> rebuild = index.rebuild().cache();
+        rebuild.subscribe();
+
+        index.record(booking(today.plusDays(1), today.plusDays(3)));
+        loaded.tryEmitComplete();
+        rebuild.block(Duration.ofSeconds(5));
+
+        assertFalse(index.isFree(hotelId, roomId, today.plusDays(1), today.plusDays(2)));
+        assertTrue(index.isFree(hotelId, roomId, today.plusDays(5), today.plusDays(8)));
+    }
+
+    private BookingEntity booking(LocalDate checkIn, LocalDate checkOut) {
+        return new BookingEntity(
+                UUID.randomUUID(),
+                hotelId,
+                UUID.randomUUID(),
+                roomId,
+                checkIn,
+                checkOut,
+                BookingStatus.CONFIRMED,
+                new BigDecimal("100.00"),
+                BigDecimal.ZERO,
+                null,
+                null,
+                null,
+                false,
+                Instant.now(),
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,110 @@
+package com.autoguide.backend.service;
+
+import com.autoguide.backend.dto.RoomResponse;
+import com.autoguide.backend.dto.UpdateRoomRequest;
+import com.autoguide.backend.model.RoomEntity;
+import com.autoguide.backend.repository.r2dbc.BookingRepository;
+import com.autoguide.backend.repository.r2dbc.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomServiceTest {
+
+    private static final UUID HOTEL_ID = UUID.randomUUID();
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private HotelAccessService hotelAccessService;
+
+    @Mock
+    private RoomImageStorageService roomImageStorageService;
+
+    @Mock
+    private RoomInventoryIndex roomInventoryIndex;
+
+    @Mock
+    private RoomHighlights roomHighlights;
+
+    @Mock
+    private PublicResponseCache publicResponseCache;
+
+    @Mock
+    private RoomImageVariants roomImageVariants;
+
+    @Mock
+    private UploadLimiter uploadLimiter;
+
+    private RoomService roomService;
+
+    @BeforeEach
+    void setUp() {
+        roomService = new RoomService(
+                roomRepository,
+                bookingRepository,
+                new RoomPresentationResolver(),
+                hotelAccessService,
+                roomImageStorageService,
+                roomInventoryIndex,
+                roomHighlights,
+                publicResponseCache,
+                roomImageVariants,
+                uploadLimiter
+        );
+        HotelAccessService.AccessScope scope = HotelAccessService.AccessScope.scoped("admin", HOTEL_ID);
+        when(hotelAccessService.currentScope()).thenReturn(Mono.just(scope));
+    }
+
+    @Test
+    void updateShouldOnlyWriteEditedColumns() {
+        RoomEntity loaded = room("101", null);
+        RoomEntity updated = room("102", "/uploads/rooms/a-w320.jpg 320w");
+        updated.setId(loaded.getId());
+        when(roomRepository.findByIdAndHotelId(loaded.getId(), HOTEL_ID)).thenReturn(Mono.just(loaded));
+        when(roomRepository.updateDetails(loaded.getId(), "102", "Double", BigDecimal.TEN, "Quiet"))
+                .thenReturn(Mono.just(updated));
+
+        RoomResponse response = roomService.update(
+                loaded.getId(), new UpdateRoomRequest(" 102 ", "Double", BigDecimal.TEN, "Quiet")).block();
+
+        assertEquals("102", response.roomNumber());
+        assertEquals("/uploads/rooms/a-w320.jpg 320w", response.imageSrcset());
+        verify(roomRepository, never()).save(any(RoomEntity.class));
+        verify(roomInventoryIndex).putRoom(updated);
+        verify(roomHighlights).invalidate(HOTEL_ID);
+        verify(publicResponseCache).invalidate(PublicResponseCache.ROOM_HIGHLIGHTS_PATH);
+    }
+
+    private static RoomEntity room(String roomNumber, String imageSrcset) {
+        RoomEntity room = new RoomEntity();
+        room.setId(UUID.randomUUID());
+        room.setHotelId(HOTEL_ID);
+        room.setRoomNumber(roomNumber);
+        room.setRoomType("Double");
+        room.setNightlyRate(BigDecimal.TEN);
+        room.setImageUrl("/uploads/rooms/a.jpg");
+        room.setShortDescription("Quiet");
+        room.setImageSrcset(imageSrcset);
+        room.setCreatedAt(Instant.now());
+        return room;
+    }
+}
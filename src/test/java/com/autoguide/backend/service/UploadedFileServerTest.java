@@ -0,0 +1,93 @@
+package com.autoguide.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadedFileServerTest {
+
+    private static final String HASHED_NAME = "a".repeat(64) + ".txt";
+
+    @TempDir
+    private Path uploads;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UploadedFileServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(uploads.resolve("rooms"));
+        Files.writeString(uploads.resolve("rooms").resolve(HASHED_NAME), "0123456789");
+        meterRegistry = new SimpleMeterRegistry();
+        server = new UploadedFileServer(uploads.toString(), Duration.ofHours(1), meterRegistry);
+    }
+
+    @Test
+    void contentAddressedFileShouldBeImmutableAndSupportRanges() {
+        MockServerWebExchange full = serve(MockServerHttpRequest.get("/uploads/rooms/" + HASHED_NAME));
+        assertEquals("0123456789", full.getResponse().getBodyAsString().block());
+        assertTrue(full.getResponse().getHeaders().getCacheControl().contains("immutable"));
+        String etag = full.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange partial = serve(MockServerHttpRequest.get("/uploads/rooms/" + HASHED_NAME)
+                .header(HttpHeaders.RANGE, "bytes=2-5"));
+        assertEquals(HttpStatus.PARTIAL_CONTENT, partial.getResponse().getStatusCode());
+        assertEquals("2345", partial.getResponse().getBodyAsString().block());
+        assertEquals("bytes 2-5/10", partial.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+
+        MockServerWebExchange unsatisfiable = serve(MockServerHttpRequest.get("/uploads/rooms/" + HASHED_NAME)
+                .header(HttpHeaders.RANGE, "bytes=20-"));
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, unsatisfiable.getResponse().getStatusCode());
+
+        MockServerWebExchange revalidated = serve(MockServerHttpRequest.get("/uploads/rooms/" + HASHED_NAME)
+                .ifNoneMatch(etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+
+        assertEquals(14.0, meterRegistry.get("http.uploads.bytes.served").tag("transfer", "buffered").counter().count());
+    }
+
+    @Test
+    void precompressedSiblingShouldBePreferredWhenAccepted() throws Exception {
+        Files.writeString(uploads.resolve("rooms").resolve(HASHED_NAME + ".br"), "brotli");
+
+        MockServerWebExchange exchange = serve(MockServerHttpRequest.get("/uploads/rooms/" + HASHED_NAME)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"));
+        assertEquals("br", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("brotli", exchange.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange refused = serve(MockServerHttpRequest.get("/uploads/rooms/" + HASHED_NAME)
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=0"));
+        assertEquals("0123456789", refused.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void incomingAndEscapingPathsShouldNotBeServed() throws Exception {
+        Files.createDirectories(uploads.resolve(".incoming"));
+        Files.writeString(uploads.resolve(".incoming").resolve("upload.part"), "partial");
+
+        assertEquals(HttpStatus.NOT_FOUND,
+                serve(MockServerHttpRequest.get("/uploads/.incoming/upload.part")).getResponse().getStatusCode());
+        MockServerWebExchange escaping = MockServerWebExchange.from(MockServerHttpRequest.get("/uploads/x"));
+        server.serve(escaping, "../secret").block();
+        assertEquals(HttpStatus.NOT_FOUND, escaping.getResponse().getStatusCode());
+    }
+
+    private MockServerWebExchange serve(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        String path = exchange.getRequest().getPath().value().substring("/uploads/".length());
+        server.serve(exchange, path).block();
+        return exchange;
+    }
+}